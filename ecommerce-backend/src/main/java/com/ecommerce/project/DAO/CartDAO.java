@@ -1,6 +1,7 @@
 package com.ecommerce.project.DAO;
 
 import com.ecommerce.project.model.Cart;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,6 +23,14 @@ public interface CartDAO extends JpaRepository<Cart, Long> {
     @Query("SELECT c FROM Cart c WHERE c.user.email = :userEmail")
     Cart fetchCartByUserEmail(@Param("userEmail") String userEmail);
 
+    /**
+     * Fetches a user's cart together with its lines and their products in one query.
+     * The cart total is a formula column, so it is computed by the same statement.
+     */
+    @EntityGraph(attributePaths = {"cartItems", "cartItems.product"})
+    @Query("SELECT c FROM Cart c WHERE c.user.userId = :userId")
+    Optional<Cart> fetchCartWithItemsByUserId(@Param("userId") Long userId);
+
     /**
      * Fetches a specific cart for a user (verified by email and cart ID).
      * Provides extra security by ensuring the cart belongs to the user.
@@ -0,0 +1,18 @@
+package com.ecommerce.project.DAO;
+
+import com.ecommerce.project.model.CartItem;
+
+import java.util.List;
+
+/**
+ * Custom CartItemDAO fragment for writes Spring Data can't batch.
+ * CartItem ids come from an IDENTITY column, so Hibernate inserts lines one statement at a time.
+ */
+public interface CartItemBatchWriter {
+
+    /**
+     * Inserts new cart lines with JDBC batches, bypassing the persistence context.
+     * The inserted lines are not managed entities and their ids are not set.
+     */
+    void insertAllInBatch(List<CartItem> newItems);
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.project.DAO;
+
+import com.ecommerce.project.model.CartItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/**
+ * JDBC implementation of {@link CartItemBatchWriter}; Spring Data wires it into CartItemDAO by name.
+ */
+class CartItemBatchWriterImpl implements CartItemBatchWriter {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String INSERT_CART_ITEM =
+            "INSERT INTO cart_items (cart_id, product_id, qty, product_price, version) VALUES (?, ?, ?, ?, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    CartItemBatchWriterImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAllInBatch(List<CartItem> newItems) {
+        if (newItems.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_CART_ITEM, newItems, BATCH_SIZE, (statement, item) -> {
+            statement.setLong(1, item.getCart().getCartId());
+            statement.setLong(2, item.getProduct().getProductId());
+            statement.setInt(3, item.getQty());
+            statement.setDouble(4, item.getProductPrice());
+        });
+    }
+}
@@ -6,12 +6,30 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * DAO (Data Access Object) for CartItem entity.
  * Handles all database operations for individual items in shopping carts.
  * Extends JpaRepository to get built-in CRUD methods (save, find, delete, etc.).
  */
-public interface CartItemDAO extends JpaRepository<CartItem, Long> {
+public interface CartItemDAO extends JpaRepository<CartItem, Long>, CartItemBatchWriter {
+
+    /**
+     * Fetches every line of a cart together with its product in one query.
+     * Used to diff the stored cart against an incoming one.
+     */
+    @Query("SELECT ci FROM CartItem ci JOIN FETCH ci.product WHERE ci.cart.id = :cartIdentifier")
+    List<CartItem> findItemsWithProductByCart(@Param("cartIdentifier") Long cartIdentifier);
+
+    /**
+     * Fetches every line of a cart with its product; each row also carries the cart total summed over all lines.
+     * Lines and total come from one statement, so the total always matches the lines returned.
+     * Returns rows of [CartItem, Double].
+     */
+    @Query("SELECT ci, SUM(ci.qty * ci.productPrice) OVER () FROM CartItem ci JOIN FETCH ci.product WHERE ci.cart.id = :cartIdentifier")
+    List<Object[]> findItemsWithCartTotal(@Param("cartIdentifier") Long cartIdentifier);
 
     /**
      * Finds a specific product in a specific cart.
@@ -28,11 +46,26 @@ public interface CartItemDAO extends JpaRepository<CartItem, Long> {
     @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartIdentifier AND ci.product.id = :productIdentifier")
     void removeCartItemByProductAndCart(@Param("cartIdentifier") Long cartIdentifier, @Param("productIdentifier") Long productIdentifier);
 
+    /**
+     * Removes a product from every cart with one statement (before the product is deleted).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.product.id = :productIdentifier")
+    void removeAllItemsByProduct(@Param("productIdentifier") Long productIdentifier);
+
     /**
      * Removes all items from a cart (e.g., after checkout).
-     * @Modifying indicates this query changes data in the database.
+     * @Modifying indicates this query changes data in the database;
+     * pending changes are flushed first so they are not lost or reordered around the bulk delete.
      */
-    @Modifying
+    @Modifying(flushAutomatically = true)
     @Query("DELETE FROM CartItem ci WHERE ci.cart.id = :cartIdentifier")
     void removeAllItemsByCart(@Param("cartIdentifier") Long cartIdentifier);
-}
\ No newline at end of file
+
+    /**
+     * Removes the given cart lines with one statement.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM CartItem ci WHERE ci.cartItemId IN :cartItemIds")
+    void removeCartItemsByIds(@Param("cartItemIds") Collection<Long> cartItemIds);
+}
@@ -1,7 +1,11 @@
 package com.ecommerce.project.DAO;
 
+import com.ecommerce.project.DTO.CategoryDto;
 import com.ecommerce.project.model.Category;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 /**
  * DAO (Data Access Object) for Category entity.
@@ -15,4 +19,11 @@ public interface CategoryDAO extends JpaRepository<Category,Long> {
      * Returns null if the category doesn't exist.
      */
     Category findByCategoryName(String categoryName);
+
+    /**
+     * Fetches a page of categories straight into DTOs (no entities, no product lists).
+     */
+    @Query(value = "SELECT new com.ecommerce.project.DTO.CategoryDto(c.categoryId, c.categoryName) FROM categories c",
+            countQuery = "SELECT COUNT(c) FROM categories c")
+    Page<CategoryDto> findCategoryDtos(Pageable pageable);
 }
@@ -0,0 +1,13 @@
+package com.ecommerce.project.DAO;
+
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.project.model.DailySalesRollup;
+
+/**
+ * DAO (Data Access Object) for DailySalesRollup entity.
+ * All queries come from SalesRollupDAO.
+ */
+@Repository
+public interface DailySalesRollupDAO extends SalesRollupDAO<DailySalesRollup> {
+}
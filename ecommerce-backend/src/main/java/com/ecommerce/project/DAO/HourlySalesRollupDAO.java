@@ -0,0 +1,13 @@
+package com.ecommerce.project.DAO;
+
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.project.model.HourlySalesRollup;
+
+/**
+ * DAO (Data Access Object) for HourlySalesRollup entity.
+ * All queries come from SalesRollupDAO.
+ */
+@Repository
+public interface HourlySalesRollupDAO extends SalesRollupDAO<HourlySalesRollup> {
+}
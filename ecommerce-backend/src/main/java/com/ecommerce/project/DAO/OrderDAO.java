@@ -1,25 +1,39 @@
 package com.ecommerce.project.DAO;
 
+import com.ecommerce.project.DTO.OrderDto;
 import com.ecommerce.project.model.Order;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 /**
  * DAO (Data Access Object) for Order entity.
  * Handles all database operations for customer orders.
- * Extends JpaRepository to get built-in CRUD methods (save, find, delete, etc.).
+ * Extends JpaRepository to get built-in CRUD methods (save, find, delete, etc.)
+ * and JpaSpecificationExecutor for cursor pagination.
  */
-public interface OrderDAO extends JpaRepository<Order, Long> {
+public interface OrderDAO extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order> {
+
+    String ORDER_DTO_SELECT = "SELECT new com.ecommerce.project.DTO.OrderDto(o.orderId, o.email, o.orderDate, o.totalAmount, " +
+            "o.orderStatus, a.addressId, pay.paymentId, pay.paymentMethod, pay.pgPaymentId, pay.pgStatus, " +
+            "pay.pgResponseMessage, pay.pgName) FROM Order o LEFT JOIN o.address a LEFT JOIN o.payment pay";
+
+    /**
+     * Fetches a page of orders straight into DTOs (without their items).
+     * Used by the admin order list instead of loading and mapping full entities.
+     */
+    @Query(value = ORDER_DTO_SELECT, countQuery = "SELECT COUNT(o) FROM Order o")
+    Page<OrderDto> findOrderDtos(Pageable pageable);
 
     /**
-     * Fetches all orders placed by a specific user (identified by email).
-     * Returns results in pages for better performance.
+     * Fetches a page of a user's orders straight into DTOs (without their items).
      */
-    @Query("SELECT o FROM Order o WHERE o.email = :userEmailAddress")
-    Page<Order> fetchOrdersByUserEmail(@Param("userEmailAddress") String userEmailAddress, Pageable pageable);
+    @Query(value = ORDER_DTO_SELECT + " WHERE o.email = :userEmailAddress",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.email = :userEmailAddress")
+    Page<OrderDto> findOrderDtosByUserEmail(@Param("userEmailAddress") String userEmailAddress, Pageable pageable);
 
     /**
      * Calculates the total revenue from all orders in the system.
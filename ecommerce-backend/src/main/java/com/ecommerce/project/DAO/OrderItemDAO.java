@@ -1,9 +1,18 @@
 package com.ecommerce.project.DAO;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ecommerce.project.DTO.OrderItemDto;
+import com.ecommerce.project.analytics.ProductSales;
+import com.ecommerce.project.analytics.SalesBucket;
 import com.ecommerce.project.model.OrderItem;
 
 /**
@@ -14,4 +23,57 @@ import com.ecommerce.project.model.OrderItem;
 @Repository
 public interface OrderItemDAO extends JpaRepository<OrderItem, Long> {
 
+    /**
+     * Loads the items of several orders straight into DTOs (one query for a whole page of orders).
+     * Each DTO carries its orderId so the caller can attach it to the right order.
+     */
+    @Query("SELECT new com.ecommerce.project.DTO.OrderItemDto(oi.order.orderId, oi.orderItemId, oi.qty, oi.ProductPrice, " +
+            "p.productId, p.productName, p.model, p.image, p.description, p.quantity, p.price) " +
+            "FROM OrderItem oi JOIN oi.product p WHERE oi.order.orderId IN :orderIds ORDER BY oi.orderItemId")
+    List<OrderItemDto> findItemDtosByOrderIds(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Sales per day and category for orders dated in [from, to), used to backfill the daily rollups.
+     */
+    @Query("SELECT new com.ecommerce.project.analytics.SalesBucket(o.orderDate, p.category.categoryId, " +
+            "COUNT(DISTINCT o.orderId), SUM(oi.ProductPrice * oi.qty), SUM(oi.qty)) " +
+            "FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+            "WHERE o.orderDate >= :from AND o.orderDate < :to GROUP BY o.orderDate, p.category.categoryId")
+    List<SalesBucket> sumDailySales(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Sales per hour and category for orders placed in [from, to), used to backfill the hourly rollups.
+     * Orders from before placement times were recorded have no orderedAt and only count in the daily rollups.
+     */
+    @Query("SELECT new com.ecommerce.project.analytics.SalesBucket(cast(o.orderedAt as LocalDate), extract(hour from o.orderedAt), " +
+            "p.category.categoryId, COUNT(DISTINCT o.orderId), SUM(oi.ProductPrice * oi.qty), SUM(oi.qty)) " +
+            "FROM OrderItem oi JOIN oi.order o JOIN oi.product p " +
+            "WHERE o.orderedAt >= :from AND o.orderedAt < :to " +
+            "GROUP BY cast(o.orderedAt as LocalDate), extract(hour from o.orderedAt), p.category.categoryId")
+    List<SalesBucket> sumHourlySales(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Units sold per product and day for orders placed since the given time, used to warm up the best-seller tracker.
+     */
+    @Query("SELECT new com.ecommerce.project.analytics.ProductSales(oi.product.productId, cast(o.orderedAt as LocalDate), SUM(oi.qty)) " +
+            "FROM OrderItem oi JOIN oi.order o WHERE o.orderedAt >= :since " +
+            "GROUP BY oi.product.productId, cast(o.orderedAt as LocalDate)")
+    List<ProductSales> sumProductSalesByDaySince(@Param("since") LocalDateTime since);
+
+    /**
+     * Units sold per product and hour for orders placed since the given time, used to warm up the best-seller tracker.
+     */
+    @Query("SELECT new com.ecommerce.project.analytics.ProductSales(oi.product.productId, cast(o.orderedAt as LocalDate), " +
+            "extract(hour from o.orderedAt), SUM(oi.qty)) FROM OrderItem oi JOIN oi.order o WHERE o.orderedAt >= :since " +
+            "GROUP BY oi.product.productId, cast(o.orderedAt as LocalDate), extract(hour from o.orderedAt)")
+    List<ProductSales> sumProductSalesByHourSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Units sold per product and minute for orders placed since the given time, used to warm up the best-seller tracker.
+     */
+    @Query("SELECT new com.ecommerce.project.analytics.ProductSales(oi.product.productId, cast(o.orderedAt as LocalDate), " +
+            "extract(hour from o.orderedAt), extract(minute from o.orderedAt), SUM(oi.qty)) " +
+            "FROM OrderItem oi JOIN oi.order o WHERE o.orderedAt >= :since " +
+            "GROUP BY oi.product.productId, cast(o.orderedAt as LocalDate), extract(hour from o.orderedAt), extract(minute from o.orderedAt)")
+    List<ProductSales> sumProductSalesByMinuteSince(@Param("since") LocalDateTime since);
 }
@@ -3,6 +3,9 @@ package com.ecommerce.project.DAO;
 import com.ecommerce.project.model.PaymentCard;
 import com.ecommerce.project.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 
@@ -18,4 +21,15 @@ public interface PaymentCardDAO extends JpaRepository<PaymentCard, Long> {
      * Returns Optional because a user might not have a default card set.
      */
     Optional<PaymentCard> findByUserAndIsDefaultTrue(User user);
+
+    /**
+     * Clears the default flag on all of a user's cards except keepCardId (pass null to clear them all),
+     * in one statement. Run before marking the new default card, so the partial unique index
+     * on (user_id) WHERE is_default never sees two defaults.
+     * Pending changes are flushed first so they are not lost or reordered around the bulk update.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE PaymentCard c SET c.isDefault = false " +
+            "WHERE c.user.userId = :userId AND c.isDefault = true AND (:keepCardId IS NULL OR c.cardId <> :keepCardId)")
+    int clearOtherDefaultCards(@Param("userId") Long userId, @Param("keepCardId") Long keepCardId);
 }
@@ -1,33 +1,81 @@
 package com.ecommerce.project.DAO;
 
+import com.ecommerce.project.DTO.ProductDTO;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
 import com.ecommerce.project.model.User;
+import com.ecommerce.project.search.ProductSearchView;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
  * DAO (Data Access Object) for Product entity.
  * Handles all database operations for products in the store.
  * Extends JpaRepository for CRUD and JpaSpecificationExecutor for advanced filtering.
+ * Stock decrements come from ProductStockDAO.
  */
 @Repository
-public interface ProductDAO extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product> {
+public interface ProductDAO extends JpaRepository<Product, Long>, JpaSpecificationExecutor<Product>, ProductStockDAO {
+
+    String PRODUCT_DTO_SELECT = "SELECT new com.ecommerce.project.DTO.ProductDTO(p.productId, p.productName, p.model, " +
+            "p.image, p.description, p.quantity, p.price) FROM Product p";
+
+    /**
+     * Fetches a page of products straight into DTOs.
+     * Listing endpoints use these instead of loading entities and mapping them.
+     */
+    @Query(value = PRODUCT_DTO_SELECT, countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<ProductDTO> findProductDtos(Pageable pageDetails);
 
     /**
-     * Finds all products in a category, sorted by price (lowest first).
+     * Fetches a page of products whose category name matches the LIKE pattern, as DTOs.
+     */
+    @Query(value = PRODUCT_DTO_SELECT + " WHERE p.category.categoryName LIKE :categoryName",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.categoryName LIKE :categoryName")
+    Page<ProductDTO> findProductDtosByCategoryName(@Param("categoryName") String categoryName, Pageable pageDetails);
+
+    /**
+     * Finds all products in a category as DTOs, sorted by price (lowest first).
      * Returns results in pages for better performance.
      */
-    Page<Product> findByCategoryOrderByPriceAsc(Category category, Pageable pageDetails);
+    @Query(value = PRODUCT_DTO_SELECT + " WHERE p.category.categoryId = :categoryId ORDER BY p.price ASC",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.category.categoryId = :categoryId")
+    Page<ProductDTO> findProductDtosByCategoryId(@Param("categoryId") Long categoryId, Pageable pageDetails);
+
+    /**
+     * Fetches the given products as DTOs (in no particular order).
+     * Used to load one page of search results.
+     */
+    @Query(PRODUCT_DTO_SELECT + " WHERE p.productId IN :productIds")
+    List<ProductDTO> findProductDtosByIds(@Param("productIds") Collection<Long> productIds);
+
+    /**
+     * Checks if a category already has a product with this name.
+     * Avoids loading the category's whole product list just to compare names.
+     */
+    boolean existsByCategoryAndProductName(Category category, String productName);
+
+    /**
+     * Counts the products in a category (e.g. before the category and its products are deleted).
+     */
+    long countByCategory(Category category);
 
     /**
-     * Searches for products by name (case-insensitive, partial match).
-     * Example: searching "phone" will find "iPhone", "Samsung Phone", etc.
+     * Loads the searchable columns of the products after the given id, in id order.
+     * Used to (re)build the in-memory search index in batches without loading full entities.
      */
-    Page<Product> findByProductNameLikeIgnoreCase(String keyword, Pageable pageDetails);
+    @Query("SELECT p.productId AS productId, p.productName AS productName, p.model AS model, " +
+            "p.description AS description, p.quantity AS quantity, p.price AS price, " +
+            "c.categoryId AS categoryId, c.categoryName AS categoryName " +
+            "FROM Product p LEFT JOIN p.category c WHERE p.productId > :afterId ORDER BY p.productId")
+    List<ProductSearchView> findSearchViewsAfter(@Param("afterId") Long afterId, Pageable pageDetails);
 
     /**
      * Finds all products listed by a specific seller.
@@ -0,0 +1,18 @@
+package com.ecommerce.project.DAO;
+
+import java.util.Map;
+
+/**
+ * Custom ProductDAO operations for stock changes that need a hand-built query.
+ * Implemented by ProductStockDAOImpl and mixed into ProductDAO by Spring Data.
+ */
+public interface ProductStockDAO {
+
+    /**
+     * Takes the given quantities (productId -> quantity) off stock in one conditional UPDATE.
+     * A product is only decremented if it has at least that many left, so stock never goes negative.
+     * Returns how many products were decremented; fewer than quantitiesByProductId.size()
+     * means at least one product was short and the caller must roll back.
+     */
+    int decrementStock(Map<Long, Integer> quantitiesByProductId);
+}
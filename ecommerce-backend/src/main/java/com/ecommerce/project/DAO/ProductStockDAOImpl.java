@@ -0,0 +1,44 @@
+package com.ecommerce.project.DAO;
+
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Builds the multi-product stock decrement as a single bulk UPDATE:
+ * quantity = quantity - CASE productId WHEN ... END WHERE productId IN (...) AND quantity >= CASE ... END.
+ * The database checks and decrements each row atomically, so concurrent checkouts
+ * of the same product can't oversell it and no application-side locking is needed.
+ */
+public class ProductStockDAOImpl implements ProductStockDAO {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int decrementStock(Map<Long, Integer> quantitiesByProductId) {
+        if (quantitiesByProductId.isEmpty()) {
+            return 0;
+        }
+
+        StringBuilder requestedQuantity = new StringBuilder("CASE p.productId");
+        for (int i = 0; i < quantitiesByProductId.size(); i++) {
+            requestedQuantity.append(" WHEN :productId").append(i).append(" THEN :quantity").append(i);
+        }
+        requestedQuantity.append(" END");
+
+        Query stockUpdate = entityManager.createQuery("UPDATE Product p SET p.quantity = p.quantity - " + requestedQuantity
+                + " WHERE p.productId IN :productIds AND p.quantity >= " + requestedQuantity);
+
+        int i = 0;
+        for (Map.Entry<Long, Integer> line : quantitiesByProductId.entrySet()) {
+            stockUpdate.setParameter("productId" + i, line.getKey());
+            stockUpdate.setParameter("quantity" + i, line.getValue());
+            i++;
+        }
+        stockUpdate.setParameter("productIds", quantitiesByProductId.keySet());
+        return stockUpdate.executeUpdate();
+    }
+}
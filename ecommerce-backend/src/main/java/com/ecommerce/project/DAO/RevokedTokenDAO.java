@@ -0,0 +1,33 @@
+package com.ecommerce.project.DAO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ecommerce.project.model.RevokedToken;
+
+/**
+ * DAO (Data Access Object) for RevokedToken entity.
+ * Backs the in-memory JWT deny-list, which reloads recent revocations periodically.
+ */
+@Repository
+public interface RevokedTokenDAO extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Revocations made since the given time that still cover unexpired tokens.
+     */
+    @Query("SELECT r FROM RevokedToken r WHERE r.revokedAt >= :since AND r.expiresAt > :now")
+    List<RevokedToken> findActiveRevokedSince(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
+
+    /**
+     * Drops revocations whose tokens have all expired.
+     */
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
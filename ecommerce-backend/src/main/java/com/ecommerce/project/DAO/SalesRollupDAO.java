@@ -0,0 +1,48 @@
+package com.ecommerce.project.DAO;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.NoRepositoryBean;
+import org.springframework.data.repository.query.Param;
+
+import com.ecommerce.project.DTO.SalesRollupDto;
+import com.ecommerce.project.model.SalesRollup;
+
+/**
+ * Queries shared by the hourly and daily sales rollup DAOs.
+ * #{#entityName} resolves to the concrete rollup entity of each sub-interface.
+ */
+@NoRepositoryBean
+public interface SalesRollupDAO<T extends SalesRollup> extends JpaRepository<T, Long> {
+
+    /**
+     * Adds to the totals of an existing bucket row.
+     * Returns 0 when the bucket has no row yet, in which case the caller inserts one.
+     */
+    @Modifying
+    @Query("UPDATE #{#entityName} r SET r.orderCount = r.orderCount + :orderCount, r.revenue = r.revenue + :revenue, " +
+            "r.units = r.units + :units WHERE r.bucketStart = :bucketStart AND r.categoryId = :categoryId")
+    int addToBucket(@Param("bucketStart") LocalDateTime bucketStart, @Param("categoryId") Long categoryId,
+                    @Param("orderCount") long orderCount, @Param("revenue") double revenue, @Param("units") long units);
+
+    /**
+     * Removes every bucket starting in [from, to), before those buckets are recomputed.
+     */
+    @Modifying
+    @Query("DELETE FROM #{#entityName} r WHERE r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBuckets(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * Loads the buckets starting in [from, to) as DTOs, oldest first, optionally for one category only.
+     */
+    @Query("SELECT new com.ecommerce.project.DTO.SalesRollupDto(r.bucketStart, r.categoryId, c.categoryName, " +
+            "r.orderCount, r.revenue, r.units) FROM #{#entityName} r LEFT JOIN categories c ON c.categoryId = r.categoryId " +
+            "WHERE r.bucketStart >= :from AND r.bucketStart < :to AND (:categoryId IS NULL OR r.categoryId = :categoryId) " +
+            "ORDER BY r.bucketStart, r.categoryId")
+    List<SalesRollupDto> findRollups(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                     @Param("categoryId") Long categoryId);
+}
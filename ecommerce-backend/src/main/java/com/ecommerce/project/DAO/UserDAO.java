@@ -1,9 +1,11 @@
 package com.ecommerce.project.DAO;
 
+import com.ecommerce.project.DTO.UserDTO;
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -22,7 +24,9 @@ public interface UserDAO extends JpaRepository<User, Long> {
     /**
      * Finds a user by username.
      * Returns Optional because the username might not exist.
+     * Roles are fetched in the same query since authentication always needs them.
      */
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUserName(String username);
 
     /**
@@ -38,10 +42,12 @@ public interface UserDAO extends JpaRepository<User, Long> {
     Boolean existsByEmail(String email);
 
     /**
-     * Finds all users with a specific role (e.g., ADMIN, USER, SELLER).
+     * Finds all users with a specific role (e.g., ADMIN, USER, SELLER) as DTOs with only id, username and email.
+     * Used for the admin customer list so no entities (or password hashes) are loaded.
      * Returns results in pages for better performance.
      */
-    @Query("SELECT u FROM User u JOIN u.roles r WHERE r.roleName = :role")
-    Page<User> findByRoleName(@Param("role") AppRole role, Pageable pageable);
+    @Query(value = "SELECT new com.ecommerce.project.DTO.UserDTO(u.userId, u.userName, u.email) FROM User u JOIN u.roles r WHERE r.roleName = :role",
+            countQuery = "SELECT COUNT(u) FROM User u JOIN u.roles r WHERE r.roleName = :role")
+    Page<UserDTO> findUserDtosByRoleName(@Param("role") AppRole role, Pageable pageable);
 
 }
@@ -0,0 +1,57 @@
+package com.ecommerce.project.DTO;
+
+// BestSellerDto - data transfer object for one product in a best-seller ranking
+public class BestSellerDto {
+    // Product identifier
+    private Long productId;
+    // Product name (null if the product has since been deleted)
+    private String productName;
+    // Estimated units sold in the window
+    private Long unitsSold;
+    // Upper bound on how much unitsSold may overstate the true figure
+    private Long maxOvercount;
+
+    // Default constructor
+    public BestSellerDto() {
+    }
+
+    // Constructor with all fields
+    public BestSellerDto(Long productId, String productName, Long unitsSold, Long maxOvercount) {
+        this.productId = productId;
+        this.productName = productName;
+        this.unitsSold = unitsSold;
+        this.maxOvercount = maxOvercount;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Long getUnitsSold() {
+        return unitsSold;
+    }
+
+    public void setUnitsSold(Long unitsSold) {
+        this.unitsSold = unitsSold;
+    }
+
+    public Long getMaxOvercount() {
+        return maxOvercount;
+    }
+
+    public void setMaxOvercount(Long maxOvercount) {
+        this.maxOvercount = maxOvercount;
+    }
+}
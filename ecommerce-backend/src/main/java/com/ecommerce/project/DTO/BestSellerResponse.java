@@ -0,0 +1,37 @@
+package com.ecommerce.project.DTO;
+
+import java.util.List;
+
+// BestSellerResponse - data transfer object for the best-selling products over a recent window
+public class BestSellerResponse {
+    // "1h", "24h" or "7d"
+    private String window;
+    // Best sellers, most units first
+    private List<BestSellerDto> content;
+
+    // Default constructor
+    public BestSellerResponse() {
+    }
+
+    // Constructor with all fields
+    public BestSellerResponse(String window, List<BestSellerDto> content) {
+        this.window = window;
+        this.content = content;
+    }
+
+    public String getWindow() {
+        return window;
+    }
+
+    public void setWindow(String window) {
+        this.window = window;
+    }
+
+    public List<BestSellerDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<BestSellerDto> content) {
+        this.content = content;
+    }
+}
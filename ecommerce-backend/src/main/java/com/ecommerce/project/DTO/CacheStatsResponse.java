@@ -0,0 +1,124 @@
+package com.ecommerce.project.DTO;
+
+// CacheStatsResponse - data transfer object for in-memory cache counters (used to size caches)
+public class CacheStatsResponse {
+    // Name of the cache
+    private String cacheName;
+    // Number of entries currently cached
+    private Integer size;
+    // Maximum number of entries before least recently used ones are evicted
+    private Integer maxEntries;
+    // How long an entry stays valid, in seconds
+    private Long ttlSeconds;
+    // Lookups answered from the cache
+    private Long hits;
+    // Lookups that had to go to the database
+    private Long misses;
+    // Share of lookups answered from the cache (0.0 - 1.0)
+    private Double hitRatio;
+    // Entries dropped because the cache was full
+    private Long evictions;
+    // Entries dropped because their time-to-live ran out
+    private Long expirations;
+    // Entries dropped because the underlying data changed
+    private Long invalidations;
+
+    // Default constructor
+    public CacheStatsResponse() {
+    }
+
+    // Constructor with all fields
+    public CacheStatsResponse(String cacheName, Integer size, Integer maxEntries, Long ttlSeconds, Long hits, Long misses,
+                              Double hitRatio, Long evictions, Long expirations, Long invalidations) {
+        this.cacheName = cacheName;
+        this.size = size;
+        this.maxEntries = maxEntries;
+        this.ttlSeconds = ttlSeconds;
+        this.hits = hits;
+        this.misses = misses;
+        this.hitRatio = hitRatio;
+        this.evictions = evictions;
+        this.expirations = expirations;
+        this.invalidations = invalidations;
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public void setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    public Integer getSize() {
+        return size;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public Integer getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(Integer maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    public void setTtlSeconds(Long ttlSeconds) {
+        this.ttlSeconds = ttlSeconds;
+    }
+
+    public Long getHits() {
+        return hits;
+    }
+
+    public void setHits(Long hits) {
+        this.hits = hits;
+    }
+
+    public Long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(Long misses) {
+        this.misses = misses;
+    }
+
+    public Double getHitRatio() {
+        return hitRatio;
+    }
+
+    public void setHitRatio(Double hitRatio) {
+        this.hitRatio = hitRatio;
+    }
+
+    public Long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(Long evictions) {
+        this.evictions = evictions;
+    }
+
+    public Long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(Long expirations) {
+        this.expirations = expirations;
+    }
+
+    public Long getInvalidations() {
+        return invalidations;
+    }
+
+    public void setInvalidations(Long invalidations) {
+        this.invalidations = invalidations;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ecommerce.project.DTO;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 // OrderDto - data transfer object for order information sent to frontend
@@ -38,6 +39,21 @@ public class OrderDto {
         this.addressId = addressId;
     }
 
+    // Constructor for JPQL projection queries (order header plus payment columns; items are added separately)
+    public OrderDto(Long orderId, String email, LocalDate orderDate, Double totalAmount, String orderStatus, Long addressId,
+                    Long paymentId, String paymentMethod, String pgPaymentId, String pgStatus, String pgResponseMessage, String pgName) {
+        this.orderId = orderId;
+        this.email = email;
+        this.orderItems = new ArrayList<>();
+        this.orderDate = orderDate;
+        this.payment = paymentId != null
+                ? new PaymentDTO(paymentId, paymentMethod, pgPaymentId, pgStatus, pgResponseMessage, pgName)
+                : null;
+        this.totalAmount = totalAmount;
+        this.orderStatus = orderStatus;
+        this.addressId = addressId;
+    }
+
     // Get order ID
     public Long getOrderId() {
         return orderId;
@@ -1,7 +1,12 @@
 package com.ecommerce.project.DTO;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 // OrderItemDto - data transfer object for individual item in an order
 public class OrderItemDto {
+    // Order this item belongs to (only used to group projected items, not sent to frontend)
+    @JsonIgnore
+    private Long orderId;
     // Unique identifier for the order item
     private Long orderItemId;
     // Product details
@@ -23,6 +28,27 @@ public class OrderItemDto {
         this.orderedProductPrice = orderedProductPrice;
     }
 
+    // Constructor for JPQL projection queries (flat columns of the order item and its product)
+    public OrderItemDto(Long orderId, Long orderItemId, Integer quantity, double orderedProductPrice,
+                        Long productId, String productName, String model, String image, String description,
+                        Integer productQuantity, double productPrice) {
+        this.orderId = orderId;
+        this.orderItemId = orderItemId;
+        this.product = new ProductDTO(productId, productName, model, image, description, productQuantity, productPrice);
+        this.quantity = quantity;
+        this.orderedProductPrice = orderedProductPrice;
+    }
+
+    // Get ID of the order this item belongs to
+    public Long getOrderId() {
+        return orderId;
+    }
+
+    // Set ID of the order this item belongs to
+    public void setOrderId(Long orderId) {
+        this.orderId = orderId;
+    }
+
     // Get order item ID
     public Long getOrderItemId() {
         return orderItemId;
@@ -0,0 +1,61 @@
+package com.ecommerce.project.DTO;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// OrderPlacementStatusDto - data transfer object for the progress of an order placed asynchronously
+public class OrderPlacementStatusDto {
+    // Reference returned when the order was accepted, used to poll for its status
+    private String orderReference;
+    // QUEUED, PROCESSING, COMPLETED or FAILED
+    private String status;
+    // The placed order, once status is COMPLETED
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private OrderDto order;
+    // Why placement failed, when status is FAILED
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String message;
+
+    // Default constructor
+    public OrderPlacementStatusDto() {
+    }
+
+    // Constructor with all fields
+    public OrderPlacementStatusDto(String orderReference, String status, OrderDto order, String message) {
+        this.orderReference = orderReference;
+        this.status = status;
+        this.order = order;
+        this.message = message;
+    }
+
+    public String getOrderReference() {
+        return orderReference;
+    }
+
+    public void setOrderReference(String orderReference) {
+        this.orderReference = orderReference;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public OrderDto getOrder() {
+        return order;
+    }
+
+    public void setOrder(OrderDto order) {
+        this.order = order;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
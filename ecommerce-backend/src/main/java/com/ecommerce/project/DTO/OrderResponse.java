@@ -2,6 +2,8 @@ package com.ecommerce.project.DTO;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 // OrderResponse - data transfer object for paginated order list response
 public class OrderResponse {
     // List of orders on current page
@@ -10,12 +12,15 @@ public class OrderResponse {
     private Integer pageNumber;
     // Number of items per page
     private Integer pageSize;
-    // Total number of orders across all pages
+    // Total number of orders across all pages (null in cursor mode, which skips the count)
     private Long totalElements;
-    // Total number of pages
+    // Total number of pages (null in cursor mode)
     private Integer totalPages;
     // Whether this is the last page
     private boolean lastPage;
+    // Cursor for the next page in cursor mode (omitted in page-number mode and on the last page)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     // Default constructor
     public OrderResponse() {
@@ -90,4 +95,14 @@ public class OrderResponse {
     public void setLastPage(boolean lastPage) {
         this.lastPage = lastPage;
     }
+
+    // Get next page cursor
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Set next page cursor
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
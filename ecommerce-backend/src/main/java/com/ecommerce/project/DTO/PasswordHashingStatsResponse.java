@@ -0,0 +1,136 @@
+package com.ecommerce.project.DTO;
+
+// PasswordHashingStatsResponse - data transfer object for password hashing pool counters (used to size the pool)
+public class PasswordHashingStatsResponse {
+    // BCrypt cost factor new hashes are made with
+    private Integer costFactor;
+    // Threads doing password work
+    private Integer threads;
+    // Requests that may wait for a thread before new ones are rejected
+    private Integer maxQueued;
+    // Threads busy right now
+    private Integer active;
+    // Requests waiting right now
+    private Integer queued;
+    // Passwords hashed (registrations and re-hashes)
+    private Long hashes;
+    // Passwords checked (logins)
+    private Long verifications;
+    // Requests turned away with 429 because the queue was full
+    private Long rejections;
+    // Average time one hash or check took, in milliseconds
+    private Double averageWorkMillis;
+    // Slowest hash or check, in milliseconds
+    private Double maxWorkMillis;
+    // Average time spent waiting for a thread, in milliseconds
+    private Double averageWaitMillis;
+
+    // Default constructor
+    public PasswordHashingStatsResponse() {
+    }
+
+    // Constructor with all fields
+    public PasswordHashingStatsResponse(Integer costFactor, Integer threads, Integer maxQueued, Integer active, Integer queued,
+                                        Long hashes, Long verifications, Long rejections, Double averageWorkMillis,
+                                        Double maxWorkMillis, Double averageWaitMillis) {
+        this.costFactor = costFactor;
+        this.threads = threads;
+        this.maxQueued = maxQueued;
+        this.active = active;
+        this.queued = queued;
+        this.hashes = hashes;
+        this.verifications = verifications;
+        this.rejections = rejections;
+        this.averageWorkMillis = averageWorkMillis;
+        this.maxWorkMillis = maxWorkMillis;
+        this.averageWaitMillis = averageWaitMillis;
+    }
+
+    public Integer getCostFactor() {
+        return costFactor;
+    }
+
+    public void setCostFactor(Integer costFactor) {
+        this.costFactor = costFactor;
+    }
+
+    public Integer getThreads() {
+        return threads;
+    }
+
+    public void setThreads(Integer threads) {
+        this.threads = threads;
+    }
+
+    public Integer getMaxQueued() {
+        return maxQueued;
+    }
+
+    public void setMaxQueued(Integer maxQueued) {
+        this.maxQueued = maxQueued;
+    }
+
+    public Integer getActive() {
+        return active;
+    }
+
+    public void setActive(Integer active) {
+        this.active = active;
+    }
+
+    public Integer getQueued() {
+        return queued;
+    }
+
+    public void setQueued(Integer queued) {
+        this.queued = queued;
+    }
+
+    public Long getHashes() {
+        return hashes;
+    }
+
+    public void setHashes(Long hashes) {
+        this.hashes = hashes;
+    }
+
+    public Long getVerifications() {
+        return verifications;
+    }
+
+    public void setVerifications(Long verifications) {
+        this.verifications = verifications;
+    }
+
+    public Long getRejections() {
+        return rejections;
+    }
+
+    public void setRejections(Long rejections) {
+        this.rejections = rejections;
+    }
+
+    public Double getAverageWorkMillis() {
+        return averageWorkMillis;
+    }
+
+    public void setAverageWorkMillis(Double averageWorkMillis) {
+        this.averageWorkMillis = averageWorkMillis;
+    }
+
+    public Double getMaxWorkMillis() {
+        return maxWorkMillis;
+    }
+
+    public void setMaxWorkMillis(Double maxWorkMillis) {
+        this.maxWorkMillis = maxWorkMillis;
+    }
+
+    public Double getAverageWaitMillis() {
+        return averageWaitMillis;
+    }
+
+    public void setAverageWaitMillis(Double averageWaitMillis) {
+        this.averageWaitMillis = averageWaitMillis;
+    }
+}
@@ -2,6 +2,8 @@ package com.ecommerce.project.DTO;
 
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 // ProductResponse - data transfer object for paginated product list response
 public class ProductResponse {
     // List of products on current page
@@ -10,12 +12,15 @@ public class ProductResponse {
     private Integer pageNumber;
     // Number of items per page
     private Integer pageSize;
-    // Total number of products across all pages
+    // Total number of products across all pages (null in cursor mode, which skips the count)
     private Long totalElements;
-    // Total number of pages
+    // Total number of pages (null in cursor mode)
     private Integer totalPages;
     // Whether this is the last page
     private boolean lastPage;
+    // Cursor for the next page in cursor mode (omitted in page-number mode and on the last page)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String nextCursor;
 
     // Default constructor
     public ProductResponse() {
@@ -90,4 +95,14 @@ public class ProductResponse {
     public void setLastPage(boolean lastPage) {
         this.lastPage = lastPage;
     }
+
+    // Get next page cursor
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    // Set next page cursor
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
 }
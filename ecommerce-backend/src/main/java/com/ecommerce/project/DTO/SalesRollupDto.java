@@ -0,0 +1,82 @@
+package com.ecommerce.project.DTO;
+
+import java.time.LocalDateTime;
+
+// SalesRollupDto - data transfer object for one hour or day of sales in one category
+public class SalesRollupDto {
+    // Start of the hour or day
+    private LocalDateTime bucketStart;
+    // Category the sold products belong to
+    private Long categoryId;
+    // Category name (null if the category has since been deleted)
+    private String categoryName;
+    // Number of orders containing the category's products
+    private Long orderCount;
+    // Revenue from the category's products
+    private Double revenue;
+    // Units of the category's products sold
+    private Long units;
+
+    // Default constructor
+    public SalesRollupDto() {
+    }
+
+    // Constructor with all fields
+    public SalesRollupDto(LocalDateTime bucketStart, Long categoryId, String categoryName, Long orderCount,
+                          Double revenue, Long units) {
+        this.bucketStart = bucketStart;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+        this.units = units;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Long categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public Long getOrderCount() {
+        return orderCount;
+    }
+
+    public void setOrderCount(Long orderCount) {
+        this.orderCount = orderCount;
+    }
+
+    public Double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(Double revenue) {
+        this.revenue = revenue;
+    }
+
+    public Long getUnits() {
+        return units;
+    }
+
+    public void setUnits(Long units) {
+        this.units = units;
+    }
+}
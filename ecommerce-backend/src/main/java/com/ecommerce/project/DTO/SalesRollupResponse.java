@@ -0,0 +1,60 @@
+package com.ecommerce.project.DTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// SalesRollupResponse - data transfer object for a sales time series over a date range
+public class SalesRollupResponse {
+    // "hour" or "day"
+    private String granularity;
+    // First day of the range
+    private LocalDate from;
+    // Last day of the range (inclusive)
+    private LocalDate to;
+    // One entry per bucket and category that had sales, oldest first
+    private List<SalesRollupDto> content;
+
+    // Default constructor
+    public SalesRollupResponse() {
+    }
+
+    // Constructor with all fields
+    public SalesRollupResponse(String granularity, LocalDate from, LocalDate to, List<SalesRollupDto> content) {
+        this.granularity = granularity;
+        this.from = from;
+        this.to = to;
+        this.content = content;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public void setGranularity(String granularity) {
+        this.granularity = granularity;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+
+    public List<SalesRollupDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<SalesRollupDto> content) {
+        this.content = content;
+    }
+}
@@ -38,6 +38,13 @@ public class UserDTO {
 		this.cart = cart;
 	}
 
+	// Constructor for JPQL projection queries (public account fields only, no password or roles)
+	public UserDTO(Long userId, String username, String email) {
+		this.userId = userId;
+		this.username = username;
+		this.email = email;
+	}
+
 	// Get user ID
 	public Long getUserId() {
 		return userId;
@@ -2,7 +2,9 @@ package com.ecommerce.project.JwtAuth;
 
 import java.util.Arrays;
 import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,7 +17,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -25,12 +26,15 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import com.ecommerce.project.DAO.RoleDAO;
 import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.cache.UserDetailsCache;
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.JwtAuth.jwt.AuthEntryPointJwt;
 import com.ecommerce.project.JwtAuth.jwt.AuthTokenFilter;
 import com.ecommerce.project.JwtAuth.jwt.JwtUtils;
+import com.ecommerce.project.JwtAuth.jwt.TokenDenyList;
+import com.ecommerce.project.JwtAuth.services.PooledPasswordEncoder;
 import com.ecommerce.project.JwtAuth.services.UserDetailsServiceImpl;
 
 /**
@@ -47,11 +51,25 @@ public class WebSecurityConfig {
     private final UserDetailsServiceImpl userDetailsService;
     private final AuthEntryPointJwt unauthorizedHandler;
     private final JwtUtils jwtUtils;
-
-    public WebSecurityConfig(UserDetailsServiceImpl userDetailsService, AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils) {
+    private final TokenDenyList tokenDenyList;
+    private final UserDetailsCache userDetailsCache;
+    private final int passwordCostFactor;
+    private final int passwordThreads;
+    private final int passwordMaxQueued;
+
+    public WebSecurityConfig(UserDetailsServiceImpl userDetailsService, AuthEntryPointJwt unauthorizedHandler, JwtUtils jwtUtils,
+                             TokenDenyList tokenDenyList, UserDetailsCache userDetailsCache,
+                             @Value("${auth.password.bcrypt-cost:10}") int passwordCostFactor,
+                             @Value("${auth.password.threads:0}") int passwordThreads,
+                             @Value("${auth.password.max-queued:50}") int passwordMaxQueued) {
         this.userDetailsService = userDetailsService;
         this.unauthorizedHandler = unauthorizedHandler;
         this.jwtUtils = jwtUtils;
+        this.tokenDenyList = tokenDenyList;
+        this.userDetailsCache = userDetailsCache;
+        this.passwordCostFactor = passwordCostFactor;
+        this.passwordThreads = passwordThreads;
+        this.passwordMaxQueued = passwordMaxQueued;
     }
 
     /**
@@ -83,7 +101,7 @@ public class WebSecurityConfig {
      */
     @Bean
     public AuthTokenFilter authenticationJwtTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+        return new AuthTokenFilter(jwtUtils, userDetailsService, tokenDenyList);
     }
 
     /**
@@ -95,6 +113,8 @@ public class WebSecurityConfig {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hashes passwords stored with an old cost factor after a successful login
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
@@ -109,10 +129,13 @@ public class WebSecurityConfig {
     /**
      * Creates a password encoder using BCrypt hashing algorithm.
      * BCrypt is secure and automatically handles salting.
+     * Hashing runs on a bounded pool so login bursts can't take every core from other requests.
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PooledPasswordEncoder passwordEncoder() {
+        // 0 threads: use half the cores, leaving the rest for everything else
+        int hashingThreads = passwordThreads > 0 ? passwordThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new PooledPasswordEncoder(passwordCostFactor, hashingThreads, passwordMaxQueued);
     }
 
     /**
@@ -209,9 +232,19 @@ public class WebSecurityConfig {
             userDAO.save(newUser);
         } else {
             userDAO.findByUserName(userName).ifPresent(existingUser -> {
+                boolean rolesChanged = !roleNames(existingUser.getRoles()).equals(roleNames(roles));
                 existingUser.setRoles(roles);
                 userDAO.save(existingUser);
+                // Tokens carry the roles they were issued with
+                if (rolesChanged) {
+                    tokenDenyList.revokeUserTokens(existingUser.getUserId());
+                    userDetailsCache.evict(userName);
+                }
             });
         }
     }
+
+    private Set<AppRole> roleNames(Set<Role> roles) {
+        return roles.stream().map(Role::getRoleName).collect(Collectors.toSet());
+    }
 }
@@ -1,5 +1,6 @@
 package com.ecommerce.project.JwtAuth.jwt;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -32,10 +33,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenDenyList tokenDenyList;
 
-    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
+    public AuthTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService, TokenDenyList tokenDenyList) {
         this.jwtUtils = jwtUtils;
         this.userDetailsService = userDetailsService;
+        this.tokenDenyList = tokenDenyList;
     }
 
     /**
@@ -63,10 +66,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private void processJwtAuthentication(HttpServletRequest request) {
         String jwtToken = parseJwtToken(request);
+        if (jwtToken == null) {
+            return;
+        }
 
-        if (isValidToken(jwtToken)) {
-            authenticateUser(jwtToken, request);
+        // One parse both validates the token and yields its claims
+        Claims claims = jwtUtils.parseValidClaims(jwtToken);
+        if (claims == null || tokenDenyList.isRevoked(claims)) {
+            return;
         }
+        authenticateUser(claims, request);
     }
 
     private String parseJwtToken(HttpServletRequest request) {
@@ -78,13 +87,12 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         return jwtUtils.getJwtFromHeader(request);
     }
 
-    private boolean isValidToken(String jwtToken) {
-        return jwtToken != null && jwtUtils.validateJwtToken(jwtToken);
-    }
-
-    private void authenticateUser(String jwtToken, HttpServletRequest request) {
-        String username = extractUsernameFromToken(jwtToken);
-        UserDetails userDetails = loadUserDetails(username);
+    private void authenticateUser(Claims claims, HttpServletRequest request) {
+        // Tokens carry the user's id, email and roles; only older tokens need the database
+        UserDetails userDetails = jwtUtils.buildUserDetailsFromClaims(claims);
+        if (userDetails == null) {
+            userDetails = loadUserDetails(claims.getSubject());
+        }
 
         UsernamePasswordAuthenticationToken authentication = buildAuthenticationToken(userDetails, request);
         logUserRoles(userDetails);
@@ -92,10 +100,6 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
-    private String extractUsernameFromToken(String jwtToken) {
-        return jwtUtils.getUserNameFromJwtToken(jwtToken);
-    }
-
     private UserDetails loadUserDetails(String username) {
         return userDetailsService.loadUserByUsername(username);
     }
@@ -1,11 +1,14 @@
 package com.ecommerce.project.JwtAuth.jwt;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
@@ -14,19 +17,23 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.web.util.WebUtils;
 
 import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
 
 import javax.crypto.SecretKey;
-import java.security.Key;
 import java.util.Date;
+import java.util.List;
+import java.util.UUID;
 
 /**
  * Utility class for JWT (JSON Web Token) operations.
  * Handles token generation, validation, and extraction from requests.
  * JWT tokens are used for stateless authentication (no sessions needed).
+ * The signing key and parser are built once at startup; both are immutable and thread-safe.
  */
 @Component
 public class JwtUtils {
@@ -37,23 +44,28 @@ public class JwtUtils {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final int JWT_COOKIE_MAX_AGE = 24 * 60 * 60;
     private static final String API_PATH = "/api";
+    static final String USER_ID_CLAIM = "uid";
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLES_CLAIM = "roles";
 
-    @Value("${spring.app.jwtSecret}")
-    private final String jwtSecret;
-
-    @Value("${spring.app.jwtExpirationMs}")
     private final int jwtExpirationMs;
-
-    @Value("${spring.ecom.app.jwtCookieName}")
     private final String jwtCookieName;
-
+    private final SecretKey signingKey;
+    private final JwtParser jwtParser;
+    private final boolean claimsAuthentication;
     private final MessageSource messageSource;
 
-    public JwtUtils(MessageSource messageSource) {
+    public JwtUtils(MessageSource messageSource,
+                    @Value("${spring.app.jwtSecret}") String jwtSecret,
+                    @Value("${spring.app.jwtExpirationMs}") int jwtExpirationMs,
+                    @Value("${spring.ecom.app.jwtCookieName}") String jwtCookieName,
+                    @Value("${auth.jwt.claims-authentication:false}") boolean claimsAuthentication) {
         this.messageSource = messageSource;
-        this.jwtSecret = null;
-        this.jwtExpirationMs = 0;
-        this.jwtCookieName = null;
+        this.claimsAuthentication = claimsAuthentication;
+        this.jwtExpirationMs = jwtExpirationMs;
+        this.jwtCookieName = jwtCookieName;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.jwtParser = Jwts.parser().verifyWith(signingKey).build();
     }
 
     /**
@@ -79,7 +91,15 @@ public class JwtUtils {
      * Used after successful login to send token back to frontend.
      */
     public ResponseCookie generateJwtCookie(UserDetailsImpl userPrincipal) {
-        String jwtToken = generateTokenFromUsername(userPrincipal.getUsername());
+        String jwtToken = generateToken(userPrincipal);
+        return buildJwtCookie(jwtToken);
+    }
+
+    /**
+     * Wraps an already signed token in a JWT cookie.
+     * Lets login send the same token in the cookie and the response body instead of signing two.
+     */
+    public ResponseCookie generateJwtCookie(String jwtToken) {
         return buildJwtCookie(jwtToken);
     }
 
@@ -91,47 +111,54 @@ public class JwtUtils {
     }
 
     /**
-     * Generates a new JWT token for a username.
-     * Token contains: username, issue time, expiration time.
+     * Generates a new JWT token for a logged-in user.
+     * Token contains: username, token ID, issue time, expiration time, and the user's id, email and roles.
      * Signed with secret key to prevent tampering.
      */
-    public String generateTokenFromUsername(String username) {
+    public String generateToken(UserDetailsImpl user) {
         Date currentDate = new Date();
         Date expirationDate = new Date(currentDate.getTime() + jwtExpirationMs);
+        List<String> roles = user.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList();
 
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(currentDate)
                 .expiration(expirationDate)
-                .signWith(getSigningKey())
+                .claim(USER_ID_CLAIM, user.getId())
+                .claim(EMAIL_CLAIM, user.getEmail())
+                .claim(ROLES_CLAIM, roles)
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Extracts the username from a JWT token.
-     * Used to identify who is making the request.
+     * Rebuilds the user from the claims embedded in a validated token, so no database lookup is needed.
+     * Returns null when claims authentication is switched off or the token predates embedded claims.
      */
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parser()
-                .verifyWith((SecretKey) getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload()
-                .getSubject();
+    public UserDetailsImpl buildUserDetailsFromClaims(Claims claims) {
+        Long userId = claims.get(USER_ID_CLAIM, Long.class);
+        List<?> roles = claims.get(ROLES_CLAIM, List.class);
+        if (!claimsAuthentication || userId == null || roles == null) {
+            return null;
+        }
+
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(role.toString()))
+                .toList();
+        return new UserDetailsImpl(userId, claims.getSubject(), claims.get(EMAIL_CLAIM, String.class), null, authorities);
     }
 
     /**
-     * Validates a JWT token (checks signature, expiration, format).
-     * Returns true if token is valid, false otherwise.
+     * Validates a JWT token (checks signature, expiration, format) and returns its claims.
+     * The token is parsed once; returns null if it is invalid.
      */
-    public boolean validateJwtToken(String authToken) {
+    public Claims parseValidClaims(String authToken) {
         try {
-            Jwts.parser()
-                    .verifyWith((SecretKey) getSigningKey())
-                    .build()
-                    .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException exception) {
+            return jwtParser.parseSignedClaims(authToken).getPayload();
+        } catch (MalformedJwtException | SecurityException exception) {
             logTokenValidationError("jwt.error.invalid", exception);
         } catch (ExpiredJwtException exception) {
             logTokenValidationError("jwt.error.expired", exception);
@@ -140,7 +167,7 @@ public class JwtUtils {
         } catch (IllegalArgumentException exception) {
             logTokenValidationError("jwt.error.empty", exception);
         }
-        return false;
+        return null;
     }
 
     private String extractCookieValue(Cookie jwtCookie) {
@@ -169,11 +196,6 @@ public class JwtUtils {
                 .build();
     }
 
-    private Key getSigningKey() {
-        byte[] decodedKey = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(decodedKey);
-    }
-
     private void logTokenValidationError(String messageKey, Exception exception) {
         String message = messageSource.getMessage(
                 messageKey,
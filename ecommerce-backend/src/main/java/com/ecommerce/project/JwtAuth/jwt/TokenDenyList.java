@@ -0,0 +1,144 @@
+package com.ecommerce.project.JwtAuth.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.RevokedTokenDAO;
+import com.ecommerce.project.helper.TransactionHooks;
+import com.ecommerce.project.model.RevokedToken;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * In-memory deny-list of revoked JWTs, checked on every authenticated request without a database query.
+ * Revocations are stored in the revoked_tokens table so every instance sees them: each instance applies
+ * its own revocations at once and picks up the others' on the next refresh. Entries are dropped as soon
+ * as the tokens they cover have expired, so the list only ever holds recent logouts and user cut-offs.
+ */
+@Component
+public class TokenDenyList implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenDenyList.class);
+    // Re-read a little before the last refresh so revocations committed late are not missed
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenDAO revokedTokenDAO;
+    private final TransactionTemplate transactionTemplate;
+    private final long tokenLifetimeMs;
+
+    // Token ID -> expiry (epoch ms)
+    private final Map<String, Long> revokedTokenIds = new ConcurrentHashMap<>();
+    // User ID -> tokens issued at or before this time (epoch ms) are revoked
+    private final Map<Long, Long> userCutoffs = new ConcurrentHashMap<>();
+    // Null until the first (full) load
+    private volatile LocalDateTime lastRefreshStartedAt;
+
+    public TokenDenyList(RevokedTokenDAO revokedTokenDAO, TransactionTemplate transactionTemplate,
+                         @Value("${spring.app.jwtExpirationMs}") long tokenLifetimeMs) {
+        this.revokedTokenDAO = revokedTokenDAO;
+        this.transactionTemplate = transactionTemplate;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        refresh();
+        logger.info("Token deny-list loaded with {} revoked tokens and {} user cut-offs", revokedTokenIds.size(), userCutoffs.size());
+    }
+
+    /**
+     * True if the token was revoked individually or issued before its user's tokens were revoked.
+     * Token issue times only have second precision, so a token issued in the same second as a
+     * user cut-off counts as revoked.
+     */
+    public boolean isRevoked(Claims claims) {
+        String tokenId = claims.getId();
+        if (tokenId != null && revokedTokenIds.containsKey(tokenId)) {
+            return true;
+        }
+        Long userId = claims.get(JwtUtils.USER_ID_CLAIM, Long.class);
+        Date issuedAt = claims.getIssuedAt();
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        Long cutoff = userCutoffs.get(userId);
+        return cutoff != null && issuedAt.getTime() <= cutoff;
+    }
+
+    /**
+     * Revokes one token (used on logout). Tokens without an ID predate the deny-list and can't be revoked singly.
+     */
+    public void revokeToken(Claims claims) {
+        if (claims.getId() == null || claims.getExpiration() == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revocation = revokedTokenDAO.save(new RevokedToken(claims.getId(), null, now, toLocalDateTime(claims.getExpiration().getTime())));
+        TransactionHooks.afterCommit(() -> apply(revocation));
+    }
+
+    /**
+     * Revokes every token issued to the user so far (used when claims embedded in them become stale).
+     */
+    public void revokeUserTokens(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        RevokedToken revocation = revokedTokenDAO.save(new RevokedToken(null, userId, now, now.plus(Duration.ofMillis(tokenLifetimeMs))));
+        TransactionHooks.afterCommit(() -> apply(revocation));
+    }
+
+    /**
+     * Loads revocations made on other instances since the last refresh and forgets expired ones.
+     */
+    @Scheduled(fixedDelayString = "${auth.deny-list.refresh-interval-ms:30000}",
+            initialDelayString = "${auth.deny-list.refresh-interval-ms:30000}")
+    public void refresh() {
+        LocalDateTime refreshStartedAt = LocalDateTime.now();
+        LocalDateTime since = lastRefreshStartedAt == null
+                ? LocalDateTime.ofInstant(Instant.EPOCH, ZoneId.systemDefault())
+                : lastRefreshStartedAt.minus(REFRESH_OVERLAP);
+        try {
+            List<RevokedToken> revocations = transactionTemplate.execute(status -> {
+                revokedTokenDAO.deleteExpired(refreshStartedAt);
+                return revokedTokenDAO.findActiveRevokedSince(since, refreshStartedAt);
+            });
+            revocations.forEach(this::apply);
+            lastRefreshStartedAt = refreshStartedAt;
+        } catch (RuntimeException exception) {
+            logger.error("Could not refresh the token deny-list; keeping the current entries", exception);
+        }
+
+        long nowMillis = System.currentTimeMillis();
+        revokedTokenIds.values().removeIf(expiresAt -> expiresAt <= nowMillis);
+        userCutoffs.values().removeIf(cutoff -> cutoff + tokenLifetimeMs <= nowMillis);
+    }
+
+    private void apply(RevokedToken revocation) {
+        if (revocation.getTokenId() != null) {
+            revokedTokenIds.put(revocation.getTokenId(), toEpochMillis(revocation.getExpiresAt()));
+        } else if (revocation.getUserId() != null) {
+            userCutoffs.merge(revocation.getUserId(), toEpochMillis(revocation.getRevokedAt()), Math::max);
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,105 @@
+package com.ecommerce.project.JwtAuth.services;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DTO.CacheStatsResponse;
+import com.ecommerce.project.cache.BoundedTtlCache;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+import com.ecommerce.project.helper.TokenBucket;
+
+/**
+ * Token-bucket rate limits for login and registration, per client IP and per account.
+ * Checked before any database query or password hashing, so credential-stuffing bursts are
+ * turned away with 429 for the cost of a map lookup.
+ *
+ * Buckets live in bounded LRU caches that only ever drop a bucket once it has refilled completely,
+ * so starting over with a new (full) bucket never lets anyone through early. When a cache is full of
+ * buckets that are still refilling, for example while someone sprays attempts at many usernames,
+ * new keys share one of a fixed set of striped buckets instead, so they are still limited.
+ */
+@Component
+public class AuthRateLimiter {
+
+    // Shared buckets for keys that found no room in their cache, picked by key hash
+    private static final int OVERFLOW_STRIPES = 1024;
+
+    private final BoundedTtlCache<String, TokenBucket> ipBuckets;
+    private final BoundedTtlCache<String, TokenBucket> accountBuckets;
+    private final TokenBucket[] ipOverflowBuckets;
+    private final TokenBucket[] accountOverflowBuckets;
+    private final int ipCapacity;
+    private final double ipTokensPerSecond;
+    private final int accountCapacity;
+    private final double accountTokensPerSecond;
+
+    public AuthRateLimiter(@Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                           @Value("${auth.rate-limit.ip.refill-per-minute:20}") int ipRefillPerMinute,
+                           @Value("${auth.rate-limit.account.capacity:5}") int accountCapacity,
+                           @Value("${auth.rate-limit.account.refill-per-minute:5}") int accountRefillPerMinute,
+                           @Value("${auth.rate-limit.max-tracked-keys:100000}") int maxTrackedKeys) {
+        this.ipCapacity = ipCapacity;
+        this.ipTokensPerSecond = ipRefillPerMinute / 60.0;
+        this.accountCapacity = accountCapacity;
+        this.accountTokensPerSecond = accountRefillPerMinute / 60.0;
+        this.ipBuckets = new BoundedTtlCache<>("authRateLimitByIp", maxTrackedKeys,
+                timeToRefill(ipCapacity, ipTokensPerSecond), TokenBucket::isFull);
+        this.accountBuckets = new BoundedTtlCache<>("authRateLimitByAccount", maxTrackedKeys,
+                timeToRefill(accountCapacity, accountTokensPerSecond), TokenBucket::isFull);
+        this.ipOverflowBuckets = stripedBuckets(ipCapacity, ipTokensPerSecond);
+        this.accountOverflowBuckets = stripedBuckets(accountCapacity, accountTokensPerSecond);
+    }
+
+    /**
+     * Takes one attempt from the client's IP bucket and then from each account's bucket.
+     * Throws TooManyRequestsException (429) as soon as one of them is empty.
+     */
+    public void checkAttempt(String clientIp, String... accounts) {
+        if (!bucketFor(ipBuckets, ipOverflowBuckets, clientIp, ipCapacity, ipTokensPerSecond).tryConsume()) {
+            throw new TooManyRequestsException("Too many attempts from your network, please wait a minute and try again");
+        }
+        for (String account : accounts) {
+            if (account == null || account.isBlank()) {
+                continue;
+            }
+            String accountKey = account.trim().toLowerCase(Locale.ROOT);
+            if (!bucketFor(accountBuckets, accountOverflowBuckets, accountKey, accountCapacity, accountTokensPerSecond).tryConsume()) {
+                throw new TooManyRequestsException("Too many attempts for this account, please wait a minute and try again");
+            }
+        }
+    }
+
+    public CacheStatsResponse ipStats() {
+        return ipBuckets.stats();
+    }
+
+    public CacheStatsResponse accountStats() {
+        return accountBuckets.stats();
+    }
+
+    private TokenBucket bucketFor(BoundedTtlCache<String, TokenBucket> buckets, TokenBucket[] overflowBuckets,
+                                  String key, int capacity, double tokensPerSecond) {
+        TokenBucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        // putIfRoom so concurrent first attempts share one bucket instead of each getting a full one
+        TokenBucket cachedBucket = buckets.putIfRoom(key, new TokenBucket(capacity, tokensPerSecond));
+        return cachedBucket != null ? cachedBucket : overflowBuckets[Math.floorMod(key.hashCode(), overflowBuckets.length)];
+    }
+
+    private static TokenBucket[] stripedBuckets(int capacity, double tokensPerSecond) {
+        TokenBucket[] buckets = new TokenBucket[OVERFLOW_STRIPES];
+        for (int stripe = 0; stripe < buckets.length; stripe++) {
+            buckets[stripe] = new TokenBucket(capacity, tokensPerSecond);
+        }
+        return buckets;
+    }
+
+    private static Duration timeToRefill(int capacity, double tokensPerSecond) {
+        return Duration.ofMillis((long) Math.ceil(capacity / tokensPerSecond * 1000));
+    }
+}
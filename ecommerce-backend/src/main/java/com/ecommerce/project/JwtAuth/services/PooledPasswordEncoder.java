@@ -0,0 +1,133 @@
+package com.ecommerce.project.JwtAuth.services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.ecommerce.project.DTO.PasswordHashingStatsResponse;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * BCrypt password encoder that runs every hash and verification on a small dedicated thread pool.
+ * Request threads wait for the result but don't burn CPU, so a burst of logins can use at most
+ * the pool's threads worth of cores; once the queue is full, callers are turned away with 429.
+ * Hashes made with a different cost factor than the configured one are upgraded on the next login.
+ */
+public class PooledPasswordEncoder implements PasswordEncoder {
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int costFactor;
+    private final int maxQueued;
+    private final ThreadPoolExecutor hashingPool;
+
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder totalWorkNanos = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWorkNanos = new AtomicLong();
+
+    public PooledPasswordEncoder(int costFactor, int threads, int maxQueued) {
+        this.bcrypt = new BCryptPasswordEncoder(costFactor);
+        this.costFactor = costFactor;
+        this.maxQueued = maxQueued;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueued),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return runOnPool(() -> bcrypt.encode(rawPassword), hashes);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return runOnPool(() -> bcrypt.matches(rawPassword, encodedPassword), verifications);
+    }
+
+    /**
+     * True when the stored hash was made with another cost factor, so it should be re-hashed
+     * (DaoAuthenticationProvider then calls UserDetailsPasswordService after a successful login).
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher costMatcher = BCRYPT_COST.matcher(encodedPassword);
+        return costMatcher.find() && Integer.parseInt(costMatcher.group(1)) != costFactor;
+    }
+
+    public PasswordHashingStatsResponse stats() {
+        long operations = hashes.sum() + verifications.sum();
+        double averageWorkMillis = operations == 0 ? 0.0 : totalWorkNanos.sum() / 1_000_000.0 / operations;
+        double averageWaitMillis = operations == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / operations;
+        return new PasswordHashingStatsResponse(costFactor, hashingPool.getMaximumPoolSize(), maxQueued,
+                hashingPool.getActiveCount(), hashingPool.getQueue().size(), hashes.sum(), verifications.sum(),
+                rejections.sum(), averageWorkMillis, maxWorkNanos.get() / 1_000_000.0, averageWaitMillis);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    // Runs the work on the pool and waits for it; counts it in accepted once it has been queued
+    private <T> T runOnPool(Callable<T> work, LongAdder accepted) {
+        long submittedAt = System.nanoTime();
+        Future<T> result;
+        try {
+            result = hashingPool.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return work.call();
+                } finally {
+                    long workNanos = System.nanoTime() - startedAt;
+                    totalWorkNanos.add(workNanos);
+                    maxWorkNanos.accumulateAndGet(workNanos, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many sign-in attempts are being processed, please try again shortly");
+        }
+        accepted.increment();
+
+        try {
+            return result.get();
+        } catch (InterruptedException exception) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", exception.getCause());
+        }
+    }
+}
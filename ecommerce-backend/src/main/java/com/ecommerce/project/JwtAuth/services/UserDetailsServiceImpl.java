@@ -1,37 +1,56 @@
 package com.ecommerce.project.JwtAuth.services;
 
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.cache.UserDetailsCache;
 
 /**
  * Service for loading user-specific data for Spring Security.
  * Used during authentication to fetch user details from database.
+ * Lookups go through UserDetailsCache; writes to users and their roles evict the affected entries.
  */
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
-    @Autowired
-    UserDAO userDAO;
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
+
+    private final UserDAO userDAO;
+    private final UserDetailsCache userDetailsCache;
+
+    public UserDetailsServiceImpl(UserDAO userDAO, UserDetailsCache userDetailsCache) {
+        this.userDAO = userDAO;
+        this.userDetailsCache = userDetailsCache;
+    }
 
     /**
      * Loads a user by username for authentication.
      * Called by Spring Security during login process.
-     * Throws exception if user doesn't exist.
+     * Throws exception if user doesn't exist (unknown usernames are not cached).
      */
     @Override
-    @Transactional
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userDAO.findByUserName(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
-
-        return UserDetailsImpl.build(user);
+    public UserDetailsImpl loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.getOrLoad(username, () -> {
+            User user = userDAO.findByUserName(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+            return UserDetailsImpl.build(user);
+        });
     }
 
-
-}
\ No newline at end of file
+    /**
+     * Stores a re-hashed password after a successful login (when the BCrypt cost factor changed).
+     * The user's cached details are dropped so the next login sees the new hash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User storedUser = userDAO.findByUserName(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + user.getUsername()));
+        storedUser.setPassword(newPassword);
+        userDAO.save(storedUser);
+        userDetailsCache.evict(user.getUsername());
+        return UserDetailsImpl.build(storedUser);
+    }
+}
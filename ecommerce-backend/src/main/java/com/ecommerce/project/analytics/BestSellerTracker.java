@@ -0,0 +1,201 @@
+package com.ecommerce.project.analytics;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DAO.OrderItemDAO;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.helper.TransactionHooks;
+import com.ecommerce.project.model.OrderItem;
+
+/**
+ * Real-time best-seller rankings over 1 hour, 24 hour and 7 day windows.
+ * Each window is one fixed-size Space-Saving summary of exponentially decayed units sold: a sale counts
+ * fully when it happens and fades with a time constant of the window length, so at a steady sales rate
+ * a product's figure equals its units sold over the last window. Because every sale goes into a single
+ * summary, the Space-Saving bounds hold for the whole window: any product with more than 1 / capacity of
+ * the window's decayed sales is tracked, and no figure is overcounted by more than that share.
+ * Memory stays bounded no matter how many products or orders there are.
+ * Fed by IOrderServiceImpl as orders commit; warmed up from recent orders at startup.
+ */
+@Component
+public class BestSellerTracker implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(BestSellerTracker.class);
+
+    /**
+     * Supported windows: the decay time constant, and the bucket size sales are replayed in at startup.
+     */
+    public enum Window {
+        LAST_HOUR("1h", Duration.ofHours(1), ChronoUnit.MINUTES),
+        LAST_DAY("24h", Duration.ofDays(1), ChronoUnit.HOURS),
+        LAST_WEEK("7d", Duration.ofDays(7), ChronoUnit.DAYS);
+
+        private final String label;
+        private final Duration length;
+        private final ChronoUnit warmUpBucket;
+
+        Window(String label, Duration length, ChronoUnit warmUpBucket) {
+            this.label = label;
+            this.length = length;
+            this.warmUpBucket = warmUpBucket;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public static Window fromLabel(String label) {
+            for (Window window : values()) {
+                if (window.label.equalsIgnoreCase(label)) {
+                    return window;
+                }
+            }
+            throw new APIErrorHandler("Best-seller window must be one of 1h, 24h or 7d");
+        }
+    }
+
+    // Sales older than this many window lengths have decayed below 2% and are not replayed
+    private static final int WARM_UP_WINDOW_LENGTHS = 4;
+
+    private final OrderItemDAO orderItemDAO;
+    private final int capacity;
+    private final Map<Window, DecayingTopK> windows = new EnumMap<>(Window.class);
+
+    public BestSellerTracker(OrderItemDAO orderItemDAO,
+                             @Value("${analytics.bestsellers.capacity:200}") int capacity) {
+        this.orderItemDAO = orderItemDAO;
+        this.capacity = capacity;
+        long nowMillis = System.currentTimeMillis();
+        for (Window window : Window.values()) {
+            windows.put(window, new DecayingTopK(window, capacity, nowMillis));
+        }
+    }
+
+    /**
+     * Replays recent sales so rankings survive restarts. Each window is fed at its own granularity
+     * (minutes for 1h, hours for 24h, days for 7d), each bucket counted at its midpoint.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        LocalDateTime now = LocalDateTime.now();
+        for (Window window : Window.values()) {
+            LocalDateTime since = now.minus(window.length.multipliedBy(WARM_UP_WINDOW_LENGTHS)).truncatedTo(window.warmUpBucket);
+            List<ProductSales> recentSales = switch (window.warmUpBucket) {
+                case MINUTES -> orderItemDAO.sumProductSalesByMinuteSince(since);
+                case HOURS -> orderItemDAO.sumProductSalesByHourSince(since);
+                default -> orderItemDAO.sumProductSalesByDaySince(since);
+            };
+            DecayingTopK windowSummary = windows.get(window);
+            long halfBucketMillis = window.warmUpBucket.getDuration().toMillis() / 2;
+            long nowMillis = toEpochMillis(now);
+            recentSales.forEach(sales -> windowSummary.add(sales.productId(), sales.units(),
+                    Math.min(toEpochMillis(sales.periodStart()) + halfBucketMillis, nowMillis)));
+            logger.info("Best-seller window {} warmed up from {} product sales buckets", window.label, recentSales.size());
+        }
+    }
+
+    // Counts the units of each order line once the order's transaction commits
+    public void recordOrder(List<OrderItem> orderItems) {
+        Map<Long, Long> unitsByProduct = new HashMap<>();
+        orderItems.forEach(orderItem -> unitsByProduct.merge(orderItem.getProduct().getProductId(), (long) orderItem.getQty(), Long::sum));
+        TransactionHooks.afterCommit(() -> {
+            long now = System.currentTimeMillis();
+            unitsByProduct.forEach((productId, units) -> record(productId, units, now));
+        });
+    }
+
+    /**
+     * The limit best-selling products in the window, most units first.
+     */
+    public List<BestSeller> top(Window window, int limit) {
+        if (limit < 1 || limit > capacity) {
+            throw new APIErrorHandler("The best-seller limit must be between 1 and " + capacity);
+        }
+        return ranking(window).stream().limit(limit).toList();
+    }
+
+    /**
+     * Every tracked product that sold in the window, most units first (ties by product id).
+     * Untracked products sold no more than the last one listed.
+     */
+    public List<BestSeller> ranking(Window window) {
+        return windows.get(window).estimate(System.currentTimeMillis()).stream()
+                .filter(bestSeller -> bestSeller.unitsSold() > 0)
+                .sorted(Comparator.comparingLong(BestSeller::unitsSold).reversed().thenComparing(BestSeller::productId))
+                .toList();
+    }
+
+    /**
+     * Estimated units sold in the window for every tracked product (untracked products sold little or nothing).
+     */
+    public Map<Long, Long> unitsSold(Window window) {
+        Map<Long, Long> unitsByProduct = new HashMap<>();
+        windows.get(window).estimate(System.currentTimeMillis())
+                .forEach(bestSeller -> unitsByProduct.put(bestSeller.productId(), bestSeller.unitsSold()));
+        return unitsByProduct;
+    }
+
+    private void record(Long productId, long units, long epochMillis) {
+        windows.values().forEach(window -> window.add(productId, units, epochMillis));
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * A product's decayed units sold, rounded; the true figure is between unitsSold - maxOvercount and unitsSold.
+     */
+    public record BestSeller(Long productId, long unitsSold, long maxOvercount) {
+    }
+
+    /**
+     * Forward decay: a sale at time t is added with weight e^((t - landmark) / window length), so stored
+     * counts only grow and the Space-Saving heap order stays valid; reading multiplies by
+     * e^((landmark - now) / window length). The landmark moves forward before the weights get too large.
+     */
+    private static final class DecayingTopK {
+        private static final double RESCALE_EXPONENT = 32;
+
+        private final double lengthMillis;
+        private final SpaceSavingSummary summary;
+        private long landmarkMillis;
+
+        DecayingTopK(Window window, int capacity, long landmarkMillis) {
+            this.lengthMillis = window.length.toMillis();
+            this.summary = new SpaceSavingSummary(capacity);
+            this.landmarkMillis = landmarkMillis;
+        }
+
+        synchronized void add(Long productId, long units, long epochMillis) {
+            if ((epochMillis - landmarkMillis) / lengthMillis > RESCALE_EXPONENT) {
+                summary.scale(Math.exp((landmarkMillis - epochMillis) / lengthMillis));
+                landmarkMillis = epochMillis;
+            }
+            summary.add(productId, units * Math.exp((epochMillis - landmarkMillis) / lengthMillis));
+        }
+
+        synchronized List<BestSeller> estimate(long nowMillis) {
+            double decay = Math.exp((landmarkMillis - nowMillis) / lengthMillis);
+            List<BestSeller> estimates = new ArrayList<>();
+            summary.forEach((productId, count, error) ->
+                    estimates.add(new BestSeller(productId, Math.round(count * decay), Math.round(error * decay))));
+            return estimates;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.project.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Units of one product sold in one day, hour or minute (starting at periodStart), as aggregated from orders and order items.
+ */
+public record ProductSales(Long productId, LocalDateTime periodStart, long units) {
+
+    // JPQL constructor expression: per day
+    public ProductSales(Long productId, LocalDate day, Long units) {
+        this(productId, day.atStartOfDay(), units);
+    }
+
+    // JPQL constructor expression: per hour
+    public ProductSales(Long productId, LocalDate day, Integer hour, Long units) {
+        this(productId, day.atTime(hour, 0), units);
+    }
+
+    // JPQL constructor expression: per minute
+    public ProductSales(Long productId, LocalDate day, Integer hour, Integer minute, Long units) {
+        this(productId, day.atTime(hour, minute), units);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.project.analytics;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Sales of one category in one hour or day, as aggregated from orders and order items.
+ */
+public record SalesBucket(LocalDateTime bucketStart, Long categoryId, long orderCount, double revenue, long units) {
+
+    // Daily aggregate (JPQL constructor expression)
+    public SalesBucket(LocalDate day, Long categoryId, Long orderCount, Double revenue, Long units) {
+        this(day.atStartOfDay(), categoryId, orderCount, revenue, units);
+    }
+
+    // Hourly aggregate (JPQL constructor expression)
+    public SalesBucket(LocalDate day, Integer hour, Long categoryId, Long orderCount, Double revenue, Long units) {
+        this(day.atTime(hour, 0), categoryId, orderCount, revenue, units);
+    }
+}
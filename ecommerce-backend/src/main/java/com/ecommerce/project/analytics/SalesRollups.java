@@ -0,0 +1,212 @@
+package com.ecommerce.project.analytics;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.DailySalesRollupDAO;
+import com.ecommerce.project.DAO.HourlySalesRollupDAO;
+import com.ecommerce.project.DAO.OrderItemDAO;
+import com.ecommerce.project.DAO.SalesRollupDAO;
+import com.ecommerce.project.helper.TransactionHooks;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.DailySalesRollup;
+import com.ecommerce.project.model.HourlySalesRollup;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.SalesRollup;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Maintains the hourly and daily sales rollup tables (orders, revenue and units per category).
+ * Placed orders are added to in-memory buckets once their transaction commits, and the buckets are
+ * written out on a short schedule. Checkouts therefore never wait on a shared rollup row,
+ * and many orders in the same hour cost one UPDATE per category.
+ * When another instance creates a bucket row between this flush's UPDATE and INSERT, the INSERT hits
+ * the bucket's unique constraint; the flush is then run again and finds the row to add to.
+ * Complete days can be (re)built from the orders and order_items tables with backfill.
+ */
+@Component
+public class SalesRollups {
+
+    private static final Logger logger = LoggerFactory.getLogger(SalesRollups.class);
+    // SQLSTATE for a unique constraint violation (PostgreSQL and H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+    // A lost race on a new bucket row clears up on the next attempt; more losses mean something else is wrong
+    private static final int MAX_WRITE_ATTEMPTS = 3;
+
+    private final HourlySalesRollupDAO hourlyRollupDAO;
+    private final DailySalesRollupDAO dailyRollupDAO;
+    private final OrderItemDAO orderItemDAO;
+    private final TransactionTemplate transactionTemplate;
+
+    // (hour, category) -> committed sales not yet written to the rollup tables
+    private final ConcurrentHashMap<BucketKey, Sales> pendingSales = new ConcurrentHashMap<>();
+    // Flushes and backfills write the same rows, so only one runs at a time
+    private final Object writeLock = new Object();
+
+    public SalesRollups(HourlySalesRollupDAO hourlyRollupDAO, DailySalesRollupDAO dailyRollupDAO,
+                        OrderItemDAO orderItemDAO, TransactionTemplate transactionTemplate) {
+        this.hourlyRollupDAO = hourlyRollupDAO;
+        this.dailyRollupDAO = dailyRollupDAO;
+        this.orderItemDAO = orderItemDAO;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Counts a placed order in its hour and day, per category of the products bought.
+     * Nothing is recorded if the surrounding transaction rolls back.
+     */
+    public void recordOrder(LocalDateTime orderedAt, List<OrderItem> orderItems) {
+        LocalDateTime hourStart = orderedAt.truncatedTo(ChronoUnit.HOURS);
+        Map<BucketKey, Sales> orderSales = new HashMap<>();
+        for (OrderItem orderItem : orderItems) {
+            Category category = orderItem.getProduct().getCategory();
+            if (category == null) {
+                continue;
+            }
+            Sales lineSales = new Sales(1, orderItem.getProductPrice() * orderItem.getQty(), orderItem.getQty());
+            // The order counts once per category however many of its products were bought
+            orderSales.merge(new BucketKey(hourStart, category.getCategoryId()), lineSales, Sales::plusLine);
+        }
+        TransactionHooks.afterCommit(() -> orderSales.forEach((key, sales) -> pendingSales.merge(key, sales, Sales::plus)));
+    }
+
+    /**
+     * Writes the pending sales to the hourly and daily tables in one transaction.
+     * If that fails the sales go back into the pending buckets and the next run retries them.
+     */
+    @Scheduled(fixedDelayString = "${analytics.rollups.flush-interval-ms:10000}")
+    public void flush() {
+        synchronized (writeLock) {
+            Map<BucketKey, Sales> hourlySales = new HashMap<>();
+            for (BucketKey key : pendingSales.keySet()) {
+                Sales sales = pendingSales.remove(key);
+                if (sales != null) {
+                    hourlySales.put(key, sales);
+                }
+            }
+            if (hourlySales.isEmpty()) {
+                return;
+            }
+
+            Map<BucketKey, Sales> dailySales = new HashMap<>();
+            hourlySales.forEach((key, sales) -> dailySales.merge(key.toDay(), sales, Sales::plus));
+
+            try {
+                writeBuckets(hourlySales, dailySales);
+            } catch (RuntimeException exception) {
+                hourlySales.forEach((key, sales) -> pendingSales.merge(key, sales, Sales::plus));
+                logger.warn("Could not write {} sales rollup buckets, will retry", hourlySales.size(), exception);
+            }
+        }
+    }
+
+    /**
+     * Recomputes the hourly and daily rollups of the days from..to (inclusive) from the raw order tables,
+     * one day per transaction. Only pass complete days: sales still arriving for a day being rebuilt
+     * would be counted twice. Returns the number of days rebuilt.
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        synchronized (writeLock) {
+            flush();
+            int rebuiltDays = 0;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                LocalDate rebuiltDay = day;
+                transactionTemplate.executeWithoutResult(status -> rebuildDay(rebuiltDay));
+                rebuiltDays++;
+            }
+            logger.info("Sales rollups rebuilt for {} days ({} to {})", rebuiltDays, from, to);
+            return rebuiltDays;
+        }
+    }
+
+    // Write out whatever is still pending before the application stops
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void rebuildDay(LocalDate day) {
+        LocalDate nextDay = day.plusDays(1);
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime nextDayStart = nextDay.atStartOfDay();
+
+        dailyRollupDAO.deleteBuckets(dayStart, nextDayStart);
+        orderItemDAO.sumDailySales(day, nextDay).forEach(bucket -> dailyRollupDAO.save(new DailySalesRollup(
+                bucket.bucketStart(), bucket.categoryId(), bucket.orderCount(), bucket.revenue(), bucket.units())));
+
+        hourlyRollupDAO.deleteBuckets(dayStart, nextDayStart);
+        orderItemDAO.sumHourlySales(dayStart, nextDayStart).forEach(bucket -> hourlyRollupDAO.save(new HourlySalesRollup(
+                bucket.bucketStart(), bucket.categoryId(), bucket.orderCount(), bucket.revenue(), bucket.units())));
+    }
+
+    // Runs the write again while it only fails because another instance inserted one of its bucket rows first
+    private void writeBuckets(Map<BucketKey, Sales> hourlySales, Map<BucketKey, Sales> dailySales) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    hourlySales.forEach((key, sales) -> addToBucket(hourlyRollupDAO, key, sales, HourlySalesRollup::new));
+                    dailySales.forEach((key, sales) -> addToBucket(dailyRollupDAO, key, sales, DailySalesRollup::new));
+                });
+                return;
+            } catch (DataIntegrityViolationException conflict) {
+                if (!isUniqueViolation(conflict) || attempt >= MAX_WRITE_ATTEMPTS) {
+                    throw conflict;
+                }
+                logger.debug("Sales rollup bucket created concurrently, writing again");
+            }
+        }
+    }
+
+    private static boolean isUniqueViolation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Adds to the bucket's row, creating it on the first sale of that hour or day
+    private <T extends SalesRollup> void addToBucket(SalesRollupDAO<T> rollupDAO, BucketKey key, Sales sales,
+                                                     RollupFactory<T> newRollup) {
+        int updatedRows = rollupDAO.addToBucket(key.bucketStart(), key.categoryId(), sales.orderCount(), sales.revenue(), sales.units());
+        if (updatedRows == 0) {
+            rollupDAO.save(newRollup.create(key.bucketStart(), key.categoryId(), sales.orderCount(), sales.revenue(), sales.units()));
+        }
+    }
+
+    private record BucketKey(LocalDateTime bucketStart, Long categoryId) {
+        BucketKey toDay() {
+            return new BucketKey(bucketStart.truncatedTo(ChronoUnit.DAYS), categoryId);
+        }
+    }
+
+    private record Sales(long orderCount, double revenue, long units) {
+        Sales plus(Sales other) {
+            return new Sales(orderCount + other.orderCount, revenue + other.revenue, units + other.units);
+        }
+
+        // Another line of the same order: same order count, more revenue and units
+        Sales plusLine(Sales line) {
+            return new Sales(orderCount, revenue + line.revenue, units + line.units);
+        }
+    }
+
+    private interface RollupFactory<T extends SalesRollup> {
+        T create(LocalDateTime bucketStart, Long categoryId, long orderCount, double revenue, long units);
+    }
+}
@@ -0,0 +1,119 @@
+package com.ecommerce.project.analytics;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Weighted Space-Saving heavy-hitters summary: tracks at most capacity items and their (over-)estimated counts.
+ * When a new item arrives and the summary is full, it takes over the slot of the item with the
+ * smallest count and inherits that count as its possible error. Any item whose true count exceeds
+ * total / capacity is guaranteed to be tracked, and no estimate is off by more than total / capacity.
+ * Counters sit in a min-heap, so adding is O(log capacity). Not thread-safe; callers synchronize.
+ */
+class SpaceSavingSummary {
+
+    private final int capacity;
+    private final Map<Long, Counter> counters;
+    // Min-heap on count; each counter knows its position so a bumped count can sift down in place
+    private final Counter[] heap;
+
+    SpaceSavingSummary(int capacity) {
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+        this.heap = new Counter[capacity];
+    }
+
+    void add(Long item, double weight) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += weight;
+            siftDown(counter.heapIndex);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter(item, weight, 0);
+            counters.put(item, counter);
+            place(counter, counters.size() - 1);
+            siftUp(counter.heapIndex);
+            return;
+        }
+
+        // Full: replace the smallest counter; everything it counted may have belonged to the new item
+        Counter smallest = heap[0];
+        counters.remove(smallest.item);
+        counter = new Counter(item, smallest.count + weight, smallest.count);
+        counters.put(item, counter);
+        place(counter, 0);
+        siftDown(0);
+    }
+
+    // Multiplies every count and error by the same factor; the heap order is unchanged
+    void scale(double factor) {
+        counters.values().forEach(counter -> {
+            counter.count *= factor;
+            counter.error *= factor;
+        });
+    }
+
+    // Calls the consumer with each tracked item, its estimated count and how much of it may be overcount
+    void forEach(CounterConsumer consumer) {
+        counters.values().forEach(counter -> consumer.accept(counter.item, counter.count, counter.error));
+    }
+
+    @FunctionalInterface
+    interface CounterConsumer {
+        void accept(Long item, double count, double error);
+    }
+
+    private void siftUp(int index) {
+        Counter counter = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            place(heap[parent], index);
+            index = parent;
+        }
+        place(counter, index);
+    }
+
+    private void siftDown(int index) {
+        Counter counter = heap[index];
+        int size = counters.size();
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], index);
+            index = child;
+        }
+        place(counter, index);
+    }
+
+    private void place(Counter counter, int index) {
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    // Estimated count (never below the true count) and how much of it may be overcount
+    private static final class Counter {
+        final Long item;
+        double count;
+        double error;
+        int heapIndex;
+
+        Counter(Long item, double count, double error) {
+            this.item = item;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
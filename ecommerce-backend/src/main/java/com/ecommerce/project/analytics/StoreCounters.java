@@ -0,0 +1,181 @@
+package com.ecommerce.project.analytics;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.OrderDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Running totals behind the admin analytics dashboard (products, orders, revenue).
+ * Services report each write here and the dashboard reads the totals without touching the database.
+ * Changes made inside a transaction are only applied once it commits, so rolled-back orders never count.
+ * A periodic reconciliation recounts from the database to correct any drift
+ * (e.g. writes that bypass the services, or other application instances).
+ *
+ * A reported write holds the read side of {@code commitLock} from just before its transaction commits
+ * until its change has been applied. Reconciliation takes the write side only while it opens its database
+ * snapshot and notes the totals at that point, so the snapshot holds exactly the writes already applied.
+ * The counts then run without the lock, and writes that land meanwhile are carried over as a delta.
+ */
+@Component
+public class StoreCounters implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(StoreCounters.class);
+
+    private final ProductDAO productDAO;
+    private final OrderDAO orderDAO;
+    private final AtomicReference<Totals> totals = new AtomicReference<>(new Totals(0, 0, 0.0));
+    private final ReadWriteLock commitLock = new ReentrantReadWriteLock();
+    private final TransactionTemplate snapshotTransaction;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StoreCounters(ProductDAO productDAO, OrderDAO orderDAO, PlatformTransactionManager transactionManager) {
+        this.productDAO = productDAO;
+        this.orderDAO = orderDAO;
+        // All three counts read one snapshot, taken at the transaction's first statement
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Loads the starting totals once all beans are ready.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        reconcile();
+    }
+
+    public Totals current() {
+        return totals.get();
+    }
+
+    // A product was added (+1) or deleted (-1)
+    public void productsChanged(long delta) {
+        applyOnCommit(current -> current.withProducts(delta));
+    }
+
+    // An order was placed for the given amount
+    public void orderPlaced(Double totalAmount) {
+        double amount = totalAmount != null ? totalAmount : 0.0;
+        applyOnCommit(current -> current.withOrder(amount));
+    }
+
+    /**
+     * Recounts everything from the database and replaces the running totals, keeping any writes
+     * applied after the recount's snapshot was taken. Reported writes only wait at commit while
+     * the snapshot is opened, not while the counts run.
+     */
+    @Scheduled(initialDelayString = "${analytics.reconcile-interval-ms:600000}",
+            fixedDelayString = "${analytics.reconcile-interval-ms:600000}")
+    public void reconcile() {
+        Totals[] atSnapshot = new Totals[1];
+        Totals recounted = snapshotTransaction.execute(status -> {
+            Lock lock = commitLock.writeLock();
+            lock.lock();
+            try {
+                // No reported write is between commit and apply here, so the snapshot matches these totals
+                entityManager.createNativeQuery("SELECT 1").getSingleResult();
+                atSnapshot[0] = totals.get();
+            } finally {
+                lock.unlock();
+            }
+            return new Totals(productDAO.count(), orderDAO.count(), orderDAO.calculateTotalRevenue());
+        });
+        totals.updateAndGet(current -> recounted.plus(current.minus(atSnapshot[0])));
+        if (!atSnapshot[0].matches(recounted)) {
+            logger.info("Store counters reconciled from {} to {}", atSnapshot[0], recounted);
+        }
+    }
+
+    // Applies the change once the surrounding transaction commits (never if it rolls back), or right away without one
+    private void applyOnCommit(UnaryOperator<Totals> change) {
+        Lock lock = commitLock.readLock();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.lock();
+            try {
+                totals.updateAndGet(change);
+            } finally {
+                lock.unlock();
+            }
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean locked;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Flush first: waiting on another transaction's row locks while holding the lock
+                // could deadlock with that transaction queued behind a waiting reconcile
+                entityManager.flush();
+                lock.lock();
+                locked = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        totals.updateAndGet(change);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    /**
+     * Snapshot of the running totals.
+     */
+    public record Totals(long productCount, long orderCount, double totalRevenue) {
+
+        Totals withProducts(long delta) {
+            return new Totals(productCount + delta, orderCount, totalRevenue);
+        }
+
+        Totals withOrder(double amount) {
+            return new Totals(productCount, orderCount + 1, totalRevenue + amount);
+        }
+
+        Totals plus(Totals other) {
+            return new Totals(productCount + other.productCount, orderCount + other.orderCount,
+                    totalRevenue + other.totalRevenue);
+        }
+
+        Totals minus(Totals other) {
+            return new Totals(productCount - other.productCount, orderCount - other.orderCount,
+                    totalRevenue - other.totalRevenue);
+        }
+
+        // Equal counts and revenue within a cent (summing doubles in a different order drifts slightly)
+        boolean matches(Totals other) {
+            return productCount == other.productCount && orderCount == other.orderCount
+                    && Math.abs(totalRevenue - other.totalRevenue) < 0.01;
+        }
+    }
+}
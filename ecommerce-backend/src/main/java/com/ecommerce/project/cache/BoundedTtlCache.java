@@ -0,0 +1,254 @@
+package com.ecommerce.project.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.ecommerce.project.DTO.CacheStatsResponse;
+
+/**
+ * Small in-memory cache bounded by entry count and time-to-live.
+ * Least recently used entries are evicted first once the cache is full.
+ * An optional evictable predicate protects values that must not be dropped yet: a protected entry
+ * neither expires nor gets evicted, and a new entry that finds no room is not stored (see putIfRoom).
+ * Keeps hit/miss/eviction counters so the cache can be sized from real traffic.
+ */
+public class BoundedTtlCache<K, V> {
+
+    // How many of the least recently used entries are looked at for one that may be evicted
+    private static final int MAX_EVICTION_SCAN = 32;
+
+    private final String name;
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final Predicate<V> evictable;
+
+    // Access-ordered map so the eldest entry is always the least recently used one
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Bumped on every invalidation so loads that started earlier don't store stale results
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public BoundedTtlCache(String name, int maxEntries, Duration ttl) {
+        this(name, maxEntries, ttl, value -> true);
+    }
+
+    public BoundedTtlCache(String name, int maxEntries, Duration ttl, Predicate<V> evictable) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+        this.evictable = evictable;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Returns the cached value for the key, or null when absent or expired.
+     */
+    public V get(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (isExpired(entry, System.nanoTime())) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Stores a value, evicting the least recently used entry if the cache is full.
+     */
+    public void put(K key, V value) {
+        synchronized (entries) {
+            storeEntry(key, value);
+        }
+    }
+
+    /**
+     * Stores a value only if the key is not already cached (or its entry has expired).
+     * Returns the existing value when there is one, otherwise null.
+     */
+    public V putIfAbsent(K key, V value) {
+        synchronized (entries) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && !isExpired(existing, System.nanoTime())) {
+                return existing.value;
+            }
+            storeEntry(key, value);
+            return null;
+        }
+    }
+
+    /**
+     * Like putIfAbsent, but says whether the value found room: returns the value now cached for the key
+     * (the existing one or the new one), or null when the cache is full of entries that may not be evicted.
+     */
+    public V putIfRoom(K key, V value) {
+        synchronized (entries) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && !isExpired(existing, System.nanoTime())) {
+                return existing.value;
+            }
+            return storeEntry(key, value) ? value : null;
+        }
+    }
+
+    /**
+     * Read-through lookup: returns the cached value or loads, caches and returns a fresh one.
+     * The loader runs outside the lock so slow loads never block other readers.
+     * A null result from the loader is returned but not cached.
+     */
+    public V getOrLoad(K key, Supplier<V> loader) {
+        V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generationBeforeLoad = generation.get();
+        V loaded = loader.get();
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation.get() == generationBeforeLoad) {
+                    storeEntry(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    // Removes a single key from the cache
+    public void invalidate(K key) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    /**
+     * Removes every entry whose key matches the predicate.
+     * Returns how many entries were dropped.
+     */
+    public int invalidateIf(Predicate<K> keyPredicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            int removed = 0;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (keyPredicate.test(iterator.next().getKey())) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            invalidations.add(removed);
+            return removed;
+        }
+    }
+
+    /**
+     * Removes every entry whose key and value match the predicate.
+     * Returns how many entries were dropped.
+     */
+    public int invalidateEntriesIf(BiPredicate<K, V> entryPredicate) {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            int removed = 0;
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> entry = iterator.next();
+                if (entryPredicate.test(entry.getKey(), entry.getValue().value)) {
+                    iterator.remove();
+                    removed++;
+                }
+            }
+            invalidations.add(removed);
+            return removed;
+        }
+    }
+
+    // Removes everything from the cache
+    public void invalidateAll() {
+        synchronized (entries) {
+            generation.incrementAndGet();
+            invalidations.add(entries.size());
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Snapshot of the cache counters for monitoring endpoints.
+     */
+    public CacheStatsResponse stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        double hitRatio = lookups == 0 ? 0.0 : (double) hitCount / lookups;
+
+        return new CacheStatsResponse(name, size(), maxEntries, Duration.ofNanos(ttlNanos).toSeconds(),
+                hitCount, missCount, hitRatio, evictions.sum(), expirations.sum(), invalidations.sum());
+    }
+
+    // Returns false when nothing could be evicted to make room, in which case the entry is not kept
+    private boolean storeEntry(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        if (evictOverflow(key)) {
+            return true;
+        }
+        entries.remove(key);
+        return false;
+    }
+
+    // The entry just stored is the one looking for room, so it is never the one evicted
+    private boolean evictOverflow(K storedKey) {
+        Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+        int scanned = 0;
+        while (entries.size() > maxEntries && iterator.hasNext() && scanned++ < MAX_EVICTION_SCAN) {
+            Map.Entry<K, Entry<V>> candidate = iterator.next();
+            if (!candidate.getKey().equals(storedKey) && evictable.test(candidate.getValue().value)) {
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+        return entries.size() <= maxEntries;
+    }
+
+    private boolean isExpired(Entry<V> entry, long nowNanos) {
+        return entry.isExpired(nowNanos) && evictable.test(entry.value);
+    }
+
+    // Cached value plus the moment it stops being valid
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+}
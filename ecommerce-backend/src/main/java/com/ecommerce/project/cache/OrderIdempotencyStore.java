@@ -0,0 +1,114 @@
+package com.ecommerce.project.cache;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+import com.ecommerce.project.errorHandler.UnprocessableRequestException;
+
+/**
+ * Remembers the result of each order placed with an Idempotency-Key header,
+ * so a client retrying checkout gets the original order back instead of a duplicate.
+ * Asynchronous submissions are remembered by their order reference, for as long as their status is kept.
+ * Keys are scoped to the user and kept in bounded, TTL-evicting caches; an attempt still running is never evicted.
+ * A key reused for a different request is rejected rather than answered with the first request's result.
+ */
+@Component
+public class OrderIdempotencyStore {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    // Holds a future per key so a retry that arrives while the first attempt is still running waits for it
+    private final BoundedTtlCache<IdempotencyKey, Attempt<OrderDto>> placedOrders;
+    private final BoundedTtlCache<IdempotencyKey, Attempt<String>> submittedOrders;
+
+    public OrderIdempotencyStore(@Value("${orders.idempotency.max-entries:10000}") int maxEntries,
+                                 @Value("${orders.idempotency.ttl-seconds:86400}") long ttlSeconds,
+                                 @Value("${orders.async.status-ttl-seconds:3600}") long asyncStatusTtlSeconds) {
+        this.placedOrders = new BoundedTtlCache<>("orderIdempotency", maxEntries, Duration.ofSeconds(ttlSeconds),
+                Attempt::isDone);
+        // A reference is only useful while its status can still be polled
+        this.submittedOrders = new BoundedTtlCache<>("asyncOrderIdempotency", maxEntries,
+                Duration.ofSeconds(Math.min(ttlSeconds, asyncStatusTtlSeconds)), Attempt::isDone);
+    }
+
+    /**
+     * Places the order at most once per (user, key): the first call runs placeOrder,
+     * later calls with the same key and an equal request fingerprint return its result without running it again.
+     * A failed attempt is forgotten so the client can retry it with the same key.
+     */
+    public OrderDto placeOnce(String userEmail, String idempotencyKey, Object requestFingerprint, Supplier<OrderDto> placeOrder) {
+        return runOnce(placedOrders, userEmail, idempotencyKey, requestFingerprint, placeOrder);
+    }
+
+    /**
+     * Queues an asynchronous order at most once per (user, key): the first call runs submitOrder,
+     * later calls with the same key (and an equal fingerprint) get the order reference it returned,
+     * so they can report that request's status. A rejected submission is forgotten so the client can retry it.
+     */
+    public String submitOnce(String userEmail, String idempotencyKey, Object requestFingerprint, Supplier<String> submitOrder) {
+        return runOnce(submittedOrders, userEmail, idempotencyKey, requestFingerprint, submitOrder);
+    }
+
+    // The fingerprint is compared with equals, so it should hold every request value that affects the order
+    private <T> T runOnce(BoundedTtlCache<IdempotencyKey, Attempt<T>> results, String userEmail,
+                          String idempotencyKey, Object requestFingerprint, Supplier<T> operation) {
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new APIErrorHandler("The Idempotency-Key header must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        IdempotencyKey key = new IdempotencyKey(userEmail, idempotencyKey);
+        Attempt<T> ownAttempt = new Attempt<>(requestFingerprint, new CompletableFuture<>());
+        Attempt<T> storedAttempt = results.putIfRoom(key, ownAttempt);
+        if (storedAttempt == null) {
+            // Every remembered key belongs to an order still being placed
+            throw new TooManyRequestsException("Too many orders are being placed right now, please try again shortly");
+        }
+        if (storedAttempt != ownAttempt) {
+            if (!Objects.equals(storedAttempt.requestFingerprint(), requestFingerprint)) {
+                throw new UnprocessableRequestException("This Idempotency-Key was already used for a different order request");
+            }
+            return awaitResult(storedAttempt.result());
+        }
+
+        try {
+            T result = operation.get();
+            ownAttempt.result().complete(result);
+            return result;
+        } catch (RuntimeException exception) {
+            results.invalidate(key);
+            ownAttempt.result().completeExceptionally(exception);
+            throw exception;
+        }
+    }
+
+    // Waits for an earlier attempt and rethrows its error as-is if it failed
+    private <T> T awaitResult(CompletableFuture<T> earlierAttempt) {
+        try {
+            return earlierAttempt.join();
+        } catch (CompletionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw exception;
+        }
+    }
+
+    private record IdempotencyKey(String userEmail, String key) {
+    }
+
+    // The request a key was first used for, and its outcome
+    private record Attempt<T>(Object requestFingerprint, CompletableFuture<T> result) {
+        boolean isDone() {
+            return result.isDone();
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.ecommerce.project.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DTO.CacheStatsResponse;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.DTO.ProductResponse;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.search.ProductTextAnalyzer;
+
+/**
+ * Read-through cache for storefront product listings.
+ * Entries are keyed by the full filter/sort/page tuple of a listing request.
+ * Product writes only drop the entries whose result set could contain the changed product;
+ * checkout drops the entries showing a product whose stock it took.
+ * Callers get their own copy of a cached listing, so changing it (e.g. rewriting image URLs) never reaches the cache.
+ */
+@Component
+public class ProductCatalogCache {
+
+    private final BoundedTtlCache<CatalogQuery, ProductResponse> listings;
+
+    public ProductCatalogCache(@Value("${catalog.cache.max-entries:500}") int maxEntries,
+                               @Value("${catalog.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.listings = new BoundedTtlCache<>("productCatalog", maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Returns a copy of the cached listing for the query, or runs the loader and caches its result.
+     */
+    public ProductResponse getOrLoad(CatalogQuery query, Supplier<ProductResponse> loader) {
+        return copyOf(listings.getOrLoad(query, loader));
+    }
+
+    /**
+     * Drops every listing that could have contained the product before or after the write.
+     * Pass null for the side that doesn't exist (before for adds, after for deletes).
+     */
+    public void productChanged(ProductSnapshot before, ProductSnapshot after) {
+        listings.invalidateIf(query -> query.couldContain(before) || query.couldContain(after));
+    }
+
+    /**
+     * Drops every listing showing one of the products, whose stock just changed, and every listing sorted
+     * by stock, since the change can move a product onto a page it wasn't on.
+     */
+    public void stockChanged(Collection<Long> productIds) {
+        listings.invalidateEntriesIf((query, listing) -> query.sortBy().equals("quantity")
+                || listing.getContent().stream().anyMatch(product -> productIds.contains(product.getProductId())));
+    }
+
+    /**
+     * Drops every listing filtered by the given category (by id or by any of its names).
+     * Used when a category is renamed.
+     */
+    public void categoryChanged(Long categoryId, String... categoryNames) {
+        listings.invalidateIf(query -> query.isFilteredByCategory(categoryId, categoryNames));
+    }
+
+    // Drops all listings (e.g. when a whole category and its products are deleted)
+    public void invalidateAll() {
+        listings.invalidateAll();
+    }
+
+    public CacheStatsResponse stats() {
+        return listings.stats();
+    }
+
+    private static ProductResponse copyOf(ProductResponse listing) {
+        if (listing == null) {
+            return null;
+        }
+        List<ProductDTO> products = new ArrayList<>(listing.getContent().size());
+        for (ProductDTO product : listing.getContent()) {
+            products.add(new ProductDTO(product.getProductId(), product.getProductName(), product.getModel(),
+                    product.getImage(), product.getDescription(), product.getQuantity(), product.getPrice()));
+        }
+        ProductResponse copy = new ProductResponse(products, listing.getPageNumber(), listing.getPageSize(),
+                listing.getTotalElements(), listing.getTotalPages(), listing.isLastPage());
+        copy.setNextCursor(listing.getNextCursor());
+        return copy;
+    }
+
+    /**
+     * Captures the fields of a product that decide which listings it shows up in.
+     */
+    public record ProductSnapshot(Long categoryId, String categoryName, String productName, String model,
+                                  String description) {
+
+        public static ProductSnapshot of(Product product) {
+            Category category = product.getCategory();
+            return new ProductSnapshot(
+                    category != null ? category.getCategoryId() : null,
+                    category != null ? category.getCategoryName() : null,
+                    product.getProductName(),
+                    product.getModel(),
+                    product.getDescription());
+        }
+    }
+
+    /**
+     * Cache key: which listing was requested plus every filter, sort and paging parameter.
+     * Null filters mean "not filtered on this field"; a null cursor means page-number paging.
+     */
+    public record CatalogQuery(QueryType type, Long categoryId, String categoryName, String keyword, String model,
+                               int pageNumber, int pageSize, String sortBy, String sortOrder, String cursor) {
+
+        // Key for GET /api/products
+        public static CatalogQuery forListing(String keyword, String categoryName, String model, Integer pageNumber,
+                                              Integer pageSize, String sortBy, String sortOrder, String cursor) {
+            return new CatalogQuery(QueryType.LISTING, null, emptyToNull(categoryName), emptyToNull(keyword),
+                    emptyToNull(model), pageNumber, pageSize, sortBy, normalizeSortOrder(sortOrder), cursor);
+        }
+
+        // Key for GET /api/categories/{categoryId}/products
+        public static CatalogQuery forCategory(Long categoryId, Integer pageNumber, Integer pageSize,
+                                               String sortBy, String sortOrder) {
+            return new CatalogQuery(QueryType.CATEGORY, categoryId, null, null, null,
+                    pageNumber, pageSize, sortBy, normalizeSortOrder(sortOrder), null);
+        }
+
+        // Key for GET /api/products/search
+        public static CatalogQuery forKeyword(String keyword, Integer pageNumber, Integer pageSize,
+                                              String sortBy, String sortOrder) {
+            return new CatalogQuery(QueryType.KEYWORD, null, null, keyword, null,
+                    pageNumber, pageSize, sortBy, normalizeSortOrder(sortOrder), null);
+        }
+
+        /**
+         * True if the product passes every filter of this listing, i.e. it could appear in the result.
+         * Mirrors the matching rules of the queries in IProductServiceImpl.
+         */
+        boolean couldContain(ProductSnapshot product) {
+            if (product == null) {
+                return false;
+            }
+            if (categoryId != null && !categoryId.equals(product.categoryId())) {
+                return false;
+            }
+            if (categoryName != null && !categoryNameMatches(product.categoryName())) {
+                return false;
+            }
+            if (keyword != null && !ProductTextAnalyzer.couldMatch(keyword, product.productName(), product.model(), product.description())) {
+                return false;
+            }
+            return model == null || ProductTextAnalyzer.couldMatch(model, product.model());
+        }
+
+        boolean isFilteredByCategory(Long changedCategoryId, String... changedCategoryNames) {
+            if (categoryId != null && categoryId.equals(changedCategoryId)) {
+                return true;
+            }
+            if (categoryName == null) {
+                return false;
+            }
+            for (String changedName : changedCategoryNames) {
+                if (categoryNameMatches(changedName)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // The listing filter is a LIKE pattern; treat patterns with wildcards as matching anything
+        private boolean categoryNameMatches(String productCategoryName) {
+            if (categoryName.indexOf('%') >= 0 || categoryName.indexOf('_') >= 0) {
+                return true;
+            }
+            return categoryName.equals(productCategoryName);
+        }
+
+        private static String emptyToNull(String value) {
+            return (value == null || value.isEmpty()) ? null : value;
+        }
+
+        private static String normalizeSortOrder(String sortOrder) {
+            return sortOrder.equalsIgnoreCase("asc") ? "asc" : "desc";
+        }
+    }
+
+    // Which listing endpoint a cached entry belongs to
+    public enum QueryType {
+        LISTING,
+        CATEGORY,
+        KEYWORD
+    }
+}
@@ -0,0 +1,50 @@
+package com.ecommerce.project.cache;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DTO.CacheStatsResponse;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.helper.TransactionHooks;
+
+/**
+ * Read-through cache of UserDetails by username, so active shoppers don't cost a users/roles join
+ * on every authentication. Entries expire after a short TTL and are dropped as soon as a change to
+ * the user's name, roles or credentials commits.
+ */
+@Component
+public class UserDetailsCache {
+
+    private final BoundedTtlCache<String, UserDetailsImpl> usersByName;
+
+    public UserDetailsCache(@Value("${auth.user-cache.max-entries:10000}") int maxEntries,
+                            @Value("${auth.user-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.usersByName = new BoundedTtlCache<>("userDetails", maxEntries, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Returns the cached user for the username, or runs the loader and caches its result.
+     */
+    public UserDetailsImpl getOrLoad(String username, Supplier<UserDetailsImpl> loader) {
+        return usersByName.getOrLoad(username, loader);
+    }
+
+    /**
+     * Drops the cached users once the current transaction commits (right away without one).
+     * Evicting after the commit means a concurrent lookup can't re-cache the old data.
+     */
+    public void evict(String... usernames) {
+        TransactionHooks.afterCommit(() -> {
+            for (String username : usernames) {
+                usersByName.invalidate(username);
+            }
+        });
+    }
+
+    public CacheStatsResponse stats() {
+        return usersByName.stats();
+    }
+}
@@ -0,0 +1,673 @@
+package com.ecommerce.project.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.helper.TransactionHooks;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.ICartServiceImpl;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-memory copy of active carts, keyed by user ID, for the write-behind cart service.
+ * A cart is loaded from the database on first use; changes are made in memory under the cart's own lock
+ * and written back later, many changes to a cart becoming one write and many carts sharing one transaction.
+ * Writes of the same cart are serialized by a second per-cart lock, so shoppers never wait on the database.
+ *
+ * Durability is configurable: SCHEDULED writes every flush interval (a crash loses at most that much),
+ * IMMEDIATE writes before each change returns and undoes the change if the write fails.
+ * Each instance has its own copy of a cart, so this store assumes a single instance or sticky sessions.
+ */
+@Component
+@ConditionalOnProperty(name = "cart.store", havingValue = "write-behind")
+public class WriteBehindCartStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(WriteBehindCartStore.class);
+
+    public enum Durability { SCHEDULED, IMMEDIATE }
+
+    /**
+     * One cart line: the product as shown in the cart, the quantity, and the price the line is charged at.
+     */
+    public record CartLine(ProductDTO product, int quantity, double price) {
+        public CartLine {
+            product = copy(product);
+        }
+
+        // Product as shown in the cart; a fresh copy each time since DTOs are mutable
+        @Override
+        public ProductDTO product() {
+            return copy(product);
+        }
+
+        private static ProductDTO copy(ProductDTO product) {
+            return new ProductDTO(product.getProductId(), product.getProductName(), product.getModel(), product.getImage(),
+                    product.getDescription(), product.getQuantity(), product.getPrice());
+        }
+    }
+
+    /**
+     * A user's cart as held in memory. Lines may only be read or changed inside the store's callbacks.
+     */
+    public static final class CartState {
+        private final Long userId;
+        private final String email;
+        private final Long cartId;
+        private final Map<Long, CartLine> lines;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ReentrantLock flushLock = new ReentrantLock();
+        // Quantity per product as last written to (or loaded from) the database
+        private Map<Long, Integer> storedQuantities;
+        private long changeCount;
+        // Also read without the lock when picking carts to flush
+        private volatile boolean dirty;
+        private boolean evicted;
+        private long lastAccessMillis = System.currentTimeMillis();
+
+        private CartState(Long userId, String email, Long cartId, Map<Long, CartLine> lines) {
+            this.userId = userId;
+            this.email = email;
+            this.cartId = cartId;
+            this.lines = lines;
+            this.storedQuantities = quantitiesOf(lines);
+        }
+
+        public Long cartId() {
+            return cartId;
+        }
+
+        // Lines keyed by product ID, in the order they were added
+        public Map<Long, CartLine> lines() {
+            return lines;
+        }
+    }
+
+    // What a flush writes for one cart, copied under the cart's lock
+    private record CartSnapshot(CartState state, long changeCount, Map<Long, Integer> quantities, Map<Long, Double> linePrices) {
+    }
+
+    // A change's result, or not applied because the cart was evicted before its lock was taken
+    private record ChangeResult<T>(boolean applied, T value) {
+    }
+
+    private final Map<Long, CartState> cartsByUserId = new ConcurrentHashMap<>();
+    private final Map<Long, CartState> cartsByCartId = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdsByEmail = new ConcurrentHashMap<>();
+    // Loads in progress, so concurrent first requests for a user share one load (and create one cart)
+    private final Map<Long, CompletableFuture<CartState>> pendingLoads = new ConcurrentHashMap<>();
+    private final CartDAO cartDAO;
+    private final ProductDAO productDAO;
+    private final ICartServiceImpl databaseCartService;
+    private final TransactionTemplate flushTransaction;
+    private final Durability durability;
+    private final int batchSize;
+    private final long idleMillis;
+
+    public WriteBehindCartStore(CartDAO cartDAO, ProductDAO productDAO, ICartServiceImpl databaseCartService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${cart.write-behind.durability:scheduled}") String durability,
+                                @Value("${cart.write-behind.batch-size:100}") int batchSize,
+                                @Value("${cart.write-behind.idle-seconds:1800}") long idleSeconds) {
+        this.cartDAO = cartDAO;
+        this.productDAO = productDAO;
+        this.databaseCartService = databaseCartService;
+        // Own transaction, so a flush before checkout is committed even if the order then rolls back
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.durability = Durability.valueOf(durability.trim().toUpperCase(Locale.ROOT));
+        this.batchSize = Math.max(1, batchSize);
+        this.idleMillis = idleSeconds * 1000;
+    }
+
+    /**
+     * Reads the user's cart under its lock, loading it from the database if needed.
+     * Returns null when the user has no cart.
+     */
+    public <T> T read(Long userId, String email, Function<CartState, T> view) {
+        while (true) {
+            CartState state = loadState(userId, email, null);
+            if (state == null) {
+                return null;
+            }
+            state.lock.lock();
+            try {
+                // Evicted between lookup and lock: use the reloaded copy instead
+                if (!state.evicted) {
+                    state.lastAccessMillis = System.currentTimeMillis();
+                    return view.apply(state);
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Changes the user's cart under its lock and marks it for writing back.
+     * A missing cart is created through cartOwner, or is a 404 when cartOwner is null.
+     * If the change throws, nothing is marked; changes must validate before they modify the lines.
+     */
+    public <T> T update(Long userId, String email, Supplier<User> cartOwner, Function<CartState, T> change) {
+        while (true) {
+            CartState state = loadState(userId, email, cartOwner);
+            if (state == null) {
+                throw new ResourceNotFoundException("Cart", "cartId", "Not Found");
+            }
+            ChangeResult<T> result = applyChange(state, change);
+            if (result.applied()) {
+                return result.value();
+            }
+        }
+    }
+
+    /**
+     * Changes a cart only if it is held in memory, returning the change's result;
+     * returns empty (doing nothing) when it isn't. Like update, a change that throws marks nothing.
+     */
+    public <T> Optional<T> updateIfLoaded(Long cartId, Function<CartState, T> change) {
+        CartState state = cartsByCartId.get(cartId);
+        if (state == null) {
+            return Optional.empty();
+        }
+        ChangeResult<T> result = applyChange(state, change);
+        return result.applied() ? Optional.ofNullable(result.value()) : Optional.empty();
+    }
+
+    /**
+     * Writes the user's pending cart changes to the database and waits for the commit.
+     */
+    public void flushUser(String email) {
+        CartState state = findByEmail(email);
+        if (state != null) {
+            flush(List.of(state), true);
+        }
+    }
+
+    /**
+     * Writes the user's pending cart changes before checkout reads the cart. Inside a transaction, no further
+     * write of the cart starts until that transaction ends, so the cart the order reads is the cart it clears.
+     * Shoppers can keep changing the in-memory cart meanwhile; see checkedOut.
+     */
+    public void flushForCheckout(String email) {
+        while (true) {
+            CartState state = findByEmail(email);
+            if (state == null) {
+                // Loaded now so that a load during the checkout can't bring in a copy the hold doesn't cover
+                Cart storedCart = cartDAO.fetchCartByUserEmail(email);
+                state = storedCart != null ? loadState(storedCart.getUser().getUserId(), email, null) : null;
+                if (state == null) {
+                    return;
+                }
+            }
+            state.flushLock.lock();
+            // Evicting takes the flush lock, so once it is held the cart stays resident
+            if (state.evicted) {
+                state.flushLock.unlock();
+                continue;
+            }
+            try {
+                flush(List.of(state), true);
+            } finally {
+                TransactionHooks.afterCompletion(state.flushLock::unlock);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Called by checkout after it deleted the cart's stored lines. Once the order commits, the lines it bought
+     * are taken out of the in-memory cart; anything added or increased since the checkout flush stays, to be
+     * written by the next flush. Nothing changes if the order rolls back.
+     */
+    public void checkedOut(Long cartId) {
+        CartState state = cartsByCartId.get(cartId);
+        if (state == null) {
+            return;
+        }
+        // Held until the order ends, so no flush can write the bought lines back in the meantime;
+        // checkout called flushForCheckout first, so this thread already holds it
+        state.flushLock.lock();
+        TransactionHooks.afterCommit(() -> removePurchasedLines(state));
+        TransactionHooks.afterCompletion(state.flushLock::unlock);
+    }
+
+    /**
+     * Called by product deletion before the product's stored lines are deleted. Once the deletion commits,
+     * the product leaves every cart held in memory; until then the carts holding it can't be written,
+     * so no flush puts the line back in between. Nothing changes if the deletion rolls back.
+     */
+    public void productDeleted(Long productId) {
+        // Locked in user ID order, like flush, so the two can't deadlock
+        List<CartState> holdingCarts = cartsByUserId.values().stream()
+                .filter(state -> holdsProduct(state, productId))
+                .sorted(Comparator.comparing(state -> state.userId))
+                .toList();
+        for (CartState state : holdingCarts) {
+            state.flushLock.lock();
+            TransactionHooks.afterCommit(() -> removeDeletedProducts(state, Set.of(productId)));
+            TransactionHooks.afterCompletion(state.flushLock::unlock);
+        }
+    }
+
+    /**
+     * Writes every pending cart change to the database, waiting for carts that are being written already.
+     */
+    public void flushAll() {
+        flushDirty(true);
+    }
+
+    /**
+     * Writes pending changes in batches, then drops carts that are fully written and have been idle a while.
+     * Carts held by a checkout or another write are left for the next run.
+     */
+    @Scheduled(fixedDelayString = "${cart.write-behind.flush-interval-ms:2000}")
+    public void flushDirtyCarts() {
+        flushDirty(false);
+        long idleSince = System.currentTimeMillis() - idleMillis;
+        for (CartState state : cartsByUserId.values()) {
+            if (state.flushLock.tryLock()) {
+                try {
+                    evictIfIdle(state, idleSince);
+                } finally {
+                    state.flushLock.unlock();
+                }
+            }
+        }
+    }
+
+    // Nothing held only in memory should be lost on a normal shutdown
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushAll();
+    }
+
+    private <T> ChangeResult<T> applyChange(CartState state, Function<CartState, T> change) {
+        if (durability == Durability.IMMEDIATE) {
+            // The change and its write happen as one step, so a failed write can be undone
+            state.flushLock.lock();
+        }
+        try {
+            T result;
+            Map<Long, CartLine> linesBefore;
+            boolean dirtyBefore;
+            state.lock.lock();
+            try {
+                if (state.evicted) {
+                    return new ChangeResult<>(false, null);
+                }
+                linesBefore = durability == Durability.IMMEDIATE ? new LinkedHashMap<>(state.lines) : null;
+                dirtyBefore = state.dirty;
+                result = change.apply(state);
+                state.changeCount++;
+                state.dirty = true;
+                state.lastAccessMillis = System.currentTimeMillis();
+            } finally {
+                state.lock.unlock();
+            }
+            if (durability == Durability.IMMEDIATE) {
+                writeOrUndo(state, linesBefore, dirtyBefore);
+            }
+            return new ChangeResult<>(true, result);
+        } finally {
+            if (durability == Durability.IMMEDIATE) {
+                state.flushLock.unlock();
+            }
+        }
+    }
+
+    // IMMEDIATE mode: a change the database refused must not be written later, so the lines are put back
+    private void writeOrUndo(CartState state, Map<Long, CartLine> linesBefore, boolean dirtyBefore) {
+        try {
+            flush(List.of(state), true);
+        } catch (RuntimeException writeFailure) {
+            state.lock.lock();
+            try {
+                state.lines.clear();
+                state.lines.putAll(linesBefore);
+                state.changeCount++;
+                state.dirty = dirtyBefore;
+            } finally {
+                state.lock.unlock();
+            }
+            throw writeFailure;
+        }
+    }
+
+    private CartState loadState(Long userId, String email, Supplier<User> cartOwner) {
+        while (true) {
+            CartState state = cartsByUserId.get(userId);
+            if (state != null) {
+                return state;
+            }
+
+            // The database is read outside the maps, so a slow load never blocks other users' carts
+            CompletableFuture<CartState> load = new CompletableFuture<>();
+            CompletableFuture<CartState> runningLoad = pendingLoads.putIfAbsent(userId, load);
+            if (runningLoad != null) {
+                state = awaitLoad(runningLoad);
+                // The other load may have been a read that found no cart; try again if this one may create it
+                if (state != null || cartOwner == null) {
+                    return state;
+                }
+                continue;
+            }
+
+            try {
+                state = cartsByUserId.get(userId);
+                if (state == null) {
+                    state = loadFromDatabase(userId, email, cartOwner);
+                    if (state != null) {
+                        register(state);
+                    }
+                }
+                load.complete(state);
+                return state;
+            } catch (RuntimeException loadFailure) {
+                load.completeExceptionally(loadFailure);
+                throw loadFailure;
+            } finally {
+                pendingLoads.remove(userId, load);
+            }
+        }
+    }
+
+    private CartState awaitLoad(CompletableFuture<CartState> runningLoad) {
+        try {
+            return runningLoad.join();
+        } catch (CompletionException loadFailure) {
+            if (loadFailure.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw loadFailure;
+        }
+    }
+
+    private CartState loadFromDatabase(Long userId, String email, Supplier<User> cartOwner) {
+        Optional<Cart> storedCart = cartDAO.fetchCartWithItemsByUserId(userId);
+        if (storedCart.isPresent()) {
+            return toState(userId, email, storedCart.get());
+        }
+        return cartOwner != null ? toState(userId, email, createCart(cartOwner.get())) : null;
+    }
+
+    private Cart createCart(User owner) {
+        Cart newCart = new Cart();
+        newCart.setUser(owner);
+        return cartDAO.save(newCart);
+    }
+
+    private CartState toState(Long userId, String email, Cart cart) {
+        Map<Long, CartLine> lines = new LinkedHashMap<>();
+        for (CartItem item : cart.getCartItems()) {
+            lines.put(item.getProduct().getProductId(),
+                    new CartLine(ProductMapper.toDto(item.getProduct()), item.getQty(), item.getProductPrice()));
+        }
+        return new CartState(userId, email, cart.getCartId(), lines);
+    }
+
+    private void register(CartState state) {
+        cartsByCartId.put(state.cartId, state);
+        if (state.email != null) {
+            userIdsByEmail.put(state.email, state.userId);
+        }
+        cartsByUserId.put(state.userId, state);
+    }
+
+    private CartState findByEmail(String email) {
+        Long userId = userIdsByEmail.get(email);
+        return userId != null ? cartsByUserId.get(userId) : null;
+    }
+
+    // Caller holds the flush lock, so no write of the cart is running
+    private void evict(CartState state) {
+        state.lock.lock();
+        try {
+            state.evicted = true;
+            cartsByUserId.remove(state.userId, state);
+            cartsByCartId.remove(state.cartId, state);
+            if (state.email != null) {
+                userIdsByEmail.remove(state.email, state.userId);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    // Only carts with nothing left to write are dropped
+    private void evictIfIdle(CartState state, long idleSince) {
+        state.lock.lock();
+        try {
+            if (!state.dirty && state.lastAccessMillis < idleSince) {
+                evict(state);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private boolean holdsProduct(CartState state, Long productId) {
+        state.lock.lock();
+        try {
+            return state.lines.containsKey(productId);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    // The products' stored lines are gone too, so this alone doesn't make the cart dirty
+    private void removeDeletedProducts(CartState state, Set<Long> productIds) {
+        state.lock.lock();
+        try {
+            if (state.evicted) {
+                return;
+            }
+            state.lines.keySet().removeAll(productIds);
+            Map<Long, Integer> storedQuantities = new LinkedHashMap<>(state.storedQuantities);
+            storedQuantities.keySet().removeAll(productIds);
+            state.storedQuantities = storedQuantities;
+            state.changeCount++;
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void removePurchasedLines(CartState state) {
+        state.lock.lock();
+        try {
+            if (state.evicted) {
+                return;
+            }
+            Iterator<Map.Entry<Long, CartLine>> lineIterator = state.lines.entrySet().iterator();
+            while (lineIterator.hasNext()) {
+                Map.Entry<Long, CartLine> line = lineIterator.next();
+                Integer purchasedQuantity = state.storedQuantities.get(line.getKey());
+                if (purchasedQuantity == null) {
+                    continue;
+                }
+                int remainingQuantity = line.getValue().quantity() - purchasedQuantity;
+                if (remainingQuantity > 0) {
+                    CartLine addedSinceCheckout = line.getValue();
+                    line.setValue(new CartLine(addedSinceCheckout.product(), remainingQuantity, addedSinceCheckout.price()));
+                } else {
+                    lineIterator.remove();
+                }
+            }
+            // The stored cart is empty now; whatever is left in memory still has to be written
+            state.storedQuantities = Map.of();
+            state.changeCount++;
+            state.dirty = !state.lines.isEmpty();
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private void flushDirty(boolean waitForBusyCarts) {
+        List<CartState> dirtyCarts = cartsByUserId.values().stream()
+                .filter(state -> state.dirty)
+                .toList();
+        for (int start = 0; start < dirtyCarts.size(); start += batchSize) {
+            List<CartState> batch = dirtyCarts.subList(start, Math.min(start + batchSize, dirtyCarts.size()));
+            try {
+                flush(batch, waitForBusyCarts);
+            } catch (RuntimeException batchFailure) {
+                // One bad cart fails the whole transaction; retry one by one so the others still get written
+                logger.warn("Cart batch flush failed, retrying carts one at a time", batchFailure);
+                batch.forEach(state -> flushOrKeep(state, waitForBusyCarts));
+            }
+        }
+    }
+
+    // A cart that still can't be written stays dirty, so its changes are retried by the next flush
+    private void flushOrKeep(CartState state, boolean waitForBusyCart) {
+        if (!lockForFlush(state, waitForBusyCart)) {
+            return;
+        }
+        try {
+            flush(List.of(state), true);
+        } catch (RuntimeException cartFailure) {
+            // A product deleted after it went into the cart can never be written; drop just those lines
+            if (!dropDeletedProducts(state)) {
+                logger.error("Could not write cart {}; keeping its changes for the next flush", state.cartId, cartFailure);
+                return;
+            }
+            try {
+                flush(List.of(state), true);
+            } catch (RuntimeException retryFailure) {
+                logger.error("Could not write cart {}; keeping its changes for the next flush", state.cartId, retryFailure);
+            }
+        } finally {
+            state.flushLock.unlock();
+        }
+    }
+
+    // Returns whether any line was dropped
+    private boolean dropDeletedProducts(CartState state) {
+        Set<Long> productIds;
+        state.lock.lock();
+        try {
+            productIds = Set.copyOf(state.lines.keySet());
+        } finally {
+            state.lock.unlock();
+        }
+        Set<Long> existingIds = productDAO.findAllById(productIds).stream()
+                .map(Product::getProductId)
+                .collect(Collectors.toSet());
+        Set<Long> deletedIds = productIds.stream()
+                .filter(productId -> !existingIds.contains(productId))
+                .collect(Collectors.toSet());
+        if (deletedIds.isEmpty()) {
+            return false;
+        }
+        logger.warn("Dropping deleted products {} from cart {}", deletedIds, state.cartId);
+        removeDeletedProducts(state, deletedIds);
+        return true;
+    }
+
+    private boolean lockForFlush(CartState state, boolean waitForBusyCart) {
+        if (waitForBusyCart) {
+            state.flushLock.lock();
+            return true;
+        }
+        return state.flushLock.tryLock();
+    }
+
+    // Writes the given carts in one transaction; the flush locks keep two writes of a cart from crossing.
+    // Without waiting, carts whose flush lock is taken (being written, or held by a checkout) are skipped.
+    private void flush(List<CartState> states, boolean waitForBusyCarts) {
+        // Always lock in user ID order so concurrent flushes can't deadlock
+        List<CartState> ordered = new ArrayList<>(states);
+        ordered.sort(Comparator.comparing(state -> state.userId));
+        List<CartState> flushLocked = new ArrayList<>();
+        try {
+            for (CartState state : ordered) {
+                if (lockForFlush(state, waitForBusyCarts)) {
+                    flushLocked.add(state);
+                }
+            }
+
+            List<CartSnapshot> snapshots = new ArrayList<>();
+            for (CartState state : flushLocked) {
+                CartSnapshot snapshot = snapshot(state);
+                if (snapshot != null) {
+                    snapshots.add(snapshot);
+                }
+            }
+            if (snapshots.isEmpty()) {
+                return;
+            }
+
+            flushTransaction.executeWithoutResult(status -> snapshots.forEach(snapshot ->
+                    databaseCartService.saveCartLines(snapshot.state().cartId, snapshot.quantities(), snapshot.linePrices())));
+
+            // Clean only if nothing changed while the write was running
+            for (CartSnapshot snapshot : snapshots) {
+                CartState state = snapshot.state();
+                state.lock.lock();
+                try {
+                    state.storedQuantities = snapshot.quantities();
+                    if (state.changeCount == snapshot.changeCount()) {
+                        state.dirty = false;
+                    }
+                } finally {
+                    state.lock.unlock();
+                }
+            }
+        } finally {
+            flushLocked.forEach(state -> state.flushLock.unlock());
+        }
+    }
+
+    private CartSnapshot snapshot(CartState state) {
+        state.lock.lock();
+        try {
+            if (!state.dirty || state.evicted) {
+                return null;
+            }
+            Map<Long, Double> linePrices = new HashMap<>();
+            state.lines.forEach((productId, line) -> linePrices.put(productId, line.price()));
+            return new CartSnapshot(state, state.changeCount, quantitiesOf(state.lines), linePrices);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    private static Map<Long, Integer> quantitiesOf(Map<Long, CartLine> lines) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        lines.forEach((productId, line) -> quantities.put(productId, line.quantity()));
+        return quantities;
+    }
+}
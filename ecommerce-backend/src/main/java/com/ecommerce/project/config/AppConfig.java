@@ -1,26 +1,15 @@
 package com.ecommerce.project.config;
 
-import org.modelmapper.ModelMapper;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 /**
  * Configuration class for application-wide settings.
- * Provides ModelMapper for converting between entities and DTOs,
- * plus default pagination and sorting constants.
+ * Holds default pagination and sorting constants.
+ * Entity/DTO conversion lives in the mapper package (plain getter/setter code, no ModelMapper).
  */
 @Configuration
 public class AppConfig {
 
-    /**
-     * Creates a ModelMapper bean for converting entities to DTOs and vice versa.
-     * This helps keep entity and API layers separate.
-     */
-    @Bean
-    public ModelMapper modelMapper(){
-        return new ModelMapper();
-    }
-
     // Default pagination settings
     public static final String page_num = "0";         // Start from first page
     public static final String page_size = "10";       // 10 items per page
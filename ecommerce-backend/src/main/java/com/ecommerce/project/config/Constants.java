@@ -18,5 +18,6 @@ public class Constants {
     public static final String users_sort_by = "userId";
     public static final String category_sortBy = "categoryId";
     public static final String products_sortBy = "productId";
+    public static final String search_sortBy = "relevance";     // Best keyword matches first
 
 }
@@ -0,0 +1,77 @@
+package com.ecommerce.project.config;
+
+import java.sql.DatabaseMetaData;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the partial unique indexes JPA annotations can't express (hibernate ddl-auto only makes plain ones),
+ * and the unique indexes ddl-auto can't add to existing tables until older duplicate rows are cleaned up.
+ * Only runs on PostgreSQL; on other databases (e.g. H2 in tests) the schema is created fresh from the entities.
+ */
+@Component
+public class PartialIndexInitializer implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartialIndexInitializer.class);
+
+    // At most one default payment card per user
+    private static final String ONE_DEFAULT_CARD_INDEX =
+            "CREATE UNIQUE INDEX IF NOT EXISTS ux_payment_cards_one_default_per_user ON payment_cards (user_id) WHERE is_default";
+
+    // Older code could leave several defaults per user; keep the newest so the index can be built
+    private static final String KEEP_NEWEST_DEFAULT_CARD =
+            "UPDATE payment_cards SET is_default = false WHERE is_default AND card_id NOT IN " +
+            "(SELECT MAX(card_id) FROM payment_cards WHERE is_default GROUP BY user_id)";
+
+    // One line per product and cart; same name as CartItem's unique constraint, so it is skipped when that exists
+    private static final String ONE_LINE_PER_PRODUCT_INDEX =
+            "CREATE UNIQUE INDEX IF NOT EXISTS ux_cart_items_cart_product ON cart_items (cart_id, product_id)";
+
+    // Concurrent adds could leave a second line for a product; keep the first one
+    private static final String KEEP_FIRST_CART_LINE =
+            "DELETE FROM cart_items WHERE cart_item_id NOT IN " +
+            "(SELECT MIN(cart_item_id) FROM cart_items GROUP BY cart_id, product_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PartialIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        String databaseName = jdbcTemplate.execute((java.sql.Connection connection) -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            return metaData.getDatabaseProductName();
+        });
+        if (!"PostgreSQL".equalsIgnoreCase(databaseName)) {
+            return;
+        }
+
+        try {
+            int clearedDefaults = jdbcTemplate.update(KEEP_NEWEST_DEFAULT_CARD);
+            if (clearedDefaults > 0) {
+                logger.warn("Cleared {} extra default payment cards before creating the one-default-per-user index", clearedDefaults);
+            }
+            jdbcTemplate.execute(ONE_DEFAULT_CARD_INDEX);
+        } catch (RuntimeException exception) {
+            // The application still works without the index; it only guards against concurrent default switches
+            logger.error("Could not create the one-default-card-per-user index", exception);
+        }
+
+        try {
+            int removedLines = jdbcTemplate.update(KEEP_FIRST_CART_LINE);
+            if (removedLines > 0) {
+                logger.warn("Removed {} duplicate cart lines before creating the one-line-per-product index", removedLines);
+            }
+            jdbcTemplate.execute(ONE_LINE_PER_PRODUCT_INDEX);
+        } catch (RuntimeException exception) {
+            // Without it, concurrent adds of the same product can create a second line again
+            logger.error("Could not create the one-line-per-product cart index", exception);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Turns on @Scheduled background jobs (e.g. the analytics counter reconciliation).
+ * Spring Boot's scheduler runs them on spring.task.scheduling.pool.size threads; keep that at least
+ * the number of jobs, or a slow one (a recount, a rollup backfill) holds up deny-list refreshes and cart flushes.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
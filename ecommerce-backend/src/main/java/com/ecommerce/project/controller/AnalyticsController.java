@@ -1,15 +1,22 @@
 package com.ecommerce.project.controller;
 
+import com.ecommerce.project.DTO.APIResponse;
 import com.ecommerce.project.DTO.AnalyticsResponse;
+import com.ecommerce.project.DTO.BestSellerResponse;
+import com.ecommerce.project.DTO.SalesRollupResponse;
 import com.ecommerce.project.service.Interface.IAnalyticsService;
+import java.time.LocalDate;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 /**
  * Controller for admin analytics
- * Provides dashboard statistics like total products, orders, and revenue
+ * Provides dashboard statistics like total products, orders, and revenue, plus sales over time
  * Base URL: /api
  */
 @RestController
@@ -32,4 +39,46 @@ public class AnalyticsController {
         AnalyticsResponse response = IAnalyticsService.getAnalytics();
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get sales per category over time for the admin dashboard
+     * Endpoint: GET /api/admin/analytics/sales?granularity=day&from=2025-01-01&to=2025-01-31
+     * Returns orders, revenue and units per category for each hour or day in the range (both dates inclusive)
+     * Optional categoryId limits the result to one category
+     */
+    @GetMapping("/admin/analytics/sales")
+    public ResponseEntity<SalesRollupResponse> salesRollups(
+            @RequestParam(name = "granularity", defaultValue = "day") String granularity,
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "categoryId", required = false) Long categoryId) {
+        SalesRollupResponse response = IAnalyticsService.getSalesRollups(granularity, from, to, categoryId);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Rebuild sales rollups from existing orders
+     * Endpoint: POST /api/admin/analytics/sales/backfill?from=2024-01-01&to=2024-12-31
+     * Recomputes the hourly and daily rollups of complete past days, one day at a time
+     */
+    @PostMapping("/admin/analytics/sales/backfill")
+    public ResponseEntity<APIResponse> backfillSalesRollups(
+            @RequestParam(name = "from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        APIResponse response = IAnalyticsService.backfillSalesRollups(from, to);
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Get the best-selling products for the admin dashboard
+     * Endpoint: GET /api/admin/analytics/bestsellers?window=24h&limit=10
+     * Window is 1h, 24h or 7d; figures are close estimates kept in memory, not exact counts
+     */
+    @GetMapping("/admin/analytics/bestsellers")
+    public ResponseEntity<BestSellerResponse> bestSellers(
+            @RequestParam(name = "window", defaultValue = "24h") String window,
+            @RequestParam(name = "limit", defaultValue = "10") Integer limit) {
+        BestSellerResponse response = IAnalyticsService.getBestSellers(window, limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,12 +2,17 @@ package com.ecommerce.project.controller;
 
 import com.ecommerce.project.config.Constants;
 import com.ecommerce.project.DTO.AuthenticationResult;
+import com.ecommerce.project.DTO.CacheStatsResponse;
+import com.ecommerce.project.DTO.PasswordHashingStatsResponse;
 import com.ecommerce.project.JwtAuth.request.LoginRequest;
 import com.ecommerce.project.JwtAuth.request.SignupRequest;
 import com.ecommerce.project.JwtAuth.request.UpdateUsernameRequest;
 import com.ecommerce.project.JwtAuth.response.MessageResponse;
+import com.ecommerce.project.JwtAuth.services.AuthRateLimiter;
 import com.ecommerce.project.service.Interface.IAuthenticationService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.util.List;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -28,17 +33,21 @@ import org.springframework.web.bind.annotation.*;
 public class AuthenticationController {
 
     private final IAuthenticationService IAuthenticationService;
+    private final AuthRateLimiter authRateLimiter;
 
-    public AuthenticationController(IAuthenticationService IAuthenticationService) {
+    public AuthenticationController(IAuthenticationService IAuthenticationService, AuthRateLimiter authRateLimiter) {
         this.IAuthenticationService = IAuthenticationService;
+        this.authRateLimiter = authRateLimiter;
     }
 
     /**
      * Register a new user account
      * Endpoint: POST /api/auth/register
+     * Rate limited per client IP and per username/email (429 when exceeded)
      */
     @PostMapping("/register")
-    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
+    public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest, HttpServletRequest request) {
+        authRateLimiter.checkAttempt(request.getRemoteAddr(), signUpRequest.getUsername(), signUpRequest.getEmail());
         return IAuthenticationService.register(signUpRequest);
     }
 
@@ -46,12 +55,14 @@ public class AuthenticationController {
      * Login user and create session
      * Endpoint: POST /api/auth/login
      * Returns JWT cookie and user details
+     * Rate limited per client IP and per username (429 when exceeded)
      */
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
         if (loginRequest == null || loginRequest.getUsername() == null || loginRequest.getPassword() == null) {
             return ResponseEntity.badRequest().body(new MessageResponse("Invalid login request"));
         }
+        authRateLimiter.checkAttempt(request.getRemoteAddr(), loginRequest.getUsername());
 
         AuthenticationResult result = IAuthenticationService.login(loginRequest);
         if (result == null || result.getJwtCookie() == null) {
@@ -88,11 +99,11 @@ public class AuthenticationController {
     /**
      * Logout user and clear session
      * Endpoint: POST /api/auth/logout
-     * Clears JWT cookie
+     * Revokes the current JWT and clears the JWT cookie
      */
     @PostMapping("/logout")
-    public ResponseEntity<?> signoutUser() {
-        ResponseCookie cookie = IAuthenticationService.logoutUser();
+    public ResponseEntity<?> signoutUser(HttpServletRequest request) {
+        ResponseCookie cookie = IAuthenticationService.logoutUser(request);
         if (cookie == null) {
             return ResponseEntity.ok().body(new MessageResponse("No active session"));
         }
@@ -128,6 +139,39 @@ public class AuthenticationController {
         return ResponseEntity.ok(IAuthenticationService.getAllCustomers(pageDetails));
     }
 
+    /**
+     * Sign a user out of every session
+     * Endpoint: POST /api/auth/admin/users/{userId}/revoke-tokens
+     * Admin only - use after changing a user's roles, since tokens carry the roles they were issued with
+     */
+    @PostMapping("/admin/users/{userId}/revoke-tokens")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<MessageResponse> revokeUserTokens(@PathVariable Long userId) {
+        return ResponseEntity.ok(IAuthenticationService.revokeUserTokens(userId));
+    }
+
+    /**
+     * Get password hashing pool statistics
+     * Endpoint: GET /api/auth/admin/password-hashing-stats
+     * Admin only - queue depth, rejections and hash latency, used to size the pool and pick the BCrypt cost
+     */
+    @GetMapping("/admin/password-hashing-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PasswordHashingStatsResponse> getPasswordHashingStats() {
+        return ResponseEntity.ok(IAuthenticationService.getPasswordHashingStats());
+    }
+
+    /**
+     * Get login/registration rate limiter statistics
+     * Endpoint: GET /api/auth/admin/rate-limit-stats
+     * Admin only - how many IPs and accounts are tracked, used to size max-tracked-keys
+     */
+    @GetMapping("/admin/rate-limit-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<CacheStatsResponse>> getRateLimitStats() {
+        return ResponseEntity.ok(List.of(authRateLimiter.ipStats(), authRateLimiter.accountStats()));
+    }
+
     /**
      * Update current user's username
      * Endpoint: PUT /api/auth/profile/username
@@ -1,13 +1,20 @@
 package com.ecommerce.project.controller;
 
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.ecommerce.project.DTO.*;
+import com.ecommerce.project.cache.OrderIdempotencyStore;
 import com.ecommerce.project.config.Constants;
 import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.service.Interface.IAsyncOrderService;
 import com.ecommerce.project.service.Interface.IOrderService;
 
 /**
@@ -21,42 +28,35 @@ public class OrdersController {
 
     private final IOrderService IOrderService;
     private final AuthHelper authHelper;
+    private final OrderIdempotencyStore idempotencyStore;
+    private final IAsyncOrderService asyncOrderService;
 
-    public OrdersController(IOrderService IOrderService, AuthHelper authHelper) {
+    public OrdersController(IOrderService IOrderService, AuthHelper authHelper, OrderIdempotencyStore idempotencyStore,
+                            IAsyncOrderService asyncOrderService) {
         this.IOrderService = IOrderService;
         this.authHelper = authHelper;
+        this.idempotencyStore = idempotencyStore;
+        this.asyncOrderService = asyncOrderService;
     }
 
     /**
      * Place a new order
      * Endpoint: POST /api/orders
      * Creates order from current user's cart, processes payment, reduces inventory
+     * With an Idempotency-Key header, retries using the same key return the original order instead of placing a new one
      */
     @PostMapping("/orders")
-    public ResponseEntity<?> placeOrder(@RequestBody OrderRequestDto orderRequestDTO) {
+    public ResponseEntity<?> placeOrder(@RequestBody OrderRequestDto orderRequestDTO,
+                                        @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
         String userEmail = authHelper.loggedInEmail();
 
-        String paymentMethodValue = orderRequestDTO.getPaymentMethod() != null
-                ? orderRequestDTO.getPaymentMethod()
-                : "Cash on Delivery";
-
-        String pgNameValue = orderRequestDTO.getPgName() != null
-                ? orderRequestDTO.getPgName()
-                : "None";
-
-        String pgPaymentIdValue = orderRequestDTO.getPgPaymentId() != null
-                ? orderRequestDTO.getPgPaymentId()
-                : "N/A";
-
-        String pgStatusValue = orderRequestDTO.getPgStatus() != null
-                ? orderRequestDTO.getPgStatus()
-                : "Pending";
+        String paymentMethodValue = valueOrDefault(orderRequestDTO.getPaymentMethod(), "Cash on Delivery");
+        String pgNameValue = valueOrDefault(orderRequestDTO.getPgName(), "None");
+        String pgPaymentIdValue = valueOrDefault(orderRequestDTO.getPgPaymentId(), "N/A");
+        String pgStatusValue = valueOrDefault(orderRequestDTO.getPgStatus(), "Pending");
+        String pgResponseMessageValue = valueOrDefault(orderRequestDTO.getPgResponseMessage(), "Order successfull");
 
-        String pgResponseMessageValue = orderRequestDTO.getPgResponseMessage() != null
-                ? orderRequestDTO.getPgResponseMessage()
-                : "Order successfull";
-
-        OrderDto createdOrder = IOrderService.placeOrder(
+        Supplier<OrderDto> placeOrder = () -> IOrderService.placeOrder(
                 userEmail,
                 orderRequestDTO.getAddressId(),
                 paymentMethodValue,
@@ -66,22 +66,76 @@ public class OrdersController {
                 pgResponseMessageValue
         );
 
+        OrderDto createdOrder = idempotencyKey == null || idempotencyKey.isBlank()
+                ? placeOrder.get()
+                : idempotencyStore.placeOnce(userEmail, idempotencyKey, requestFingerprint(orderRequestDTO), placeOrder);
+
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
+    /**
+     * Place a new order asynchronously
+     * Endpoint: POST /api/orders?async=true
+     * Validates the cart and returns 202 with an order reference right away; the order is placed in the background
+     * Poll GET /api/orders/requests/{orderReference} until the status is COMPLETED or FAILED
+     * With an Idempotency-Key header, retries using the same key return the original request's reference and current status
+     */
+    @PostMapping(value = "/orders", params = "async=true")
+    public ResponseEntity<?> submitOrder(@RequestBody OrderRequestDto orderRequestDTO,
+                                         @RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+        String userEmail = authHelper.loggedInEmail();
+
+        Supplier<OrderPlacementStatusDto> submitOrder = () -> asyncOrderService.submitOrder(
+                userEmail,
+                orderRequestDTO.getAddressId(),
+                valueOrDefault(orderRequestDTO.getPaymentMethod(), "Cash on Delivery"),
+                valueOrDefault(orderRequestDTO.getPgName(), "None"),
+                valueOrDefault(orderRequestDTO.getPgPaymentId(), "N/A"),
+                valueOrDefault(orderRequestDTO.getPgStatus(), "Pending"),
+                valueOrDefault(orderRequestDTO.getPgResponseMessage(), "Order successfull")
+        );
+
+        OrderPlacementStatusDto queuedOrder;
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            queuedOrder = submitOrder.get();
+        } else {
+            String orderReference = idempotencyStore.submitOnce(userEmail, idempotencyKey, requestFingerprint(orderRequestDTO),
+                    () -> submitOrder.get().getOrderReference());
+            queuedOrder = asyncOrderService.getPlacementStatus(userEmail, orderReference);
+        }
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/requests/" + queuedOrder.getOrderReference()))
+                .body(queuedOrder);
+    }
+
+    /**
+     * Get the status of an order placed asynchronously
+     * Endpoint: GET /api/orders/requests/{orderReference}
+     * Returns QUEUED, PROCESSING, COMPLETED (with the order) or FAILED (with the reason)
+     */
+    @GetMapping("/orders/requests/{orderReference}")
+    public ResponseEntity<?> getOrderPlacementStatus(@PathVariable String orderReference) {
+        String userEmail = authHelper.loggedInEmail();
+        OrderPlacementStatusDto placementStatus = asyncOrderService.getPlacementStatus(userEmail, orderReference);
+        return ResponseEntity.ok(placementStatus);
+    }
+
     /**
      * Get all orders in the system
      * Endpoint: GET /api/admin/orders
      * Admin only - supports pagination and sorting
+     * Pass cursor= (empty) for the first page, then the returned nextCursor, to page without OFFSET or COUNT(*)
      */
     @GetMapping("/admin/orders")
     public ResponseEntity<?> getOrders(
             @RequestParam(name = "pageNumber", defaultValue = Constants.page_num, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = Constants.page_size, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = Constants.orders_sort_by, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = Constants.sort_order, required = false) String sortOrder
+            @RequestParam(name = "sortOrder", defaultValue = Constants.sort_order, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor
     ) {
-        OrderResponse allOrdersData = IOrderService.getAllOrders(pageNumber, pageSize, sortBy, sortOrder);
+        OrderResponse allOrdersData = IOrderService.getAllOrders(pageNumber, pageSize, sortBy, sortOrder, cursor);
         return ResponseEntity.ok(allOrdersData);
     }
 
@@ -132,4 +186,15 @@ public class OrdersController {
         OrderResponse userOrdersByIdData = IOrderService.getUserOrdersByUserId(userId, pageNumber, pageSize, sortBy, sortOrder);
         return ResponseEntity.ok(userOrdersByIdData);
     }
+
+    // Every field of the request, so a reused Idempotency-Key can be told apart from a retry
+    private List<Object> requestFingerprint(OrderRequestDto orderRequestDTO) {
+        return Arrays.asList(orderRequestDTO.getAddressId(), orderRequestDTO.getCardId(), orderRequestDTO.getPaymentMethod(),
+                orderRequestDTO.getPgName(), orderRequestDTO.getPgPaymentId(), orderRequestDTO.getPgStatus(),
+                orderRequestDTO.getPgResponseMessage());
+    }
+
+    private String valueOrDefault(String value, String defaultValue) {
+        return value != null ? value : defaultValue;
+    }
 }
@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.ecommerce.project.DTO.CacheStatsResponse;
 import com.ecommerce.project.DTO.ProductDTO;
 import com.ecommerce.project.DTO.ProductResponse;
 import com.ecommerce.project.config.Constants;
@@ -59,14 +60,14 @@ public class ProductController {
     /**
      * Search products by keyword
      * Endpoint: GET /api/products/search?q=keyword
-     * Searches in product names
+     * Searches product names, models and descriptions; sorted by relevance unless sortBy is given
      */
     @GetMapping("/products/search")
     public ResponseEntity<?> getProductsByKeyword(
             @RequestParam(name = "q", required = true) String keyword,
             @RequestParam(name = "pageNumber", defaultValue = Constants.page_num, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = Constants.page_size, required = false) Integer pageSize,
-            @RequestParam(name = "sortBy", defaultValue = Constants.products_sortBy, required = false) String sortBy,
+            @RequestParam(name = "sortBy", defaultValue = Constants.search_sortBy, required = false) String sortBy,
             @RequestParam(name = "sortOrder", defaultValue = Constants.sort_order, required = false) String sortOrder) {
         ProductResponse searchResults = IProductService.searchProductByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
         return ResponseEntity.ok(searchResults);
@@ -77,6 +78,7 @@ public class ProductController {
      * Endpoint: GET /api/products
      * Supports filters: keyword, category, model
      * Supports pagination and sorting
+     * Pass cursor= (empty) for the first page, then the returned nextCursor, to page without OFFSET or COUNT(*)
      */
     @GetMapping("/products")
     public ResponseEntity<?> getAllProducts(
@@ -86,8 +88,9 @@ public class ProductController {
             @RequestParam(name = "pageNumber", defaultValue = Constants.page_num, required = false) Integer pageNumber,
             @RequestParam(name = "pageSize", defaultValue = Constants.page_size, required = false) Integer pageSize,
             @RequestParam(name = "sortBy", defaultValue = Constants.products_sortBy, required = false) String sortBy,
-            @RequestParam(name = "sortOrder", defaultValue = Constants.sort_order, required = false) String sortOrder) {
-        ProductResponse fetchedProducts = IProductService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category, model);
+            @RequestParam(name = "sortOrder", defaultValue = Constants.sort_order, required = false) String sortOrder,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        ProductResponse fetchedProducts = IProductService.getAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category, model, cursor);
         return ResponseEntity.ok(fetchedProducts);
     }
 
@@ -140,4 +143,15 @@ public class ProductController {
         ProductResponse allAdminProducts = IProductService.getAllProductsForAdmin(pageNumber, pageSize, sortBy, sortOrder);
         return ResponseEntity.ok(allAdminProducts);
     }
+
+    /**
+     * Get product listing cache statistics
+     * Endpoint: GET /api/admin/products/cache-stats
+     * Admin only - hit/miss/eviction counters used to size the cache
+     */
+    @GetMapping("/admin/products/cache-stats")
+    public ResponseEntity<?> getCatalogCacheStats() {
+        CacheStatsResponse cacheStats = IProductService.getCatalogCacheStats();
+        return ResponseEntity.ok(cacheStats);
+    }
 }
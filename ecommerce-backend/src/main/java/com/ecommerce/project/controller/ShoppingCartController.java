@@ -46,14 +46,11 @@ public class ShoppingCartController {
     /**
      * Get current user's cart
      * Endpoint: GET /api/cart
-     * Returns logged-in user's cart with all items
+     * Returns logged-in user's cart with all items (one query, keyed by the user ID from the token)
      */
     @GetMapping("/cart")
     public ResponseEntity<?> getCartByCartId() {
-        String userEmail = authHelper.loggedInEmail();
-        Cart userCart = cartDAO.fetchCartByUserEmail(userEmail);
-        Long userCartId = userCart.getCartId();
-        CartDto userCartData = ICartService.getCart(userEmail, userCartId);
+        CartDto userCartData = ICartService.getUserCart(authHelper.loggedInUserId());
         return ResponseEntity.ok(userCartData);
     }
 
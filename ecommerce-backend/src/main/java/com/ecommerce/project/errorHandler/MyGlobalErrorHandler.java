@@ -1,5 +1,6 @@
 package com.ecommerce.project.errorHandler;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
@@ -71,4 +72,31 @@ public class MyGlobalErrorHandler {
     public ResponseEntity<?> myAPIException(APIErrorHandler e) {
         return buildAPIResponse(e.getMessage(), false, HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Handles UnprocessableRequestException (request understood but can't be processed as sent).
+     * Returns 422 Unprocessable Entity with error message.
+     */
+    @ExceptionHandler(UnprocessableRequestException.class)
+    public ResponseEntity<?> myUnprocessableRequestException(UnprocessableRequestException e) {
+        return buildAPIResponse(e.getMessage(), false, HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    /**
+     * Handles TooManyRequestsException (server busy, client should retry later).
+     * Returns 429 Too Many Requests with error message.
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<?> myTooManyRequestsException(TooManyRequestsException e) {
+        return buildAPIResponse(e.getMessage(), false, HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    /**
+     * Handles optimistic-lock conflicts that were still failing after the service's retries.
+     * Returns 409 Conflict; the client can reload and try again.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<?> myOptimisticLockingFailureException(OptimisticLockingFailureException e) {
+        return buildAPIResponse("This item was changed by another request, please try again", false, HttpStatus.CONFLICT);
+    }
 }
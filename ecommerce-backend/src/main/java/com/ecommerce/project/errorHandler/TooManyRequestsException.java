@@ -0,0 +1,14 @@
+package com.ecommerce.project.errorHandler;
+
+/**
+ * Thrown when the server is too busy to take on more work of some kind right now.
+ * Example: "Too many orders are waiting to be processed, please try again shortly"
+ * The client is expected to back off and retry the same request later.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.project.errorHandler;
+
+/**
+ * Thrown when a well-formed request can't be processed as sent.
+ * Example: "This Idempotency-Key was already used for a different order request"
+ * Retrying the same request fails the same way; the client has to change it.
+ */
+public class UnprocessableRequestException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public UnprocessableRequestException(String message) {
+        super(message);
+    }
+}
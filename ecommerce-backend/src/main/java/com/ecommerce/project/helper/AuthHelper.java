@@ -1,6 +1,8 @@
 package com.ecommerce.project.helper;
 
 import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.JwtAuth.services.UserDetailsServiceImpl;
 import com.ecommerce.project.model.User;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
@@ -8,30 +10,44 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 /**
  * Helper class for authentication-related operations.
  * Provides convenient methods to get info about the currently logged-in user.
  * Used throughout the app to check who is making the request.
+ *
+ * The email and ID come straight from the principal in the SecurityContext, or else from UserDetailsCache.
+ * The full User entity is loaded at most once per request and shared by every caller in that request.
  */
 @Component
 public class AuthHelper {
 
+    private static final String USER_ATTRIBUTE_PREFIX = AuthHelper.class.getName() + ".user.";
+
     private final UserDAO userDAO;
+    private final UserDetailsServiceImpl userDetailsService;
     private final MessageSource messageSource;
 
-    public AuthHelper(UserDAO userDAO, MessageSource messageSource) {
+    public AuthHelper(UserDAO userDAO, UserDetailsServiceImpl userDetailsService, MessageSource messageSource) {
         this.userDAO = userDAO;
+        this.userDetailsService = userDetailsService;
         this.messageSource = messageSource;
     }
 
     /**
-     * Fetches the currently authenticated user from the database.
+     * Fetches the currently authenticated user from the database, or from this request's earlier lookup.
      * Gets username from Spring Security context and looks up the user.
      */
     private User fetchAuthenticatedUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String username = (authentication != null) ? authentication.getName() : "unknown";
+        String username = authenticatedUsername();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        // Keyed by username so a login within the same request never sees another user's entity
+        String attributeName = USER_ATTRIBUTE_PREFIX + username;
+        if (requestAttributes != null && requestAttributes.getAttribute(attributeName, RequestAttributes.SCOPE_REQUEST) instanceof User cachedUser) {
+            return cachedUser;
+        }
 
         String msg = messageSource.getMessage(
                 "auth.user.notFound",
@@ -40,8 +56,27 @@ public class AuthHelper {
                 LocaleContextHolder.getLocale()
         );
 
-        return userDAO.findByUserName(username)
+        User user = userDAO.findByUserName(username)
                 .orElseThrow(() -> new UsernameNotFoundException(msg));
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(attributeName, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+
+    private String authenticatedUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (authentication != null) ? authentication.getName() : "unknown";
+    }
+
+    // The JWT filter and login both put a UserDetailsImpl in the context; otherwise use the cached user details
+    private UserDetailsImpl authenticatedPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl principal
+                && principal.getId() != null && principal.getEmail() != null) {
+            return principal;
+        }
+        return userDetailsService.loadUserByUsername(authenticatedUsername());
     }
 
     /**
@@ -49,7 +84,7 @@ public class AuthHelper {
      * Useful for operations that need to verify user identity.
      */
     public String loggedInEmail() {
-        return fetchAuthenticatedUser().getEmail();
+        return authenticatedPrincipal().getEmail();
     }
 
     /**
@@ -57,7 +92,7 @@ public class AuthHelper {
      * Used for database queries specific to the current user.
      */
     public Long loggedInUserId() {
-        return fetchAuthenticatedUser().getUserId();
+        return authenticatedPrincipal().getId();
     }
 
     /**
@@ -0,0 +1,157 @@
+package com.ecommerce.project.helper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+
+import org.hibernate.query.NullPrecedence;
+import org.hibernate.query.criteria.JpaOrder;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Keyset (cursor) pagination over any JpaSpecificationExecutor.
+ * Instead of OFFSET n, each page asks for rows that sort after the last row of the previous page,
+ * so deep pages cost the same as the first one and no COUNT(*) query is run.
+ *
+ * The cursor is an opaque base64url token holding the sort field, sort order,
+ * the last row's sort value and its id (the id breaks ties between equal sort values).
+ */
+public final class KeysetPagination {
+
+    private static final String SEPARATOR = "|";
+    private static final String NULL_VALUE = "n";
+    private static final String VALUE_PREFIX = "v:";
+
+    private KeysetPagination() {
+    }
+
+    /**
+     * Fetches one page of rows matching the filter, sorted by sortBy then by id.
+     * Pass an empty cursor for the first page and the returned nextCursor for the following ones.
+     * Rows with a null sort value always come last, whatever the sort order or database.
+     */
+    public static <T> KeysetPage<T> fetchPage(JpaSpecificationExecutor<T> dao, Specification<T> filter, String idAttribute,
+                                              String cursor, Integer pageSize, String sortBy, String sortOrder) {
+        boolean ascending = sortOrder.equalsIgnoreCase("asc");
+        Cursor position = decode(cursor);
+        if (position != null && (!position.sortBy().equals(sortBy) || position.ascending() != ascending)) {
+            throw new APIErrorHandler("The cursor was issued for a different sort order; start again without it");
+        }
+
+        Specification<T> pageFilter = filter.and(orderBy(sortBy, ascending, idAttribute));
+        if (position != null) {
+            pageFilter = pageFilter.and(after(position, idAttribute));
+        }
+
+        // One extra row tells us whether there is a next page without counting
+        List<T> rows = dao.findBy(pageFilter, query -> query.limit(pageSize + 1).all());
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+
+        List<T> pageRows = rows.subList(0, pageSize);
+        BeanWrapper lastRow = PropertyAccessorFactory.forBeanPropertyAccess(pageRows.get(pageSize - 1));
+        Object lastValue = lastRow.getPropertyValue(sortBy);
+        Long lastId = (Long) lastRow.getPropertyValue(idAttribute);
+        return new KeysetPage<>(pageRows, encode(new Cursor(sortBy, ascending, lastValue == null ? null : lastValue.toString(), lastId)));
+    }
+
+    // Sorts by (sortBy NULLS LAST, id); set on the criteria query because Sort can't express null ordering here
+    private static <T> Specification<T> orderBy(String sortBy, boolean ascending, String idAttribute) {
+        return (root, query, criteriaBuilder) -> {
+            JpaOrder sortOrder = (JpaOrder) (ascending
+                    ? criteriaBuilder.asc(root.get(sortBy))
+                    : criteriaBuilder.desc(root.get(sortBy)));
+            query.orderBy(sortOrder.nullPrecedence(NullPrecedence.LAST), criteriaBuilder.asc(root.get(idAttribute)));
+            return criteriaBuilder.conjunction();
+        };
+    }
+
+    // Rows strictly after the cursor position in (sortBy NULLS LAST, id) order
+    private static <T> Specification<T> after(Cursor position, String idAttribute) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Comparable<Object>> sortField = root.get(position.sortBy());
+            Path<Long> idField = root.get(idAttribute);
+
+            if (position.lastValue() == null) {
+                // Already among the trailing nulls: only later ids are left
+                return criteriaBuilder.and(criteriaBuilder.isNull(sortField), criteriaBuilder.greaterThan(idField, position.lastId()));
+            }
+
+            Comparable<Object> lastValue = parseValue(sortField.getJavaType(), position.lastValue());
+            Predicate laterValue = position.ascending()
+                    ? criteriaBuilder.greaterThan(sortField, lastValue)
+                    : criteriaBuilder.lessThan(sortField, lastValue);
+            Predicate sameValueLaterId = criteriaBuilder.and(criteriaBuilder.equal(sortField, lastValue), criteriaBuilder.greaterThan(idField, position.lastId()));
+            return criteriaBuilder.or(laterValue, sameValueLaterId, criteriaBuilder.isNull(sortField));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseValue(Class<?> type, String value) {
+        Object parsedValue;
+        try {
+            if (type == String.class) {
+                parsedValue = value;
+            } else if (type == Long.class || type == long.class) {
+                parsedValue = Long.valueOf(value);
+            } else if (type == Integer.class || type == int.class) {
+                parsedValue = Integer.valueOf(value);
+            } else if (type == Double.class || type == double.class) {
+                parsedValue = Double.valueOf(value);
+            } else if (type == LocalDate.class) {
+                parsedValue = LocalDate.parse(value);
+            } else {
+                throw new APIErrorHandler("Cursor pagination is not supported for this sort field");
+            }
+        } catch (IllegalArgumentException | DateTimeParseException exception) {
+            throw new APIErrorHandler("Invalid pagination cursor");
+        }
+        return (Comparable<Object>) parsedValue;
+    }
+
+    private static String encode(Cursor position) {
+        String lastValue = position.lastValue() == null ? NULL_VALUE : VALUE_PREFIX + position.lastValue();
+        String raw = position.sortBy() + SEPARATOR + (position.ascending() ? "asc" : "desc")
+                + SEPARATOR + position.lastId() + SEPARATOR + lastValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Returns null for the first page (empty cursor)
+    private static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            // The sort value goes last so it may itself contain the separator
+            String[] parts = raw.split("\\|", 4);
+            if (!parts[3].equals(NULL_VALUE) && !parts[3].startsWith(VALUE_PREFIX)) {
+                throw new APIErrorHandler("Invalid pagination cursor");
+            }
+            String lastValue = parts[3].equals(NULL_VALUE) ? null : parts[3].substring(VALUE_PREFIX.length());
+            return new Cursor(parts[0], parts[1].equals("asc"), lastValue, Long.valueOf(parts[2]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+            throw new APIErrorHandler("Invalid pagination cursor");
+        }
+    }
+
+    private record Cursor(String sortBy, boolean ascending, String lastValue, Long lastId) {
+    }
+
+    /**
+     * One page of rows plus the cursor for the next page (null on the last page).
+     */
+    public record KeysetPage<T>(List<T> content, String nextCursor) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.project.helper;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket: holds up to capacity tokens and refills continuously at a fixed rate.
+ * Each allowed action takes one token; concurrent callers race with compare-and-set instead of locking.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(int capacity, double tokensPerSecond) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000.0;
+        this.state = new AtomicReference<>(new State(capacity, System.nanoTime()));
+    }
+
+    /**
+     * Takes one token if there is one; returns false (taking nothing) when the bucket is empty.
+     */
+    public boolean tryConsume() {
+        while (true) {
+            State current = state.get();
+            long now = System.nanoTime();
+            double available = Math.min(capacity, current.tokens() + (now - current.refilledAt()) * tokensPerNano);
+            if (available < 1.0) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(available - 1.0, now))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * True once the bucket has refilled completely, i.e. it is indistinguishable from a new one.
+     */
+    public boolean isFull() {
+        State current = state.get();
+        return current.tokens() + (System.nanoTime() - current.refilledAt()) * tokensPerNano >= capacity;
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
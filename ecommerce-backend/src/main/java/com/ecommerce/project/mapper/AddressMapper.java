@@ -0,0 +1,35 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.DTO.AddressDto;
+import com.ecommerce.project.model.Address;
+
+/**
+ * Hand-written mapping between Address and AddressDto.
+ */
+public final class AddressMapper {
+
+    private AddressMapper() {
+    }
+
+    public static AddressDto toDto(Address address) {
+        return new AddressDto(
+                address.getAddressId(),
+                address.getStreet(),
+                address.getBuildingName(),
+                address.getCity(),
+                address.getState(),
+                address.getCountry(),
+                address.getPincode());
+    }
+
+    // DTO -> new entity (id and owner are set by the service)
+    public static Address toEntity(AddressDto addressDto) {
+        return new Address(
+                addressDto.getStreet(),
+                addressDto.getBuildingName(),
+                addressDto.getCity(),
+                addressDto.getState(),
+                addressDto.getCountry(),
+                addressDto.getPincode());
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.project.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ecommerce.project.DTO.CartDto;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+
+/**
+ * Hand-written mapping from Cart and CartItem to the cart DTOs.
+ * A cart is sent to the frontend as its products, each carrying the quantity in the cart.
+ */
+public final class CartMapper {
+
+    private CartMapper() {
+    }
+
+    public static CartDto toDto(Cart cart) {
+        return toDto(cart, cart.getCartItems(), cart.getTotalPrice());
+    }
+
+    // Cart whose lines and total were loaded separately from the entity (e.g. right after a change)
+    public static CartDto toDto(Cart cart, List<CartItem> cartItems, Double totalPrice) {
+        List<ProductDTO> products = new ArrayList<>(cartItems.size());
+        for (CartItem cartItem : cartItems) {
+            products.add(toProductDto(cartItem));
+        }
+
+        CartDto cartDto = new CartDto();
+        cartDto.setCartId(cart.getCartId());
+        cartDto.setTotalPrice(totalPrice);
+        cartDto.setProducts(products);
+        return cartDto;
+    }
+
+    // Turns stored image names into full URLs under imageBaseUrl; Cloudinary images are already full URLs
+    public static CartDto resolveImageUrls(CartDto cartDto, String imageBaseUrl) {
+        for (ProductDTO product : cartDto.getProducts()) {
+            product.setImage(constructImageUrl(product.getImage(), imageBaseUrl));
+        }
+        return cartDto;
+    }
+
+    private static String constructImageUrl(String imageName, String imageBaseUrl) {
+        if (imageName != null && (imageName.startsWith("http://") || imageName.startsWith("https://"))) {
+            return imageName;
+        }
+        return imageBaseUrl.endsWith("/") ? imageBaseUrl + imageName : imageBaseUrl + "/" + imageName;
+    }
+
+    // Cart line -> product DTO whose quantity is the quantity in the cart (not the stock)
+    public static ProductDTO toProductDto(CartItem cartItem) {
+        ProductDTO productDTO = ProductMapper.toDto(cartItem.getProduct());
+        productDTO.setQuantity(cartItem.getQty());
+        return productDTO;
+    }
+}
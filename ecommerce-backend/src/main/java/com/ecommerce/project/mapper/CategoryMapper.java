@@ -0,0 +1,24 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.DTO.CategoryDto;
+import com.ecommerce.project.model.Category;
+
+/**
+ * Hand-written mapping between Category and CategoryDto.
+ */
+public final class CategoryMapper {
+
+    private CategoryMapper() {
+    }
+
+    public static CategoryDto toDto(Category category) {
+        return new CategoryDto(category.getCategoryId(), category.getCategoryName());
+    }
+
+    // DTO -> new entity (the id is set by the service when updating)
+    public static Category toEntity(CategoryDto categoryDto) {
+        Category category = new Category();
+        category.setCategoryName(categoryDto.getCategoryName());
+        return category;
+    }
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.project.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.OrderItemDto;
+import com.ecommerce.project.DTO.PaymentDTO;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Payment;
+
+/**
+ * Hand-written mapping from Order, OrderItem and Payment to their DTOs.
+ */
+public final class OrderMapper {
+
+    private OrderMapper() {
+    }
+
+    public static OrderDto toDto(Order order) {
+        List<OrderItemDto> orderItems = new ArrayList<>(order.getOrderItems().size());
+        for (OrderItem orderItem : order.getOrderItems()) {
+            orderItems.add(toDto(orderItem));
+        }
+
+        return new OrderDto(
+                order.getOrderId(),
+                order.getEmail(),
+                orderItems,
+                order.getOrderDate(),
+                order.getPayment() != null ? toDto(order.getPayment()) : null,
+                order.getTotalAmount(),
+                order.getOrderStatus(),
+                order.getAddress() != null ? order.getAddress().getAddressId() : null);
+    }
+
+    // Quantity and price are the ordered ones, not the product's current stock and price
+    public static OrderItemDto toDto(OrderItem orderItem) {
+        return new OrderItemDto(
+                orderItem.getOrderItemId(),
+                ProductMapper.toDto(orderItem.getProduct()),
+                orderItem.getQty(),
+                orderItem.getProductPrice());
+    }
+
+    public static PaymentDTO toDto(Payment payment) {
+        return new PaymentDTO(
+                payment.getPaymentId(),
+                payment.getPaymentMethod(),
+                payment.getPgPaymentId(),
+                payment.getPgStatus(),
+                payment.getPgResponseMessage(),
+                payment.getPgName());
+    }
+}
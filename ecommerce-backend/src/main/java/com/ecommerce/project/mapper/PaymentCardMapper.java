@@ -0,0 +1,39 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.DTO.PaymentCardDTO;
+import com.ecommerce.project.model.PaymentCard;
+
+/**
+ * Hand-written mapping between PaymentCard and PaymentCardDTO.
+ */
+public final class PaymentCardMapper {
+
+    private PaymentCardMapper() {
+    }
+
+    public static PaymentCardDTO toDto(PaymentCard paymentCard) {
+        PaymentCardDTO paymentCardDTO = new PaymentCardDTO();
+        paymentCardDTO.setCardId(paymentCard.getCardId());
+        paymentCardDTO.setCardNumber(paymentCard.getCardNumber());
+        paymentCardDTO.setCardholderName(paymentCard.getCardholderName());
+        paymentCardDTO.setExpiryMonth(paymentCard.getExpiryMonth());
+        paymentCardDTO.setExpiryYear(paymentCard.getExpiryYear());
+        paymentCardDTO.setCvv(paymentCard.getCvv());
+        paymentCardDTO.setIsDefault(paymentCard.getIsDefault());
+        return paymentCardDTO;
+    }
+
+    // DTO -> new entity (id and owner are set by the service; a missing default flag stays false)
+    public static PaymentCard toEntity(PaymentCardDTO paymentCardDTO) {
+        PaymentCard paymentCard = new PaymentCard();
+        paymentCard.setCardNumber(paymentCardDTO.getCardNumber());
+        paymentCard.setCardholderName(paymentCardDTO.getCardholderName());
+        paymentCard.setExpiryMonth(paymentCardDTO.getExpiryMonth());
+        paymentCard.setExpiryYear(paymentCardDTO.getExpiryYear());
+        paymentCard.setCvv(paymentCardDTO.getCvv());
+        if (paymentCardDTO.getIsDefault() != null) {
+            paymentCard.setIsDefault(paymentCardDTO.getIsDefault());
+        }
+        return paymentCard;
+    }
+}
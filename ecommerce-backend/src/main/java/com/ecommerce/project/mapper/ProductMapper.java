@@ -0,0 +1,38 @@
+package com.ecommerce.project.mapper;
+
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.model.Product;
+
+/**
+ * Hand-written mapping between Product and ProductDTO.
+ * Plain getter/setter calls instead of ModelMapper's reflection-based matching.
+ */
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    // Entity -> DTO (image is the stored file name; services turn it into a URL where needed)
+    public static ProductDTO toDto(Product product) {
+        return new ProductDTO(
+                product.getProductId(),
+                product.getProductName(),
+                product.getModel(),
+                product.getImage(),
+                product.getDescription(),
+                product.getQuantity(),
+                product.getPrice());
+    }
+
+    // DTO -> new entity (id, category and owner are set by the service)
+    public static Product toEntity(ProductDTO productDTO) {
+        Product product = new Product();
+        product.setProductName(productDTO.getProductName());
+        product.setModel(productDTO.getModel());
+        product.setImage(productDTO.getImage());
+        product.setDescription(productDTO.getDescription());
+        product.setQuantity(productDTO.getQuantity());
+        product.setPrice(productDTO.getPrice());
+        return product;
+    }
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.project.mapper;
+
+import java.util.HashSet;
+
+import com.ecommerce.project.DTO.UserDTO;
+import com.ecommerce.project.model.User;
+
+/**
+ * Hand-written mapping from User to UserDTO.
+ * The password hash is never copied.
+ */
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    public static UserDTO toDto(User user) {
+        UserDTO userDTO = new UserDTO(user.getUserId(), user.getUserName(), user.getEmail());
+        userDTO.setRoles(new HashSet<>(user.getRoles()));
+        return userDTO;
+    }
+}
@@ -2,6 +2,8 @@
 package com.ecommerce.project.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.Formula;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -18,14 +20,20 @@ public class Cart {
     @OneToMany(mappedBy = "cart", cascade = {CascadeType.PERSIST, CascadeType.MERGE, CascadeType.REMOVE}, orphanRemoval = true)
     private List<CartItem> cartItems = new ArrayList<>();
 
-    // User who owns this cart
-    @OneToOne
+    // User who owns this cart (lazy: the cart views never need it)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    // Total price of all items in cart
+    // Total price of all items in cart, summed from its lines in the query that loads the cart (not stored)
+    @Formula("(SELECT COALESCE(SUM(ci.qty * ci.product_price), 0) FROM cart_items ci WHERE ci.cart_id = cart_id)")
     private Double totalPrice = 0.0;
 
+    // Optimistic lock version for the cart row itself; line changes are guarded by CartItem's version
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     // Default constructor
     public Cart() {
     }
@@ -77,4 +85,14 @@ public class Cart {
     public void setTotalPrice(Double totalPrice) {
         this.totalPrice = totalPrice;
     }
+
+    // Get version
+    public Long getVersion() {
+        return version;
+    }
+
+    // Set version
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
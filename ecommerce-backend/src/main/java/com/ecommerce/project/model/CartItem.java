@@ -2,9 +2,11 @@
 package com.ecommerce.project.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
-@Table(name = "cart_items")
+// One line per product: two requests adding the same product at once can't both insert a line
+@Table(name = "cart_items", uniqueConstraints = @UniqueConstraint(name = "ux_cart_items_cart_product", columnNames = {"cart_id", "product_id"}))
 public class CartItem {
     // Unique ID for each cart item
     @Id
@@ -26,6 +28,11 @@ public class CartItem {
     // Price of product at time of adding
     private double productPrice;
 
+    // Optimistic lock version, bumped on every change so concurrent quantity updates can't overwrite each other
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     // Default constructor
     public CartItem() {
     }
@@ -88,4 +95,14 @@ public class CartItem {
     public void setProductPrice(double productPrice) {
         this.productPrice = productPrice;
     }
+
+    // Get version
+    public Long getVersion() {
+        return version;
+    }
+
+    // Set version
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
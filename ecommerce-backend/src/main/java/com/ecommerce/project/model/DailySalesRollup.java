@@ -0,0 +1,21 @@
+// DailySalesRollup entity - orders, revenue and units sold per category for one day
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sales_rollup_daily",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"bucketStart", "categoryId"}))
+public class DailySalesRollup extends SalesRollup {
+
+    // Default constructor
+    public DailySalesRollup() {
+    }
+
+    // Constructor with all fields except ID
+    public DailySalesRollup(LocalDateTime bucketStart, Long categoryId, long orderCount, double revenue, long units) {
+        super(bucketStart, categoryId, orderCount, revenue, units);
+    }
+}
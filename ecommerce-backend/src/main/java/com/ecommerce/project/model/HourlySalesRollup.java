@@ -0,0 +1,21 @@
+// HourlySalesRollup entity - orders, revenue and units sold per category for one hour
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "sales_rollup_hourly",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"bucketStart", "categoryId"}))
+public class HourlySalesRollup extends SalesRollup {
+
+    // Default constructor
+    public HourlySalesRollup() {
+    }
+
+    // Constructor with all fields except ID
+    public HourlySalesRollup(LocalDateTime bucketStart, Long categoryId, long orderCount, double revenue, long units) {
+        super(bucketStart, categoryId, orderCount, revenue, units);
+    }
+}
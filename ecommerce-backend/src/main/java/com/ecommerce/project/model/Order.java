@@ -5,11 +5,15 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_order_date", columnList = "orderDate"),
+        @Index(name = "idx_orders_ordered_at", columnList = "orderedAt")
+})
 public class Order {
 
     // Unique ID for each order
@@ -29,6 +33,9 @@ public class Order {
     // Date order was placed
     private LocalDate orderDate;
 
+    // Exact time order was placed (null for orders placed before it was recorded)
+    private LocalDateTime orderedAt;
+
     // Payment information for this order
     @OneToOne
     @JoinColumn(name = "payment_id")
@@ -100,6 +107,16 @@ public class Order {
         this.orderDate = orderDate;
     }
 
+    // Get time order was placed
+    public LocalDateTime getOrderedAt() {
+        return orderedAt;
+    }
+
+    // Set time order was placed
+    public void setOrderedAt(LocalDateTime orderedAt) {
+        this.orderedAt = orderedAt;
+    }
+
     // Get payment information
     public Payment getPayment() {
         return payment;
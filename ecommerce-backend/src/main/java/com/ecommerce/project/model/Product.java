@@ -39,18 +39,19 @@ public class Product {
     // Product price
     private double price;
 
-    // Category this product belongs to
-    @ManyToOne
+    // Category this product belongs to (loaded on first access, catalog pages don't need it)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id")
     private Category category;
 
-    // User who created/owns this product
-    @ManyToOne
+    // User who created/owns this product (loaded on first access)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
-    // List of cart items containing this product
-    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE}, fetch = FetchType.EAGER)
+    // List of cart items containing this product (lazy: popular products sit in thousands of carts,
+    // writes that need the carts use CartDAO.retrieveCartsByProduct instead)
+    @OneToMany(mappedBy = "product", cascade = {CascadeType.PERSIST, CascadeType.MERGE})
     private List<CartItem> products = new ArrayList<>();
 
     // Default constructor
@@ -0,0 +1,72 @@
+// RevokedToken entity - a revoked JWT, or a cut-off before which all of a user's JWTs are revoked
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = {
+        @Index(columnList = "revokedAt"),
+        @Index(columnList = "expiresAt")
+        })
+public class RevokedToken {
+
+    // Unique ID for each revocation
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long revocationId;
+
+    // ID (jti claim) of the single revoked token; null when all of a user's tokens are revoked
+    @Column(length = 36)
+    private String tokenId;
+
+    // User whose tokens issued up to revokedAt are revoked; null for a single token
+    private Long userId;
+
+    // When the revocation was made
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+
+    // When every token this revocation covers has expired anyway, so the row can be dropped
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Default constructor
+    public RevokedToken() {
+    }
+
+    // Constructor with all fields except ID
+    public RevokedToken(String tokenId, Long userId, LocalDateTime revokedAt, LocalDateTime expiresAt) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.revokedAt = revokedAt;
+        this.expiresAt = expiresAt;
+    }
+
+    // Get revocation ID
+    public Long getRevocationId() {
+        return revocationId;
+    }
+
+    // Get revoked token ID
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    // Get user ID
+    public Long getUserId() {
+        return userId;
+    }
+
+    // Get revocation time
+    public LocalDateTime getRevokedAt() {
+        return revokedAt;
+    }
+
+    // Get expiry time
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,75 @@
+// SalesRollup - shared columns of the hourly and daily sales rollup tables
+package com.ecommerce.project.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@MappedSuperclass
+public abstract class SalesRollup {
+
+    // Unique ID for each rollup row
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long rollupId;
+
+    // Start of the hour or day this row covers
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    // Category the sold products belong to
+    @Column(nullable = false)
+    private Long categoryId;
+
+    // Number of orders containing at least one product of the category
+    private long orderCount;
+
+    // Revenue from the category's products (unit price x quantity)
+    private double revenue;
+
+    // Number of units of the category's products sold
+    private long units;
+
+    // Default constructor
+    protected SalesRollup() {
+    }
+
+    // Constructor with all fields except ID
+    protected SalesRollup(LocalDateTime bucketStart, Long categoryId, long orderCount, double revenue, long units) {
+        this.bucketStart = bucketStart;
+        this.categoryId = categoryId;
+        this.orderCount = orderCount;
+        this.revenue = revenue;
+        this.units = units;
+    }
+
+    // Get rollup ID
+    public Long getRollupId() {
+        return rollupId;
+    }
+
+    // Get bucket start
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    // Get category ID
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    // Get order count
+    public long getOrderCount() {
+        return orderCount;
+    }
+
+    // Get revenue
+    public double getRevenue() {
+        return revenue;
+    }
+
+    // Get units sold
+    public long getUnits() {
+        return units;
+    }
+}
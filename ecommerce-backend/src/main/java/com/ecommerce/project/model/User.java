@@ -43,8 +43,8 @@ public class User {
     @Column(name = "password")
     private String password;
 
-    // User's roles (USER, ADMIN, etc.)
-    @ManyToMany(fetch = FetchType.EAGER)
+    // User's roles (USER, ADMIN, etc.) - lazy; UserDAO.findByUserName fetches them for authentication
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "user_role",
                 joinColumns = @JoinColumn(name = "user_id"),
                 inverseJoinColumns = @JoinColumn(name = "role_id"))
@@ -0,0 +1,431 @@
+package com.ecommerce.project.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+
+/**
+ * In-process inverted index over product name, model and description.
+ * Replaces leading-wildcard LIKE scans for keyword and model search.
+ * Results are ranked with BM25, weighting name matches above model and description matches.
+ * Built from ProductDAO at startup and kept current by IProductServiceImpl on every product write.
+ * Searches never wait: they read concurrent maps without locking, while writes are serialized among themselves
+ * and a rebuild fills a fresh index that replaces the old one in one step. A search running alongside a write
+ * may see the product before or after the write, but only ever products that are fully indexed.
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    // Field weights: a hit in the name counts three times as much as one in the description
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float MODEL_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Standard BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    // Query terms also match every longer index term ("hood" -> "hoodie") at a reduced score,
+    // so a prefix finds everything the LIKE '%term%' it replaces found at the start of a word
+    private static final double PREFIX_MATCH_FACTOR = 0.5;
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final ProductDAO productDAO;
+    // Serializes writers; searches don't take it
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile IndexState state = new IndexState();
+
+    public ProductSearchIndex(ProductDAO productDAO) {
+        this.productDAO = productDAO;
+    }
+
+    /**
+     * Builds the index once all beans are ready, before the web server starts taking requests.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    /**
+     * Reloads every product from the database in id-ordered batches.
+     */
+    public void rebuild() {
+        long startedAt = System.currentTimeMillis();
+        // Writes wait for the rebuild so none is lost in the swap; searches keep using the old index meanwhile
+        writeLock.lock();
+        try {
+            IndexState rebuilt = new IndexState();
+            LongStream.Builder productIds = LongStream.builder();
+            Long lastProductId = Long.MIN_VALUE;
+            List<ProductSearchView> batch;
+            do {
+                batch = productDAO.findSearchViewsAfter(lastProductId, PageRequest.ofSize(LOAD_BATCH_SIZE));
+                for (ProductSearchView view : batch) {
+                    addDocument(rebuilt, IndexedProduct.of(view));
+                    productIds.add(view.getProductId());
+                    lastProductId = view.getProductId();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            // Loaded in id order, so already sorted
+            rebuilt.sortedProductIds = productIds.build().toArray();
+            state = rebuilt;
+        } finally {
+            writeLock.unlock();
+        }
+        logger.info("Product search index built with {} products in {} ms", size(), System.currentTimeMillis() - startedAt);
+    }
+
+    /**
+     * Adds a product to the index, replacing any previous version of it.
+     */
+    public void index(Product product) {
+        IndexedProduct indexedProduct = IndexedProduct.of(product);
+        writeLock.lock();
+        try {
+            IndexState current = state;
+            boolean newProduct = removeDocument(current, indexedProduct.productId()) == null;
+            addDocument(current, indexedProduct);
+            if (newProduct) {
+                current.sortedProductIds = withProductId(current.sortedProductIds, indexedProduct.productId());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Removes a product from the index
+    public void remove(Long productId) {
+        writeLock.lock();
+        try {
+            IndexState current = state;
+            if (removeDocument(current, productId) != null) {
+                current.sortedProductIds = withoutProductIds(current.sortedProductIds, Set.of(productId));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Updates the stored category name of every product in a renamed category.
+     * Category names are only used for filtering, so no terms change.
+     */
+    public void renameCategory(Long categoryId, String newCategoryName) {
+        writeLock.lock();
+        try {
+            state.documents.replaceAll((productId, document) -> categoryId.equals(document.product().categoryId())
+                    ? document.withProduct(document.product().withCategoryName(newCategoryName))
+                    : document);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Removes every product of a deleted category
+    public void removeCategory(Long categoryId) {
+        writeLock.lock();
+        try {
+            IndexState current = state;
+            Set<Long> productIds = new HashSet<>();
+            current.documents.values().stream()
+                    .map(IndexedDocument::product)
+                    .filter(product -> categoryId.equals(product.categoryId()))
+                    .forEach(product -> productIds.add(product.productId()));
+            productIds.forEach(productId -> removeDocument(current, productId));
+            current.sortedProductIds = withoutProductIds(current.sortedProductIds, productIds);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves the stored stock levels after an order took the given quantities (productId -> quantity) off stock.
+     */
+    public void stockTaken(Map<Long, Integer> quantitiesByProductId) {
+        writeLock.lock();
+        try {
+            IndexState current = state;
+            quantitiesByProductId.forEach((productId, quantity) -> current.documents.computeIfPresent(productId,
+                    (id, document) -> document.withProduct(document.product().withQuantityTakenOff(quantity))));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Finds products matching every keyword term (in name, model or description)
+     * and every model term (in model only), optionally restricted to categories whose name matches
+     * categoryPattern the way SQL LIKE does (case-sensitive, % and _ wildcards), like the database listing.
+     * Hits come back in no particular order; each carries its BM25 score.
+     */
+    public List<SearchHit> search(String keyword, String model, String categoryPattern) {
+        List<String> keywordTerms = ProductTextAnalyzer.tokenize(keyword);
+        List<String> modelTerms = ProductTextAnalyzer.tokenize(model);
+        Pattern categoryMatcher = categoryPattern != null ? likePattern(categoryPattern) : null;
+
+        IndexState current = state;
+        List<Map<Long, Double>> termScores = new ArrayList<>();
+        keywordTerms.forEach(term -> termScores.add(scoreTerm(current, term, false)));
+        modelTerms.forEach(term -> termScores.add(scoreTerm(current, term, true)));
+
+        Map<Long, Double> matchedScores = intersect(current, termScores);
+        List<SearchHit> hits = new ArrayList<>(matchedScores.size());
+        matchedScores.forEach((productId, score) -> {
+            IndexedDocument document = current.documents.get(productId);
+            // Removed since it was scored
+            if (document == null) {
+                return;
+            }
+            IndexedProduct product = document.product();
+            if (categoryMatcher == null
+                    || (product.categoryName() != null && categoryMatcher.matcher(product.categoryName()).matches())) {
+                hits.add(new SearchHit(product, score));
+            }
+        });
+        return hits;
+    }
+
+    public boolean contains(Long productId) {
+        return state.documents.containsKey(productId);
+    }
+
+    /**
+     * Up to limit product ids in ascending order, leaving out the excluded ids and skipping the first skip of the rest.
+     * Finds the starting point by binary search, so deep pages cost no more than the first one.
+     */
+    public List<Long> productIds(Set<Long> excludedIds, long skip, int limit) {
+        long[] productIds = state.sortedProductIds;
+        int[] excludedPositions = excludedIds.stream()
+                .mapToInt(productId -> Arrays.binarySearch(productIds, productId))
+                .filter(position -> position >= 0)
+                .sorted()
+                .toArray();
+
+        // Every excluded id at or before the start pushes the start one further along
+        long start = skip;
+        for (int excludedPosition : excludedPositions) {
+            if (excludedPosition > start) {
+                break;
+            }
+            start++;
+        }
+
+        List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, productIds.length)));
+        for (long position = start; position < productIds.length && page.size() < limit; position++) {
+            long productId = productIds[(int) position];
+            if (!excludedIds.contains(productId)) {
+                page.add(productId);
+            }
+        }
+        return page;
+    }
+
+    public int size() {
+        return state.documents.size();
+    }
+
+    // Translates a LIKE pattern into a regex: % is any run of characters, _ any one character, a backslash escapes the next one
+    private static Pattern likePattern(String likePattern) {
+        StringBuilder regex = new StringBuilder();
+        for (int i = 0; i < likePattern.length(); i++) {
+            char next = likePattern.charAt(i);
+            if (next == '\\' && i + 1 < likePattern.length()) {
+                regex.append(Pattern.quote(String.valueOf(likePattern.charAt(++i))));
+            } else if (next == '%') {
+                regex.append(".*");
+            } else if (next == '_') {
+                regex.append('.');
+            } else {
+                regex.append(Pattern.quote(String.valueOf(next)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    // Scores every product containing the term (or a longer term starting with it)
+    private Map<Long, Double> scoreTerm(IndexState current, String queryTerm, boolean modelOnly) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = current.documents.size();
+        double averageDocumentLength = documentCount == 0 ? 1.0 : current.totalDocumentLength.sum() / documentCount;
+
+        SortedMap<String, Map<Long, Posting>> expansions = current.postings.subMap(queryTerm, queryTerm + Character.MAX_VALUE);
+        for (Map.Entry<String, Map<Long, Posting>> expansion : expansions.entrySet()) {
+            boolean exactMatch = expansion.getKey().equals(queryTerm);
+            Map<Long, Posting> termPostings = expansion.getValue();
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            double matchFactor = exactMatch ? 1.0 : PREFIX_MATCH_FACTOR;
+
+            termPostings.forEach((productId, posting) -> {
+                double termFrequency = modelOnly ? posting.modelCount() * MODEL_WEIGHT : posting.weightedFrequency();
+                IndexedDocument document = current.documents.get(productId);
+                // Zero, or a product still being added or removed
+                if (termFrequency == 0 || document == null) {
+                    return;
+                }
+                double lengthNorm = 1 - B + B * document.length() / averageDocumentLength;
+                double score = matchFactor * idf * termFrequency * (K1 + 1) / (termFrequency + K1 * lengthNorm);
+                scores.merge(productId, score, Math::max);
+            });
+        }
+        return scores;
+    }
+
+    // Keeps products present in every term's result, summing their scores; no terms matches everything
+    private Map<Long, Double> intersect(IndexState current, List<Map<Long, Double>> termScores) {
+        if (termScores.isEmpty()) {
+            Map<Long, Double> everything = new HashMap<>();
+            current.documents.keySet().forEach(productId -> everything.put(productId, 0.0));
+            return everything;
+        }
+
+        termScores.sort(Comparator.comparingInt(Map::size));
+        Map<Long, Double> matched = new HashMap<>(termScores.get(0));
+        for (int i = 1; i < termScores.size() && !matched.isEmpty(); i++) {
+            Map<Long, Double> nextTerm = termScores.get(i);
+            matched.keySet().retainAll(nextTerm.keySet());
+            matched.replaceAll((productId, score) -> score + nextTerm.get(productId));
+        }
+        return matched;
+    }
+
+    // Postings first, document last, so a search only finds the product once it is complete
+    private void addDocument(IndexState target, IndexedProduct product) {
+        Map<String, float[]> frequencies = new HashMap<>();
+        double length = countTerms(frequencies, product.productName(), NAME_WEIGHT, false)
+                + countTerms(frequencies, product.model(), MODEL_WEIGHT, true)
+                + countTerms(frequencies, product.description(), DESCRIPTION_WEIGHT, false);
+
+        frequencies.forEach((term, counts) -> target.postings
+                .computeIfAbsent(term, key -> new ConcurrentHashMap<>())
+                .put(product.productId(), new Posting(counts[0], (int) counts[1])));
+
+        target.totalDocumentLength.add(length);
+        target.documents.put(product.productId(), new IndexedDocument(product, length, Set.copyOf(frequencies.keySet())));
+    }
+
+    // Adds weighted counts for each term of the field; returns the field's weighted length
+    private double countTerms(Map<String, float[]> frequencies, String fieldText, float weight, boolean modelField) {
+        List<String> terms = ProductTextAnalyzer.tokenize(fieldText);
+        for (String term : terms) {
+            float[] counts = frequencies.computeIfAbsent(term, key -> new float[2]);
+            counts[0] += weight;
+            if (modelField) {
+                counts[1]++;
+            }
+        }
+        return terms.size() * (double) weight;
+    }
+
+    // Document first, so searches stop finding the product before its postings go; returns the removed document
+    private IndexedDocument removeDocument(IndexState target, Long productId) {
+        IndexedDocument document = target.documents.remove(productId);
+        if (document == null) {
+            return null;
+        }
+        target.totalDocumentLength.add(-document.length());
+        for (String term : document.terms()) {
+            Map<Long, Posting> termPostings = target.postings.get(term);
+            termPostings.remove(productId);
+            if (termPostings.isEmpty()) {
+                target.postings.remove(term);
+            }
+        }
+        return document;
+    }
+
+    private static long[] withProductId(long[] sortedProductIds, long productId) {
+        int insertionPoint = -Arrays.binarySearch(sortedProductIds, productId) - 1;
+        long[] updated = new long[sortedProductIds.length + 1];
+        System.arraycopy(sortedProductIds, 0, updated, 0, insertionPoint);
+        updated[insertionPoint] = productId;
+        System.arraycopy(sortedProductIds, insertionPoint, updated, insertionPoint + 1, sortedProductIds.length - insertionPoint);
+        return updated;
+    }
+
+    private static long[] withoutProductIds(long[] sortedProductIds, Set<Long> removedIds) {
+        return Arrays.stream(sortedProductIds).filter(productId -> !removedIds.contains(productId)).toArray();
+    }
+
+    /**
+     * Product fields kept in the index: the searchable text plus what is needed to
+     * filter by category and sort results without going back to the database.
+     */
+    public record IndexedProduct(Long productId, String productName, String model, String description,
+                                 Integer quantity, double price, Long categoryId, String categoryName) {
+
+        static IndexedProduct of(Product product) {
+            Category category = product.getCategory();
+            return new IndexedProduct(product.getProductId(), product.getProductName(), product.getModel(),
+                    product.getDescription(), product.getQuantity(), product.getPrice(),
+                    category != null ? category.getCategoryId() : null,
+                    category != null ? category.getCategoryName() : null);
+        }
+
+        static IndexedProduct of(ProductSearchView view) {
+            return new IndexedProduct(view.getProductId(), view.getProductName(), view.getModel(),
+                    view.getDescription(), view.getQuantity(), view.getPrice(),
+                    view.getCategoryId(), view.getCategoryName());
+        }
+
+        IndexedProduct withCategoryName(String newCategoryName) {
+            return new IndexedProduct(productId, productName, model, description, quantity, price, categoryId, newCategoryName);
+        }
+
+        IndexedProduct withQuantityTakenOff(int takenQuantity) {
+            Integer newQuantity = quantity != null ? quantity - takenQuantity : null;
+            return new IndexedProduct(productId, productName, model, description, newQuantity, price, categoryId, categoryName);
+        }
+    }
+
+    // A matching product and how well it matched
+    public record SearchHit(IndexedProduct product, double score) {
+    }
+
+    // Weighted frequency across all fields, plus the raw count in the model field (for model-only filters)
+    private record Posting(float weightedFrequency, int modelCount) {
+    }
+
+    // Everything a search reads. Writers change it in place (one at a time); a rebuild fills a new one and swaps it in
+    private static final class IndexState {
+        // productId -> indexed document
+        final Map<Long, IndexedDocument> documents = new ConcurrentHashMap<>();
+        // term -> (productId -> term frequencies); sorted so prefix lookups are a range scan
+        final ConcurrentSkipListMap<String, Map<Long, Posting>> postings = new ConcurrentSkipListMap<>();
+        final DoubleAdder totalDocumentLength = new DoubleAdder();
+        // Every indexed product id in ascending order, replaced (never changed) when products come or go
+        volatile long[] sortedProductIds = new long[0];
+    }
+
+    // Indexed product plus its weighted length and terms (needed to remove it again)
+    private record IndexedDocument(IndexedProduct product, double length, Set<String> terms) {
+        IndexedDocument withProduct(IndexedProduct newProduct) {
+            return new IndexedDocument(newProduct, length, terms);
+        }
+    }
+}
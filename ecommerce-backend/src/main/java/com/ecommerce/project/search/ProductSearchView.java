@@ -0,0 +1,24 @@
+package com.ecommerce.project.search;
+
+/**
+ * Projection of the product columns the search index needs.
+ * Lets the index be (re)built without loading full Product entities.
+ */
+public interface ProductSearchView {
+
+    Long getProductId();
+
+    String getProductName();
+
+    String getModel();
+
+    String getDescription();
+
+    Integer getQuantity();
+
+    double getPrice();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
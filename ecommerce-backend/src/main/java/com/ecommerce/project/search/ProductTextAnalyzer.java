@@ -0,0 +1,68 @@
+package com.ecommerce.project.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Turns product text and search input into index terms.
+ * Lower-cases and splits on anything that isn't a letter or digit ("XPS-13" -> "xps", "13").
+ * Shared by the search index and the listing cache so both agree on what "matches" means.
+ */
+public final class ProductTextAnalyzer {
+
+    private ProductTextAnalyzer() {
+    }
+
+    /**
+     * Splits text into lower-case terms. Returns an empty list for null or blank text.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        int termStart = -1;
+        for (int i = 0; i < lowerCaseText.length(); i++) {
+            if (Character.isLetterOrDigit(lowerCaseText.charAt(i))) {
+                if (termStart < 0) {
+                    termStart = i;
+                }
+            } else if (termStart >= 0) {
+                terms.add(lowerCaseText.substring(termStart, i));
+                termStart = -1;
+            }
+        }
+        if (termStart >= 0) {
+            terms.add(lowerCaseText.substring(termStart));
+        }
+        return terms;
+    }
+
+    /**
+     * True if every query term is a prefix of at least one term in the given fields.
+     * This is the loosest form of match the index can return, so callers can use it
+     * as a conservative "could this product show up for this query" check.
+     */
+    public static boolean couldMatch(String query, String... fields) {
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return true;
+        }
+
+        List<String> fieldTerms = new ArrayList<>();
+        for (String field : fields) {
+            fieldTerms.addAll(tokenize(field));
+        }
+
+        for (String queryTerm : queryTerms) {
+            boolean termFound = fieldTerms.stream().anyMatch(fieldTerm -> fieldTerm.startsWith(queryTerm));
+            if (!termFound) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
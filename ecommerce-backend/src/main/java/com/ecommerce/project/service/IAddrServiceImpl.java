@@ -3,27 +3,34 @@ package com.ecommerce.project.service;
 import java.util.List;
 
 import com.ecommerce.project.model.Address;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.project.DAO.AddressDAO;
 import com.ecommerce.project.DAO.UserDAO;
 import com.ecommerce.project.DTO.AddressDto;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.mapper.AddressMapper;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.service.Interface.IAddrService;
 
+import jakarta.transaction.Transactional;
+
+/**
+ * Service implementation for user addresses.
+ * Address changes are written through the address itself; the user's address list is
+ * only touched when it is already loaded, and the user is never re-saved.
+ */
 @Service
+@Transactional
 public class IAddrServiceImpl implements IAddrService {
 
     private final AddressDAO addressDAO;
     private final UserDAO userDAO;
-    private final ModelMapper objectMapper;
 
-    public IAddrServiceImpl(AddressDAO addressDAO, UserDAO userDAO, ModelMapper objectMapper) {
+    public IAddrServiceImpl(AddressDAO addressDAO, UserDAO userDAO) {
         this.addressDAO = addressDAO;
         this.userDAO = userDAO;
-        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -65,8 +72,8 @@ public class IAddrServiceImpl implements IAddrService {
         Address existingAddress = fetchAddressOrThrowException(addressId);
         applyAddressUpdates(existingAddress, addressDTO);
 
+        // The address is managed, so the user's loaded address list already holds this instance
         Address modifiedAddress = addressDAO.save(existingAddress);
-        synchronizeUserAddressList(existingAddress.getUser(), addressId, modifiedAddress);
 
         return convertEntityToDTO(modifiedAddress);
     }
@@ -83,11 +90,11 @@ public class IAddrServiceImpl implements IAddrService {
     }
 
     private Address convertDTOToEntity(AddressDto addressDTO) {
-        return objectMapper.map(addressDTO, Address.class);
+        return AddressMapper.toEntity(addressDTO);
     }
 
     private AddressDto convertEntityToDTO(Address address) {
-        return objectMapper.map(address, AddressDto.class);
+        return AddressMapper.toDto(address);
     }
 
     private List<AddressDto> transformAddressesToDTOs(List<Address> addresses) {
@@ -98,9 +105,10 @@ public class IAddrServiceImpl implements IAddrService {
 
     private void associateAddressWithUser(Address addressEntity, User user) {
         addressEntity.setUser(user);
-        List<Address> userAddressCollection = user.getAddresses();
-        userAddressCollection.add(addressEntity);
-        user.setAddresses(userAddressCollection);
+        // Only keep an already loaded address list in step; never load it just to add one address
+        if (Hibernate.isInitialized(user.getAddresses())) {
+            user.getAddresses().add(addressEntity);
+        }
     }
 
     private Address fetchAddressOrThrowException(Long addressId) {
@@ -122,15 +130,10 @@ public class IAddrServiceImpl implements IAddrService {
         targetAddress.setBuildingName(sourceDTO.getBuildingName());
     }
 
-    private void synchronizeUserAddressList(User user, Long addressIdToReplace, Address newAddress) {
-        user.getAddresses().removeIf(address -> address.getAddressId().equals(addressIdToReplace));
-        user.getAddresses().add(newAddress);
-        userDAO.save(user);
-    }
-
     private void removeAddressFromUser(User user, Long addressId) {
-        user.getAddresses().removeIf(address -> address.getAddressId().equals(addressId));
-        userDAO.save(user);
+        if (Hibernate.isInitialized(user.getAddresses())) {
+            user.getAddresses().removeIf(address -> address.getAddressId().equals(addressId));
+        }
     }
 
     private String buildDeletionMessage(Long addressId) {
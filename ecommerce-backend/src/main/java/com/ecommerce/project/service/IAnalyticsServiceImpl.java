@@ -1,42 +1,124 @@
 package com.ecommerce.project.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 import org.springframework.stereotype.Service;
 
-import com.ecommerce.project.DAO.OrderDAO;
+import com.ecommerce.project.DAO.DailySalesRollupDAO;
+import com.ecommerce.project.DAO.HourlySalesRollupDAO;
 import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DTO.APIResponse;
 import com.ecommerce.project.DTO.AnalyticsResponse;
+import com.ecommerce.project.DTO.BestSellerDto;
+import com.ecommerce.project.DTO.BestSellerResponse;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.DTO.SalesRollupDto;
+import com.ecommerce.project.DTO.SalesRollupResponse;
+import com.ecommerce.project.analytics.BestSellerTracker;
+import com.ecommerce.project.analytics.BestSellerTracker.BestSeller;
+import com.ecommerce.project.analytics.BestSellerTracker.Window;
+import com.ecommerce.project.analytics.SalesRollups;
+import com.ecommerce.project.analytics.StoreCounters;
+import com.ecommerce.project.analytics.StoreCounters.Totals;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.service.Interface.IAnalyticsService;
 
 @Service
 public class IAnalyticsServiceImpl implements IAnalyticsService {
 
+    private static final String HOURLY = "hour";
+    private static final String DAILY = "day";
+    private static final long MAX_HOURLY_RANGE_DAYS = 92;
+    private static final long MAX_DAILY_RANGE_DAYS = 3660;
+
+    private final StoreCounters storeCounters;
+    private final SalesRollups salesRollups;
+    private final HourlySalesRollupDAO hourlyRollupDAO;
+    private final DailySalesRollupDAO dailyRollupDAO;
+    private final BestSellerTracker bestSellerTracker;
     private final ProductDAO productDAO;
-    private final OrderDAO orderDAO;
 
-    public IAnalyticsServiceImpl(ProductDAO productDAO, OrderDAO orderDAO) {
+    public IAnalyticsServiceImpl(StoreCounters storeCounters, SalesRollups salesRollups,
+                                 HourlySalesRollupDAO hourlyRollupDAO, DailySalesRollupDAO dailyRollupDAO,
+                                 BestSellerTracker bestSellerTracker, ProductDAO productDAO) {
+        this.storeCounters = storeCounters;
+        this.salesRollups = salesRollups;
+        this.hourlyRollupDAO = hourlyRollupDAO;
+        this.dailyRollupDAO = dailyRollupDAO;
+        this.bestSellerTracker = bestSellerTracker;
         this.productDAO = productDAO;
-        this.orderDAO = orderDAO;
     }
 
+    // Reads the running totals; no counting or summing in the database
     @Override
     public AnalyticsResponse getAnalytics() {
-        long productCount = calculateProductCount();
-        long totalOrders = calculateTotalOrders();
-        Double totalRevenue = calculateTotalRevenue();
+        Totals totals = storeCounters.current();
+        return buildAnalyticsResponse(totals.productCount(), totals.orderCount(), totals.totalRevenue());
+    }
+
+    // Reads the pre-aggregated rollup rows for the range; no scan of orders or order_items
+    @Override
+    public SalesRollupResponse getSalesRollups(String granularity, LocalDate from, LocalDate to, Long categoryId) {
+        validateDateRange(from, to);
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+        long rangeDays = ChronoUnit.DAYS.between(from, to) + 1;
+
+        List<SalesRollupDto> buckets;
+        if (HOURLY.equalsIgnoreCase(granularity)) {
+            validateRangeLength(rangeDays, MAX_HOURLY_RANGE_DAYS, granularity);
+            buckets = hourlyRollupDAO.findRollups(rangeStart, rangeEnd, categoryId);
+        } else if (DAILY.equalsIgnoreCase(granularity)) {
+            validateRangeLength(rangeDays, MAX_DAILY_RANGE_DAYS, granularity);
+            buckets = dailyRollupDAO.findRollups(rangeStart, rangeEnd, categoryId);
+        } else {
+            throw new APIErrorHandler("Granularity must be 'hour' or 'day'");
+        }
 
-        return buildAnalyticsResponse(productCount, totalOrders, totalRevenue);
+        return new SalesRollupResponse(granularity.toLowerCase(), from, to, buckets);
     }
 
-    private long calculateProductCount() {
-        return productDAO.count();
+    @Override
+    public APIResponse backfillSalesRollups(LocalDate from, LocalDate to) {
+        validateDateRange(from, to);
+        if (!to.isBefore(LocalDate.now())) {
+            throw new APIErrorHandler("Only complete days can be backfilled; the range must end before today");
+        }
+        int rebuiltDays = salesRollups.backfill(from, to);
+        return new APIResponse("Sales rollups rebuilt for " + rebuiltDays + " days", true);
+    }
+
+    // Ranks from the in-memory tracker; only the names of the returned products are loaded
+    @Override
+    public BestSellerResponse getBestSellers(String window, int limit) {
+        Window salesWindow = Window.fromLabel(window);
+        List<BestSeller> bestSellers = bestSellerTracker.top(salesWindow, limit);
+
+        List<Long> productIds = bestSellers.stream().map(BestSeller::productId).toList();
+        Map<Long, String> productNames = productDAO.findProductDtosByIds(productIds).stream()
+                .collect(Collectors.toMap(ProductDTO::getProductId, ProductDTO::getProductName));
+        List<BestSellerDto> content = bestSellers.stream()
+                .map(bestSeller -> new BestSellerDto(bestSeller.productId(), productNames.get(bestSeller.productId()),
+                        bestSeller.unitsSold(), bestSeller.maxOvercount()))
+                .toList();
+        return new BestSellerResponse(salesWindow.label(), content);
     }
 
-    private long calculateTotalOrders() {
-        return orderDAO.count();
+    private void validateDateRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new APIErrorHandler("The start date must not be after the end date");
+        }
     }
 
-    private Double calculateTotalRevenue() {
-        return orderDAO.calculateTotalRevenue();
+    private void validateRangeLength(long rangeDays, long maxDays, String granularity) {
+        if (rangeDays > maxDays) {
+            throw new APIErrorHandler("Ranges with " + granularity.toLowerCase() + " granularity can cover at most " + maxDays + " days");
+        }
     }
 
     private AnalyticsResponse buildAnalyticsResponse(long productCount, long totalOrders, Double totalRevenue) {
@@ -0,0 +1,147 @@
+package com.ecommerce.project.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.OrderPlacementStatusDto;
+import com.ecommerce.project.cache.BoundedTtlCache;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+import com.ecommerce.project.service.Interface.IAsyncOrderService;
+import com.ecommerce.project.service.Interface.IOrderService;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service implementation for asynchronous order placement
+ * Business logic: Validates the request on the caller's thread, then places the order on a virtual thread.
+ * A semaphore caps how many placements hold a database connection at once, so checkout bursts
+ * queue up here instead of exhausting the connection pool. Statuses are kept in memory with a TTL.
+ * The worker orders exactly the cart that was validated: if the cart changed in between, the order fails.
+ */
+@Service
+public class IAsyncOrderServiceImpl implements IAsyncOrderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IAsyncOrderServiceImpl.class);
+
+    private static final String QUEUED = "QUEUED";
+    private static final String PROCESSING = "PROCESSING";
+    private static final String COMPLETED = "COMPLETED";
+    private static final String FAILED = "FAILED";
+
+    private final IOrderService orderService;
+    private final ExecutorService orderWorkers = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore placementPermits;
+    private final int maxPendingOrders;
+    private final AtomicInteger pendingOrders = new AtomicInteger();
+    private final BoundedTtlCache<String, PlacementStatus> placementStatuses;
+
+    public IAsyncOrderServiceImpl(IOrderService orderService,
+                                  @Value("${orders.async.max-concurrent:5}") int maxConcurrentPlacements,
+                                  @Value("${orders.async.max-pending:1000}") int maxPendingOrders,
+                                  @Value("${orders.async.status-ttl-seconds:3600}") long statusTtlSeconds) {
+        this.orderService = orderService;
+        this.placementPermits = new Semaphore(maxConcurrentPlacements, true);
+        this.maxPendingOrders = maxPendingOrders;
+        // Pending orders are never evicted or expired before they finish; finished ones get the rest of the room
+        this.placementStatuses = new BoundedTtlCache<>("orderPlacementStatus", maxPendingOrders * 10,
+                Duration.ofSeconds(statusTtlSeconds), PlacementStatus::isFinished);
+    }
+
+    // Validate the request, record it as queued and hand it to a worker
+    @Override
+    public OrderPlacementStatusDto submitOrder(String emailId, Long addressId, String paymentMethod, String pgName,
+                                               String pgPaymentId, String pgStatus, String pgResponseMessage) {
+        Map<Long, Integer> validatedQuantities = orderService.validateOrderRequest(emailId, addressId);
+
+        if (pendingOrders.incrementAndGet() > maxPendingOrders) {
+            pendingOrders.decrementAndGet();
+            throw new TooManyRequestsException("Too many orders are waiting to be processed, please try again shortly");
+        }
+
+        String orderReference = UUID.randomUUID().toString();
+        PlacementStatus queued = new PlacementStatus(emailId, QUEUED, null, null);
+        // No room only if every status left is a pending one
+        if (placementStatuses.putIfRoom(orderReference, queued) == null) {
+            pendingOrders.decrementAndGet();
+            throw new TooManyRequestsException("Too many orders are waiting to be processed, please try again shortly");
+        }
+
+        orderWorkers.execute(() -> placeOrder(orderReference, emailId, addressId, paymentMethod, pgName,
+                pgPaymentId, pgStatus, pgResponseMessage, validatedQuantities));
+
+        return queued.toDto(orderReference);
+    }
+
+    // Get the status of one of the user's queued orders
+    @Override
+    public OrderPlacementStatusDto getPlacementStatus(String emailId, String orderReference) {
+        PlacementStatus placementStatus = placementStatuses.get(orderReference);
+        // Someone else's reference looks exactly like an unknown one
+        if (placementStatus == null || !placementStatus.ownerEmail().equals(emailId)) {
+            throw new ResourceNotFoundException("Order request", "reference", orderReference);
+        }
+        return placementStatus.toDto(orderReference);
+    }
+
+    // Let orders that are already running finish before the application shuts down
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        orderWorkers.shutdown();
+        if (!orderWorkers.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("{} queued orders were still pending at shutdown", pendingOrders.get());
+        }
+    }
+
+    // Runs on a worker: waits for a permit, then places the order in its own transaction
+    private void placeOrder(String orderReference, String emailId, Long addressId, String paymentMethod, String pgName,
+                            String pgPaymentId, String pgStatus, String pgResponseMessage, Map<Long, Integer> validatedQuantities) {
+        try {
+            placementPermits.acquire();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            placementStatuses.put(orderReference, new PlacementStatus(emailId, FAILED, null, "Order processing was interrupted"));
+            pendingOrders.decrementAndGet();
+            return;
+        }
+
+        try {
+            placementStatuses.put(orderReference, new PlacementStatus(emailId, PROCESSING, null, null));
+            OrderDto placedOrder = orderService.placeOrder(emailId, addressId, paymentMethod, pgName,
+                    pgPaymentId, pgStatus, pgResponseMessage, validatedQuantities);
+            placementStatuses.put(orderReference, new PlacementStatus(emailId, COMPLETED, placedOrder, null));
+        } catch (APIErrorHandler | ResourceNotFoundException exception) {
+            placementStatuses.put(orderReference, new PlacementStatus(emailId, FAILED, null, exception.getMessage()));
+        } catch (RuntimeException exception) {
+            logger.error("Queued order {} failed", orderReference, exception);
+            placementStatuses.put(orderReference, new PlacementStatus(emailId, FAILED, null, "The order could not be placed, please try again"));
+        } finally {
+            placementPermits.release();
+            pendingOrders.decrementAndGet();
+        }
+    }
+
+    // What is known about a queued order, plus who may see it
+    private record PlacementStatus(String ownerEmail, String status, OrderDto order, String message) {
+        boolean isFinished() {
+            return COMPLETED.equals(status) || FAILED.equals(status);
+        }
+
+        OrderPlacementStatusDto toDto(String orderReference) {
+            return new OrderPlacementStatusDto(orderReference, status, order, message);
+        }
+    }
+}
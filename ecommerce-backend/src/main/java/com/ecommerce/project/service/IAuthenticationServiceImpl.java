@@ -5,8 +5,9 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseCookie;
@@ -15,26 +16,29 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.project.DAO.RoleDAO;
 import com.ecommerce.project.DAO.UserDAO;
 import com.ecommerce.project.DTO.AddressDto;
 import com.ecommerce.project.DTO.AuthenticationResult;
+import com.ecommerce.project.DTO.PasswordHashingStatsResponse;
 import com.ecommerce.project.DTO.PaymentCardDTO;
 import com.ecommerce.project.DTO.UserDTO;
 import com.ecommerce.project.DTO.UserResponse;
+import com.ecommerce.project.cache.UserDetailsCache;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
 import com.ecommerce.project.model.AppRole;
 import com.ecommerce.project.model.Role;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.JwtAuth.jwt.JwtUtils;
+import com.ecommerce.project.JwtAuth.jwt.TokenDenyList;
 import com.ecommerce.project.JwtAuth.request.LoginRequest;
 import com.ecommerce.project.JwtAuth.request.SignupRequest;
 import com.ecommerce.project.JwtAuth.request.UpdateUsernameRequest;
 import com.ecommerce.project.JwtAuth.response.MessageResponse;
 import com.ecommerce.project.JwtAuth.response.UserInfoResponse;
+import com.ecommerce.project.JwtAuth.services.PooledPasswordEncoder;
 import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
 import com.ecommerce.project.service.Interface.IAddrService;
 import com.ecommerce.project.service.Interface.IAuthenticationService;
@@ -53,22 +57,25 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
     private final JwtUtils jwtUtils;
     private final UserDAO userDAO;
     private final RoleDAO roleDAO;
-    private final PasswordEncoder encoder;
-    private final ModelMapper objectMapper;
+    private final PooledPasswordEncoder encoder;
     private final IAddrService addressService;
     private final IPaymentCardService paymentCardService;
+    private final TokenDenyList tokenDenyList;
+    private final UserDetailsCache userDetailsCache;
 
     public IAuthenticationServiceImpl(AuthenticationManager authenticationManager, JwtUtils jwtUtils,
-                                      UserDAO userDAO, RoleDAO roleDAO, PasswordEncoder encoder, ModelMapper objectMapper,
-                                      IAddrService addressService, IPaymentCardService paymentCardService) {
+                                      UserDAO userDAO, RoleDAO roleDAO, PooledPasswordEncoder encoder,
+                                      IAddrService addressService, IPaymentCardService paymentCardService,
+                                      TokenDenyList tokenDenyList, UserDetailsCache userDetailsCache) {
         this.authenticationManager = authenticationManager;
         this.jwtUtils = jwtUtils;
         this.userDAO = userDAO;
         this.roleDAO = roleDAO;
         this.encoder = encoder;
-        this.objectMapper = objectMapper;
         this.addressService = addressService;
         this.paymentCardService = paymentCardService;
+        this.tokenDenyList = tokenDenyList;
+        this.userDetailsCache = userDetailsCache;
     }
 
     // Authenticate user credentials and generate JWT token
@@ -78,8 +85,9 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
         SecurityContextHolder.getContext().setAuthentication(authenticationResult);
 
         UserDetailsImpl authenticatedUser = (UserDetailsImpl) authenticationResult.getPrincipal();
-        ResponseCookie sessionCookie = jwtUtils.generateJwtCookie(authenticatedUser);
-        String tokenString = jwtUtils.generateTokenFromUsername(authenticatedUser.getUsername());
+        // Sign once; the cookie and the response body carry the same token
+        String tokenString = jwtUtils.generateToken(authenticatedUser);
+        ResponseCookie sessionCookie = jwtUtils.generateJwtCookie(tokenString);
         List<String> userAuthorities = extractUserAuthorities(authenticatedUser);
 
         UserInfoResponse userInfo = buildUserInfoResponse(authenticatedUser, userAuthorities, tokenString);
@@ -114,18 +122,40 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
         return buildUserInfoResponseWithoutToken(currentUserDetails, userAuthorities);
     }
 
-    // Clear JWT cookie to logout user
+    // Revoke the request's JWT and clear the cookie to logout user
     @Override
-    public ResponseCookie logoutUser() {
+    public ResponseCookie logoutUser(HttpServletRequest request) {
+        String jwtToken = jwtUtils.getJwtFromCookies(request);
+        if (jwtToken == null) {
+            jwtToken = jwtUtils.getJwtFromHeader(request);
+        }
+        Claims claims = jwtToken != null ? jwtUtils.parseValidClaims(jwtToken) : null;
+        if (claims != null) {
+            tokenDenyList.revokeToken(claims);
+        }
         return jwtUtils.getCleanJwtCookie();
     }
 
+    // Revoke every token issued to a user so far (e.g. after their roles changed)
+    @Override
+    public MessageResponse revokeUserTokens(Long userId) {
+        User user = userDAO.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "userId", userId));
+        tokenDenyList.revokeUserTokens(userId);
+        userDetailsCache.evict(user.getUserName());
+        return new MessageResponse("All sessions of the user have been signed out");
+    }
+
     // Get all users with ROLE_USER (customers) with pagination
     @Override
     public UserResponse getAllCustomers(Pageable pageable) {
-        Page<User> customerPage = userDAO.findByRoleName(AppRole.ROLE_USER, pageable);
-        List<UserDTO> customerDataList = transformCustomersToDTO(customerPage);
-        return buildUserResponseData(customerPage, customerDataList);
+        Page<UserDTO> customerPage = userDAO.findUserDtosByRoleName(AppRole.ROLE_USER, pageable);
+        return buildUserResponseData(customerPage, customerPage.getContent());
+    }
+
+    @Override
+    public PasswordHashingStatsResponse getPasswordHashingStats() {
+        return encoder.stats();
     }
 
     // Update username for current user (validates uniqueness)
@@ -142,6 +172,9 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
 
         existingUser.setUserName(request.getUsername());
         userDAO.save(existingUser);
+        // Existing tokens and cached user details still carry the old username
+        tokenDenyList.revokeUserTokens(existingUser.getUserId());
+        userDetailsCache.evict(currentlyLoggedInUsername, request.getUsername());
 
         return ResponseEntity.ok(new MessageResponse("Your username has been changed successfully!"));
     }
@@ -240,13 +273,7 @@ public class IAuthenticationServiceImpl implements IAuthenticationService {
         return paymentCardDTO;
     }
 
-    private List<UserDTO> transformCustomersToDTO(Page<User> customerPage) {
-        return customerPage.getContent().stream()
-                .map(customerEntity -> objectMapper.map(customerEntity, UserDTO.class))
-                .collect(Collectors.toList());
-    }
-
-    private UserResponse buildUserResponseData(Page<User> customerPage, List<UserDTO> customerDataList) {
+    private UserResponse buildUserResponseData(Page<UserDTO> customerPage, List<UserDTO> customerDataList) {
         UserResponse responseData = new UserResponse();
         responseData.setContent(customerDataList);
         responseData.setPageNumber(customerPage.getNumber());
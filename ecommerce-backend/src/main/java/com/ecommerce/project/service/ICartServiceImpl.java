@@ -1,11 +1,18 @@
 // Cart service - handles all shopping cart operations like adding items, updating quantities, etc.
 package com.ecommerce.project.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -14,10 +21,10 @@ import com.ecommerce.project.DAO.CartItemDAO;
 import com.ecommerce.project.DAO.ProductDAO;
 import com.ecommerce.project.DTO.CartDto;
 import com.ecommerce.project.DTO.CartItemDto;
-import com.ecommerce.project.DTO.ProductDTO;
 import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
 import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.mapper.CartMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.CartItem;
 import com.ecommerce.project.model.Product;
@@ -32,24 +39,24 @@ public class ICartServiceImpl implements ICartService {
     private final CartItemDAO cartItemDAO;
     private final ProductDAO productDAO;
 
-    // Object-to-DTO transformation utility
-    private final ModelMapper objectMapper;
-
     // User authentication context provider
     private final AuthHelper userAuthHelper;
 
+    // Persistence context of the current transaction, resynced after the bulk line writes
+    private final EntityManager entityManager;
+
     // Base path for product image resources
     @Value("${image.base.url}")
     private String imageResourcePath;
 
     // Constructor - Spring automatically injects these dependencies
     public ICartServiceImpl(CartDAO cartDAO, CartItemDAO cartItemDAO, ProductDAO productDAO,
-                            ModelMapper objectMapper, AuthHelper userAuthHelper) {
+                            AuthHelper userAuthHelper, EntityManager entityManager) {
         this.cartDAO = cartDAO;
         this.cartItemDAO = cartItemDAO;
         this.productDAO = productDAO;
-        this.objectMapper = objectMapper;
         this.userAuthHelper = userAuthHelper;
+        this.entityManager = entityManager;
     }
 
     // Add a product to the current user's cart
@@ -67,15 +74,10 @@ public class ICartServiceImpl implements ICartService {
         // Check if we have enough stock
         validateProductAvailability(selectedProduct, quantity);
 
-        // Create cart item and save it
+        // Create cart item and save it (the cart total is derived from the lines)
         CartItem newEntry = createCartItem(selectedProduct, shoppingCart, quantity);
         cartItemDAO.save(newEntry);
 
-        // Update cart total price
-        shoppingCart.setTotalPrice(shoppingCart.getTotalPrice() +
-                (selectedProduct.getPrice() * quantity));
-        cartDAO.save(shoppingCart);
-
         // Return cart as DTO
         return buildCartDTOWithProducts(shoppingCart);
     }
@@ -103,6 +105,14 @@ public class ICartServiceImpl implements ICartService {
         return buildCartDTOWithProducts(userCart);
     }
 
+    // Get a user's cart; the cart, its lines, their products and the total all come from one query
+    @Override
+    public CartDto getUserCart(Long userId) {
+        Cart userCart = cartDAO.fetchCartWithItemsByUserId(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Cart", "userId", userId));
+        return CartMapper.resolveImageUrls(CartMapper.toDto(userCart), imageResourcePath);
+    }
+
     // Update quantity of a product in cart (can increase or decrease)
     @Override
     public CartDto updateProductQuantityInCart(Long productId, Integer quantity) {
@@ -125,9 +135,8 @@ public class ICartServiceImpl implements ICartService {
         if (updatedQuantity == 0) {
             deleteProductFromCart(currentUserCart.getCartId(), productId);
         } else {
-            // Update item quantity and cart total
+            // Update item quantity (the cart total is derived from the lines)
             updateCartItemDetails(targetItem, targetProduct, quantity);
-            updateCartTotalPrice(currentUserCart, targetItem.getProductPrice() * quantity);
             cartItemDAO.save(targetItem);
         }
 
@@ -138,35 +147,36 @@ public class ICartServiceImpl implements ICartService {
     @Override
     public String deleteProductFromCart(Long cartId, Long productId) {
         // Find cart and item
-        Cart targetCart = fetchCartOrThrowException(cartId);
+        fetchCartOrThrowException(cartId);
         CartItem itemToRemove = fetchCartItemOrThrowException(cartId, productId);
 
-        // Update cart total price
-        deductFromCartTotalPrice(targetCart, itemToRemove);
-
-        // Delete the item
+        // Delete the item (the cart total is derived from the lines)
         cartItemDAO.removeCartItemByProductAndCart(cartId, productId);
 
         return buildDeletionMessage(itemToRemove.getProduct().getProductName());
     }
 
+    // Take the product out of every cart with one DELETE, however many carts hold it
+    @Override
+    public void removeProductFromAllCarts(Long productId) {
+        cartItemDAO.removeAllItemsByProduct(productId);
+    }
+
+    // Empty the cart with one DELETE, however many items it holds; the total follows from the lines
+    @Override
+    public void clearCart(Long cartId) {
+        cartItemDAO.removeAllItemsByCart(cartId);
+    }
+
     // Update cart item when product price changes
     @Override
     public void updateProductInCarts(Long cartId, Long productId) {
-        // Get cart, product, and cart item
-        Cart targetCart = fetchCartOrThrowException(cartId);
+        // Get product and cart item
         Product updatedProduct = fetchProductOrThrowException(productId);
         CartItem affectedItem = fetchCartItemOrThrowException(cartId, productId);
 
-        // Calculate price difference
-        double priceBeforeUpdate = affectedItem.getProductPrice() * affectedItem.getQty();
+        // Reprice the line (the cart total is derived from the lines)
         affectedItem.setProductPrice(updatedProduct.getPrice());
-        double priceAfterUpdate = affectedItem.getProductPrice() * affectedItem.getQty();
-
-        // Update cart total
-        double recalculatedTotalPrice = targetCart.getTotalPrice() - priceBeforeUpdate + priceAfterUpdate;
-        targetCart.setTotalPrice(recalculatedTotalPrice);
-
         cartItemDAO.save(affectedItem);
     }
 
@@ -177,19 +187,33 @@ public class ICartServiceImpl implements ICartService {
         String currentUserEmail = userAuthHelper.loggedInEmail();
         Cart availableCart = createOrFetchCartForUser(currentUserEmail);
 
-        // Clear existing items
-        clearExistingCartItems(availableCart.getCartId());
-
-        // Add new items and calculate total
-        double cumulativePrice = processCartItems(cartItems, availableCart);
+        // Merge lines for the same product, then load every product with one query and check stock
+        Map<Long, Integer> requestedQuantities = mergeRequestedQuantities(cartItems);
+        Map<Long, Product> catalogProducts = fetchProductsOrThrowException(requestedQuantities.keySet());
+        requestedQuantities.forEach((productId, quantity) ->
+                validateProductAvailability(catalogProducts.get(productId), quantity));
 
-        // Update cart total
-        availableCart.setTotalPrice(cumulativePrice);
-        cartDAO.save(availableCart);
+        // Write only the lines that changed (the cart total is derived from the lines)
+        Map<Long, Double> linePrices = new HashMap<>();
+        catalogProducts.forEach((productId, product) -> linePrices.put(productId, product.getPrice()));
+        applyCartItemChanges(availableCart, requestedQuantities, linePrices);
 
         return "Your cart has been updated with the new items";
     }
 
+    // Every change is already in the database
+    @Override
+    public void flushCart(String emailId) {
+    }
+
+    /**
+     * Makes a cart's stored lines match the given quantities and line prices (keyed by product ID),
+     * writing only what changed. Used by the write-behind cart store to persist its in-memory carts.
+     */
+    public void saveCartLines(Long cartId, Map<Long, Integer> quantities, Map<Long, Double> linePrices) {
+        applyCartItemChanges(cartDAO.getReferenceById(cartId), quantities, linePrices);
+    }
+
     // Helper: Get user's cart or create new one if doesn't exist
     private Cart createOrFetchUserCart() {
         Cart existingUserCart = cartDAO.fetchCartByUserEmail(userAuthHelper.loggedInEmail());
@@ -199,7 +223,6 @@ public class ICartServiceImpl implements ICartService {
 
         // Create new cart
         Cart newShoppingCart = new Cart();
-        newShoppingCart.setTotalPrice(0.00);
         newShoppingCart.setUser(userAuthHelper.loggedInUser());
         return cartDAO.save(newShoppingCart);
     }
@@ -218,8 +241,8 @@ public class ICartServiceImpl implements ICartService {
         }
     }
 
-    // Helper: Check if product has enough stock
-    private void validateProductAvailability(Product product, Integer requestedQuantity) {
+    // Helper: Check if product has enough stock (shared with the write-behind cart service)
+    static void validateProductAvailability(Product product, Integer requestedQuantity) {
         if (product.getQuantity() == 0) {
             throw new APIErrorHandler(product.getProductName() + " is currently unavailable");
         }
@@ -232,41 +255,28 @@ public class ICartServiceImpl implements ICartService {
 
     // Helper: Create a new cart item
     private CartItem createCartItem(Product product, Cart cart, Integer quantity) {
+        return createCartItem(product, cart, quantity, product.getPrice());
+    }
+
+    // Helper: Create a new cart item at a given line price
+    private CartItem createCartItem(Product product, Cart cart, Integer quantity, double linePrice) {
         CartItem newEntry = new CartItem();
         newEntry.setProduct(product);
         newEntry.setCart(cart);
         newEntry.setQty(quantity);
-        newEntry.setProductPrice(product.getPrice());
+        newEntry.setProductPrice(linePrice);
         return newEntry;
     }
 
-    // Helper: Convert cart entity to DTO with product list
+    // Helper: Convert cart entity to DTO with product list.
+    // Lines and total are re-read with one query, so the DTO reflects changes made earlier in this transaction.
     private CartDto buildCartDTOWithProducts(Cart cart) {
-        CartDto cartDataTransfer = objectMapper.map(cart, CartDto.class);
-
-        // Map cart items to product DTOs
-        List<ProductDTO> productList = cart.getCartItems().stream()
-                .map(cartElement -> {
-                    ProductDTO mappedProduct = objectMapper.map(cartElement.getProduct(), ProductDTO.class);
-                    mappedProduct.setQuantity(cartElement.getQty());
-                    // Construct full image URL for cart items
-                    mappedProduct.setImage(constructImageUrl(cartElement.getProduct().getImage()));
-                    return mappedProduct;
-                })
-                .collect(Collectors.toList());
-
-        cartDataTransfer.setProducts(productList);
-        return cartDataTransfer;
-    }
-
-    // Helper: Construct full image URL (handles both Cloudinary and local images)
-    private String constructImageUrl(String imageName) {
-        // If image is already a full URL (from Cloudinary), return as-is
-        if (imageName != null && (imageName.startsWith("http://") || imageName.startsWith("https://"))) {
-            return imageName;
-        }
-        // Otherwise, construct URL for local/legacy images
-        return imageResourcePath.endsWith("/") ? imageResourcePath + imageName : imageResourcePath + "/" + imageName;
+        List<Object[]> linesWithTotal = cartItemDAO.findItemsWithCartTotal(cart.getCartId());
+        List<CartItem> cartLines = linesWithTotal.stream()
+                .map(row -> (CartItem) row[0])
+                .toList();
+        double totalPrice = linesWithTotal.isEmpty() ? 0.0 : ((Number) linesWithTotal.get(0)[1]).doubleValue();
+        return CartMapper.resolveImageUrls(CartMapper.toDto(cart, cartLines, totalPrice), imageResourcePath);
     }
 
     // Helper: Find cart by email and ID or throw error
@@ -303,7 +313,7 @@ public class ICartServiceImpl implements ICartService {
     }
 
     // Helper: Make sure quantity is not negative
-    private void validateQuantityIsNotNegative(int quantity) {
+    static void validateQuantityIsNotNegative(int quantity) {
         if (quantity < 0) {
             throw new APIErrorHandler("Quantity cannot be less than zero");
         }
@@ -315,18 +325,6 @@ public class ICartServiceImpl implements ICartService {
         cartItem.setQty(cartItem.getQty() + quantityChange);
     }
 
-    // Helper: Update cart total price
-    private void updateCartTotalPrice(Cart cart, double priceAdjustment) {
-        cart.setTotalPrice(cart.getTotalPrice() + priceAdjustment);
-        cartDAO.save(cart);
-    }
-
-    // Helper: Subtract item price from cart total
-    private void deductFromCartTotalPrice(Cart cart, CartItem cartItem) {
-        cart.setTotalPrice(cart.getTotalPrice() -
-                (cartItem.getProductPrice() * cartItem.getQty()));
-    }
-
     // Helper: Build success message for deletion
     private String buildDeletionMessage(String productName) {
         return productName + " has been removed from your cart";
@@ -337,36 +335,84 @@ public class ICartServiceImpl implements ICartService {
         Cart availableCart = cartDAO.fetchCartByUserEmail(emailId);
         if (availableCart == null) {
             availableCart = new Cart();
-            availableCart.setTotalPrice(0.00);
             availableCart.setUser(userAuthHelper.loggedInUser());
             availableCart = cartDAO.save(availableCart);
         }
         return availableCart;
     }
 
-    // Helper: Remove all items from cart
-    private void clearExistingCartItems(Long cartId) {
-        cartItemDAO.removeAllItemsByCart(cartId);
+    // Helper: Sum the requested quantity per product, keeping the order lines were sent in
+    static Map<Long, Integer> mergeRequestedQuantities(List<CartItemDto> cartItems) {
+        Map<Long, Integer> requestedQuantities = new LinkedHashMap<>();
+        for (CartItemDto itemDTO : cartItems) {
+            validateQuantityIsNotNegative(itemDTO.getQuantity());
+            requestedQuantities.merge(itemDTO.getProductId(), itemDTO.getQuantity(), Integer::sum);
+        }
+        // A zero quantity means the product is not in the cart
+        requestedQuantities.values().removeIf(quantity -> quantity == 0);
+        return requestedQuantities;
     }
 
-    // Helper: Process list of cart items and return total price
-    private double processCartItems(List<CartItemDto> cartItems, Cart availableCart) {
-        double cumulativePrice = 0.00;
+    // Helper: Load all requested products with one query, failing on the first unknown ID
+    private Map<Long, Product> fetchProductsOrThrowException(Set<Long> productIds) {
+        Map<Long, Product> productsById = productDAO.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        for (Long productId : productIds) {
+            if (!productsById.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product", "productId", productId);
+            }
+        }
+        return productsById;
+    }
 
-        // Loop through each item
-        for (CartItemDto itemDTO : cartItems) {
-            Long requestedProductId = itemDTO.getProductId();
-            Integer requestedQuantity = itemDTO.getQuantity();
+    // Helper: Diff the stored cart lines against the requested ones.
+    // Unchanged lines are left alone, changed ones are updated in place, and removed/new lines
+    // are deleted and inserted in bulk.
+    private void applyCartItemChanges(Cart cart, Map<Long, Integer> requestedQuantities, Map<Long, Double> linePrices) {
+        Map<Long, CartItem> storedItemsByProduct = new HashMap<>();
+        List<CartItem> removedItems = new ArrayList<>();
+        for (CartItem storedItem : cartItemDAO.findItemsWithProductByCart(cart.getCartId())) {
+            Long productId = storedItem.getProduct().getProductId();
+            // Drop lines no longer requested, and any second line for the same product
+            if (!requestedQuantities.containsKey(productId) || storedItemsByProduct.putIfAbsent(productId, storedItem) != null) {
+                removedItems.add(storedItem);
+            }
+        }
 
-            // Get product and add to total
-            Product catalogProduct = fetchProductOrThrowException(requestedProductId);
-            cumulativePrice += catalogProduct.getPrice() * requestedQuantity;
+        List<CartItem> newItems = new ArrayList<>();
+        for (Map.Entry<Long, Integer> requestedLine : requestedQuantities.entrySet()) {
+            Long productId = requestedLine.getKey();
+            Integer requestedQuantity = requestedLine.getValue();
+            double linePrice = linePrices.get(productId);
+
+            CartItem storedItem = storedItemsByProduct.get(productId);
+            if (storedItem == null) {
+                // A reference is enough: only the product ID is written
+                newItems.add(createCartItem(productDAO.getReferenceById(productId), cart, requestedQuantity, linePrice));
+            } else if (!storedItem.getQty().equals(requestedQuantity)
+                    || Double.compare(storedItem.getProductPrice(), linePrice) != 0) {
+                // Managed entity: written by dirty checking, batched with the other updates at flush
+                storedItem.setQty(requestedQuantity);
+                storedItem.setProductPrice(linePrice);
+            }
+        }
 
-            // Create and save cart item
-            CartItem newCartEntry = createCartItem(catalogProduct, availableCart, requestedQuantity);
-            cartItemDAO.save(newCartEntry);
+        if (!removedItems.isEmpty()) {
+            cartItemDAO.removeCartItemsByIds(removedItems.stream().map(CartItem::getCartItemId).toList());
+        }
+        cartItemDAO.insertAllInBatch(newItems);
+        if (!removedItems.isEmpty() || !newItems.isEmpty()) {
+            forgetBypassedLineChanges(cart, removedItems);
         }
+    }
 
-        return cumulativePrice;
+    // The bulk DELETE and the JDBC inserts bypass the persistence context: write the in-place updates now,
+    // stop tracking the deleted lines, and make an already loaded cart reload its lines when next read
+    private void forgetBypassedLineChanges(Cart cart, List<CartItem> removedItems) {
+        entityManager.flush();
+        removedItems.forEach(entityManager::detach);
+        if (Hibernate.isInitialized(cart) && Hibernate.isInitialized(cart.getCartItems())) {
+            entityManager.refresh(cart);
+        }
     }
 }
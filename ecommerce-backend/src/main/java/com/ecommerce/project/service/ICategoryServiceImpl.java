@@ -2,7 +2,6 @@ package com.ecommerce.project.service;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -10,11 +9,16 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.project.DAO.CategoryDAO;
+import com.ecommerce.project.DAO.ProductDAO;
 import com.ecommerce.project.DTO.CategoryDto;
 import com.ecommerce.project.DTO.CategoryResponse;
+import com.ecommerce.project.analytics.StoreCounters;
+import com.ecommerce.project.cache.ProductCatalogCache;
 import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.mapper.CategoryMapper;
 import com.ecommerce.project.model.Category;
+import com.ecommerce.project.search.ProductSearchIndex;
 import com.ecommerce.project.service.Interface.ICategoryService;
 
 /**
@@ -25,11 +29,18 @@ import com.ecommerce.project.service.Interface.ICategoryService;
 public class ICategoryServiceImpl implements ICategoryService {
 
     private final CategoryDAO categoryDAO;
-    private final ModelMapper objectMapper;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final ProductDAO productDAO;
+    private final StoreCounters storeCounters;
 
-    public ICategoryServiceImpl(CategoryDAO categoryDAO, ModelMapper objectMapper) {
+    public ICategoryServiceImpl(CategoryDAO categoryDAO, ProductCatalogCache catalogCache,
+                                ProductSearchIndex searchIndex, ProductDAO productDAO, StoreCounters storeCounters) {
         this.categoryDAO = categoryDAO;
-        this.objectMapper = objectMapper;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.productDAO = productDAO;
+        this.storeCounters = storeCounters;
     }
 
     // Get all categories with pagination and sorting
@@ -37,12 +48,11 @@ public class ICategoryServiceImpl implements ICategoryService {
     public CategoryResponse getCategories(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationDetails = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Category> paginatedCategories = categoryDAO.findAll(paginationDetails);
+        Page<CategoryDto> paginatedCategories = categoryDAO.findCategoryDtos(paginationDetails);
 
-        List<Category> categoriesList = paginatedCategories.getContent();
-        validateCategoriesExist(categoriesList);
+        List<CategoryDto> categoryDataList = paginatedCategories.getContent();
+        validateCategoriesExist(categoryDataList);
 
-        List<CategoryDto> categoryDataList = transformCategoriesToDTO(categoriesList);
         return buildCategoryResponse(paginatedCategories, categoryDataList);
     }
 
@@ -60,7 +70,12 @@ public class ICategoryServiceImpl implements ICategoryService {
     @Override
     public CategoryDto removeCategory(Long categoryId) {
         Category categoryToDelete = fetchCategoryOrThrowException(categoryId);
+        long deletedProducts = productDAO.countByCategory(categoryToDelete);
         categoryDAO.delete(categoryToDelete);
+        // Deleting a category cascades to its products, so every listing may have changed
+        searchIndex.removeCategory(categoryId);
+        catalogCache.invalidateAll();
+        storeCounters.productsChanged(-deletedProducts);
         return convertEntityToDTO(categoryToDelete);
     }
 
@@ -72,6 +87,8 @@ public class ICategoryServiceImpl implements ICategoryService {
         updatedCategoryData.setCategoryId(categoryId);
 
         Category modifiedCategory = categoryDAO.save(updatedCategoryData);
+        searchIndex.renameCategory(categoryId, modifiedCategory.getCategoryName());
+        catalogCache.categoryChanged(categoryId, existingCategory.getCategoryName(), modifiedCategory.getCategoryName());
         return convertEntityToDTO(modifiedCategory);
     }
 
@@ -81,19 +98,13 @@ public class ICategoryServiceImpl implements ICategoryService {
                 : Sort.by(sortBy).descending();
     }
 
-    private void validateCategoriesExist(List<Category> categoriesList) {
+    private void validateCategoriesExist(List<CategoryDto> categoriesList) {
         if (categoriesList.isEmpty()) {
             throw new APIErrorHandler("No categories have been created yet");
         }
     }
 
-    private List<CategoryDto> transformCategoriesToDTO(List<Category> categories) {
-        return categories.stream()
-                .map(this::convertEntityToDTO)
-                .toList();
-    }
-
-    private CategoryResponse buildCategoryResponse(Page<Category> paginatedCategories, List<CategoryDto> categoryDataList) {
+    private CategoryResponse buildCategoryResponse(Page<CategoryDto> paginatedCategories, List<CategoryDto> categoryDataList) {
         CategoryResponse responsePayload = new CategoryResponse();
         responsePayload.setContent(categoryDataList);
         responsePayload.setPageNumber(paginatedCategories.getNumber());
@@ -105,11 +116,11 @@ public class ICategoryServiceImpl implements ICategoryService {
     }
 
     private Category convertDTOToEntity(CategoryDto categoryDTO) {
-        return objectMapper.map(categoryDTO, Category.class);
+        return CategoryMapper.toEntity(categoryDTO);
     }
 
     private CategoryDto convertEntityToDTO(Category category) {
-        return objectMapper.map(category, CategoryDto.class);
+        return CategoryMapper.toDto(category);
     }
 
     private void validateCategoryNameNotExists(String categoryName) {
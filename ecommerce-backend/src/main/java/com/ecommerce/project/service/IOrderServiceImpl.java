@@ -1,16 +1,19 @@
 package com.ecommerce.project.service;
 
-import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.ecommerce.project.model.*;
 import jakarta.transaction.Transactional;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.project.DAO.AddressDAO;
@@ -23,10 +26,20 @@ import com.ecommerce.project.DAO.UserDAO;
 import com.ecommerce.project.DTO.OrderDto;
 import com.ecommerce.project.DTO.OrderItemDto;
 import com.ecommerce.project.DTO.OrderResponse;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.analytics.BestSellerTracker;
+import com.ecommerce.project.analytics.SalesRollups;
+import com.ecommerce.project.analytics.StoreCounters;
+import com.ecommerce.project.cache.ProductCatalogCache;
 import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
 import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.helper.KeysetPagination;
+import com.ecommerce.project.helper.KeysetPagination.KeysetPage;
+import com.ecommerce.project.helper.TransactionHooks;
+import com.ecommerce.project.mapper.OrderMapper;
 import com.ecommerce.project.model.Address;
+import com.ecommerce.project.search.ProductSearchIndex;
 import com.ecommerce.project.service.Interface.ICartService;
 import com.ecommerce.project.service.Interface.IOrderService;
 
@@ -41,13 +54,19 @@ public class IOrderServiceImpl implements IOrderService {
     private final PaymentDAO paymentDAO;
     private final ProductDAO productDAO;
     private final UserDAO userDAO;
-    private final ModelMapper objectMapper;
     private final ICartService shoppingCartService;
     private final AuthHelper userAuthHelper;
+    private final StoreCounters storeCounters;
+    private final SalesRollups salesRollups;
+    private final BestSellerTracker bestSellerTracker;
+    private final ProductSearchIndex searchIndex;
+    private final ProductCatalogCache catalogCache;
 
     public IOrderServiceImpl(CartDAO cartDAO, AddressDAO addressDAO, OrderItemDAO orderItemDAO,
                              OrderDAO orderDAO, PaymentDAO paymentDAO, ProductDAO productDAO, UserDAO userDAO,
-                             ModelMapper objectMapper, ICartService shoppingCartService, AuthHelper userAuthHelper) {
+                             ICartService shoppingCartService, AuthHelper userAuthHelper, StoreCounters storeCounters,
+                             SalesRollups salesRollups, BestSellerTracker bestSellerTracker, ProductSearchIndex searchIndex,
+                             ProductCatalogCache catalogCache) {
         this.cartDAO = cartDAO;
         this.addressDAO = addressDAO;
         this.orderItemDAO = orderItemDAO;
@@ -55,14 +74,27 @@ public class IOrderServiceImpl implements IOrderService {
         this.paymentDAO = paymentDAO;
         this.productDAO = productDAO;
         this.userDAO = userDAO;
-        this.objectMapper = objectMapper;
         this.shoppingCartService = shoppingCartService;
         this.userAuthHelper = userAuthHelper;
+        this.storeCounters = storeCounters;
+        this.salesRollups = salesRollups;
+        this.bestSellerTracker = bestSellerTracker;
+        this.searchIndex = searchIndex;
+        this.catalogCache = catalogCache;
     }
 
     @Override
     public OrderDto placeOrder(String emailId, Long addressId, String paymentMethod, String pgName,
                                String pgPaymentId, String pgStatus, String pgResponseMessage) {
+        return placeOrder(emailId, addressId, paymentMethod, pgName, pgPaymentId, pgStatus, pgResponseMessage, null);
+    }
+
+    // expectedQuantities == null places whatever is in the cart
+    @Override
+    public OrderDto placeOrder(String emailId, Long addressId, String paymentMethod, String pgName,
+                               String pgPaymentId, String pgStatus, String pgResponseMessage,
+                               Map<Long, Integer> expectedQuantities) {
+        shoppingCartService.flushCart(emailId);
         Cart userShoppingCart = fetchCartByEmailOrThrowException(emailId);
         Address deliveryAddress = fetchAddressByIdOrThrowException(addressId);
 
@@ -74,23 +106,43 @@ public class IOrderServiceImpl implements IOrderService {
 
         List<CartItem> itemsInCart = userShoppingCart.getCartItems();
         validateCartNotEmpty(itemsInCart);
+        if (expectedQuantities != null && !collectPurchasedQuantities(itemsInCart).equals(expectedQuantities)) {
+            throw new APIErrorHandler("Your cart changed after this order was submitted, please check it and order again");
+        }
 
         List<OrderItem> purchasedItems = convertCartItemsToOrderItems(itemsInCart, persistedOrder);
         purchasedItems = orderItemDAO.saveAll(purchasedItems);
 
         processInventoryAndClearCart(itemsInCart, userShoppingCart.getCartId());
+        storeCounters.orderPlaced(persistedOrder.getTotalAmount());
+        salesRollups.recordOrder(persistedOrder.getOrderedAt(), purchasedItems);
+        bestSellerTracker.recordOrder(purchasedItems);
 
         return buildOrderDTOResponse(persistedOrder, purchasedItems, addressId);
     }
 
     @Override
-    public OrderResponse getAllOrders(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+    public Map<Long, Integer> validateOrderRequest(String emailId, Long addressId) {
+        shoppingCartService.flushCart(emailId);
+        Cart userShoppingCart = fetchCartByEmailOrThrowException(emailId);
+        fetchAddressByIdOrThrowException(addressId);
+        validateCartNotEmpty(userShoppingCart.getCartItems());
+        return collectPurchasedQuantities(userShoppingCart.getCartItems());
+    }
+
+    @Override
+    public OrderResponse getAllOrders(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor) {
+        if (cursor != null) {
+            Specification<Order> allOrders = (root, query, criteriaBuilder) -> criteriaBuilder.conjunction();
+            KeysetPage<Order> orderPage = KeysetPagination.fetchPage(orderDAO, allOrders, "orderId", cursor, pageSize, sortBy, sortOrder);
+            return buildCursorOrderResponse(orderPage, pageSize);
+        }
+
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationDetails = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Order> paginatedOrders = orderDAO.findAll(paginationDetails);
+        Page<OrderDto> paginatedOrders = orderDAO.findOrderDtos(paginationDetails);
 
-        List<OrderDto> orderDataList = transformOrdersToDTO(paginatedOrders.getContent());
-        return buildOrderResponse(paginatedOrders, orderDataList);
+        return buildOrderResponse(paginatedOrders, attachOrderItems(paginatedOrders.getContent()));
     }
 
     @Override
@@ -105,10 +157,9 @@ public class IOrderServiceImpl implements IOrderService {
     public OrderResponse getUserOrders(String emailId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationDetails = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Order> paginatedOrders = orderDAO.fetchOrdersByUserEmail(emailId, paginationDetails);
+        Page<OrderDto> paginatedOrders = orderDAO.findOrderDtosByUserEmail(emailId, paginationDetails);
 
-        List<OrderDto> orderDataList = transformOrdersToDTO(paginatedOrders.getContent());
-        return buildOrderResponse(paginatedOrders, orderDataList);
+        return buildOrderResponse(paginatedOrders, attachOrderItems(paginatedOrders.getContent()));
     }
 
     @Override
@@ -117,10 +168,9 @@ public class IOrderServiceImpl implements IOrderService {
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationDetails = PageRequest.of(pageNumber, pageSize, sortingCriteria);
 
-        Page<Order> paginatedOrders = orderDAO.fetchOrdersByUserEmail(accountUser.getEmail(), paginationDetails);
-        List<OrderDto> orderDataList = transformOrdersToDTO(paginatedOrders.getContent());
+        Page<OrderDto> paginatedOrders = orderDAO.findOrderDtosByUserEmail(accountUser.getEmail(), paginationDetails);
 
-        return buildOrderResponse(paginatedOrders, orderDataList);
+        return buildOrderResponse(paginatedOrders, attachOrderItems(paginatedOrders.getContent()));
     }
 
     private Cart fetchCartByEmailOrThrowException(String emailId) {
@@ -139,7 +189,9 @@ public class IOrderServiceImpl implements IOrderService {
     private Order createOrder(String emailId, Cart userCart, Address deliveryAddress) {
         Order newOrder = new Order();
         newOrder.setEmail(emailId);
-        newOrder.setOrderDate(LocalDate.now());
+        LocalDateTime placedAt = LocalDateTime.now();
+        newOrder.setOrderDate(placedAt.toLocalDate());
+        newOrder.setOrderedAt(placedAt);
         newOrder.setTotalAmount(userCart.getTotalPrice());
         newOrder.setOrderStatus("Accepted");
         newOrder.setAddress(deliveryAddress);
@@ -173,24 +225,39 @@ public class IOrderServiceImpl implements IOrderService {
     }
 
     private void processInventoryAndClearCart(List<CartItem> cartItems, Long cartId) {
-        for (CartItem cartEntry : cartItems) {
-            int purchaseQuantity = cartEntry.getQty();
-            Product inventoryProduct = cartEntry.getProduct();
+        Map<Long, Integer> purchasedQuantities = collectPurchasedQuantities(cartItems);
+        shoppingCartService.clearCart(cartId);
+        // Last statement of the order so the product rows stay locked for as short as possible
+        reduceProductInventory(purchasedQuantities);
+    }
 
-            reduceProductInventory(inventoryProduct, purchaseQuantity);
-            shoppingCartService.deleteProductFromCart(cartId, cartEntry.getProduct().getProductId());
-        }
+    private Map<Long, Integer> collectPurchasedQuantities(List<CartItem> cartItems) {
+        return cartItems.stream()
+                .collect(Collectors.toMap(cartEntry -> cartEntry.getProduct().getProductId(), CartItem::getQty, Integer::sum));
     }
 
-    private void reduceProductInventory(Product product, int purchaseQuantity) {
-        product.setQuantity(product.getQuantity() - purchaseQuantity);
-        productDAO.save(product);
+    // Decrements every line in one conditional UPDATE; a short line fails the whole order and rolls it back
+    private void reduceProductInventory(Map<Long, Integer> purchasedQuantities) {
+        int decrementedProducts = productDAO.decrementStock(purchasedQuantities);
+        if (decrementedProducts < purchasedQuantities.size()) {
+            throw new APIErrorHandler("Some products in your cart no longer have enough stock for this order");
+        }
+        // The UPDATE bypasses the entities, so the search index and cached listings learn about the new stock here
+        TransactionHooks.afterCommit(() -> {
+            searchIndex.stockTaken(purchasedQuantities);
+            catalogCache.stockChanged(purchasedQuantities.keySet());
+        });
     }
 
     private OrderDto buildOrderDTOResponse(Order persistedOrder, List<OrderItem> purchasedItems, Long addressId) {
         OrderDto orderDataTransfer = convertEntityToDTO(persistedOrder);
-        purchasedItems.forEach(orderEntry -> orderDataTransfer.getOrderItems()
-                .add(objectMapper.map(orderEntry, OrderItemDto.class)));
+        purchasedItems.forEach(orderEntry -> {
+            OrderItemDto orderItemData = OrderMapper.toDto(orderEntry);
+            // The stock was decremented in the database, not on the loaded product, so show the new level here
+            ProductDTO purchasedProduct = orderItemData.getProduct();
+            purchasedProduct.setQuantity(purchasedProduct.getQuantity() - orderEntry.getQty());
+            orderDataTransfer.getOrderItems().add(orderItemData);
+        });
         orderDataTransfer.setAddressId(addressId);
         return orderDataTransfer;
     }
@@ -207,11 +274,23 @@ public class IOrderServiceImpl implements IOrderService {
                 .toList();
     }
 
+    // Loads the items of a page of projected orders in one query and adds them to their orders
+    private List<OrderDto> attachOrderItems(List<OrderDto> orders) {
+        if (orders.isEmpty()) {
+            return orders;
+        }
+        Map<Long, OrderDto> ordersById = orders.stream()
+                .collect(Collectors.toMap(OrderDto::getOrderId, Function.identity()));
+        orderItemDAO.findItemDtosByOrderIds(ordersById.keySet())
+                .forEach(orderItem -> ordersById.get(orderItem.getOrderId()).getOrderItems().add(orderItem));
+        return orders;
+    }
+
     private OrderDto convertEntityToDTO(Order order) {
-        return objectMapper.map(order, OrderDto.class);
+        return OrderMapper.toDto(order);
     }
 
-    private OrderResponse buildOrderResponse(Page<Order> paginatedOrders, List<OrderDto> orderDataList) {
+    private OrderResponse buildOrderResponse(Page<OrderDto> paginatedOrders, List<OrderDto> orderDataList) {
         OrderResponse responsePayload = new OrderResponse();
         responsePayload.setContent(orderDataList);
         responsePayload.setPageNumber(paginatedOrders.getNumber());
@@ -222,6 +301,16 @@ public class IOrderServiceImpl implements IOrderService {
         return responsePayload;
     }
 
+    // Cursor mode: no page number or totals, just the next cursor
+    private OrderResponse buildCursorOrderResponse(KeysetPage<Order> orderPage, Integer pageSize) {
+        OrderResponse responsePayload = new OrderResponse();
+        responsePayload.setContent(transformOrdersToDTO(orderPage.content()));
+        responsePayload.setPageSize(pageSize);
+        responsePayload.setLastPage(orderPage.nextCursor() == null);
+        responsePayload.setNextCursor(orderPage.nextCursor());
+        return responsePayload;
+    }
+
     private Order fetchOrderByIdOrThrowException(Long orderId) {
         return orderDAO.findById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order", "orderId", orderId));
@@ -2,7 +2,7 @@ package com.ecommerce.project.service;
 
 import java.util.List;
 
-import org.modelmapper.ModelMapper;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 
 import com.ecommerce.project.DAO.PaymentCardDAO;
@@ -10,21 +10,28 @@ import com.ecommerce.project.DAO.UserDAO;
 import com.ecommerce.project.DTO.PaymentCardDTO;
 import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.mapper.PaymentCardMapper;
 import com.ecommerce.project.model.PaymentCard;
 import com.ecommerce.project.model.User;
 import com.ecommerce.project.service.Interface.IPaymentCardService;
 
+import jakarta.transaction.Transactional;
+
+/**
+ * Service implementation for saved payment cards.
+ * Default-card switches are set-based (one bulk UPDATE plus the new default) and never
+ * walk or re-save the user's card collection.
+ */
 @Service
+@Transactional
 public class IPaymentCardServiceImpl implements IPaymentCardService {
 
     private final PaymentCardDAO paymentCardDAO;
     private final UserDAO userDAO;
-    private final ModelMapper objectMapper;
 
-    public IPaymentCardServiceImpl(PaymentCardDAO paymentCardDAO, UserDAO userDAO, ModelMapper objectMapper) {
+    public IPaymentCardServiceImpl(PaymentCardDAO paymentCardDAO, UserDAO userDAO) {
         this.paymentCardDAO = paymentCardDAO;
         this.userDAO = userDAO;
-        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -72,8 +79,8 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
         updateCardDetails(existingCard, paymentCardDTO);
         handleDefaultCardUpdate(existingCard, paymentCardDTO);
 
+        // The card is managed, so the user's loaded card list already holds this instance
         PaymentCard updatedCard = paymentCardDAO.save(existingCard);
-        updateUserCardsList(existingCard.getUser(), existingCard, cardId);
 
         return convertEntityToDTO(updatedCard);
     }
@@ -92,7 +99,7 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
         PaymentCard card = fetchPaymentCardOrThrowException(cardId);
 
         validateCardBelongsToUser(card, user);
-        unsetAllDefaultCards(user);
+        unsetOtherDefaultCards(user, cardId);
 
         card.setIsDefault(true);
         PaymentCard updatedCard = paymentCardDAO.save(card);
@@ -108,11 +115,11 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
     }
 
     private PaymentCard convertDTOToEntity(PaymentCardDTO paymentCardDTO) {
-        return objectMapper.map(paymentCardDTO, PaymentCard.class);
+        return PaymentCardMapper.toEntity(paymentCardDTO);
     }
 
     private PaymentCardDTO convertEntityToDTO(PaymentCard paymentCard) {
-        return objectMapper.map(paymentCard, PaymentCardDTO.class);
+        return PaymentCardMapper.toDto(paymentCard);
     }
 
     private List<PaymentCardDTO> transformCardsToDTO(List<PaymentCard> cards) {
@@ -133,13 +140,13 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
 
     private void handleDefaultCardSetting(PaymentCardDTO paymentCardDTO, User user) {
         if (isCardMarkedAsDefault(paymentCardDTO)) {
-            unsetAllDefaultCards(user);
+            unsetOtherDefaultCards(user, null);
         }
     }
 
     private void handleDefaultCardUpdate(PaymentCard card, PaymentCardDTO paymentCardDTO) {
         if (isCardMarkedAsDefault(paymentCardDTO)) {
-            unsetAllDefaultCards(card.getUser());
+            unsetOtherDefaultCards(card.getUser(), card.getCardId());
             card.setIsDefault(true);
         } else if (paymentCardDTO.getIsDefault() != null) {
             card.setIsDefault(paymentCardDTO.getIsDefault());
@@ -158,21 +165,17 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
         card.setCvv(paymentCardDTO.getCvv());
     }
 
+    // Only keeps an already loaded card list in step; never loads it just to add one card
     private void addCardToUserPaymentsList(User user, PaymentCard card) {
-        List<PaymentCard> userCardsList = user.getPaymentCards();
-        userCardsList.add(card);
-        user.setPaymentCards(userCardsList);
+        if (Hibernate.isInitialized(user.getPaymentCards())) {
+            user.getPaymentCards().add(card);
+        }
     }
 
     private void removeCardFromUserPaymentsList(User user, Long cardId) {
-        user.getPaymentCards().removeIf(card -> card.getCardId().equals(cardId));
-        userDAO.save(user);
-    }
-
-    private void updateUserCardsList(User user, PaymentCard updatedCard, Long cardId) {
-        user.getPaymentCards().removeIf(card -> card.getCardId().equals(cardId));
-        user.getPaymentCards().add(updatedCard);
-        userDAO.save(user);
+        if (Hibernate.isInitialized(user.getPaymentCards())) {
+            user.getPaymentCards().removeIf(card -> card.getCardId().equals(cardId));
+        }
     }
 
     private void validateCardBelongsToUser(PaymentCard card, User user) {
@@ -181,17 +184,15 @@ public class IPaymentCardServiceImpl implements IPaymentCardService {
         }
     }
 
-    private void unsetAllDefaultCards(User user) {
-        user.getPaymentCards().forEach(card -> {
-            if (isCardDefault(card)) {
-                card.setIsDefault(false);
-                paymentCardDAO.save(card);
-            }
-        });
-    }
-
-    private boolean isCardDefault(PaymentCard card) {
-        return card.getIsDefault() != null && card.getIsDefault();
+    // One UPDATE clears the old default; keepCardId (null for a new card) is the card about to become default.
+    // The UPDATE bypasses loaded entities, so an already loaded card list is brought in step by hand
+    private void unsetOtherDefaultCards(User user, Long keepCardId) {
+        paymentCardDAO.clearOtherDefaultCards(user.getUserId(), keepCardId);
+        if (Hibernate.isInitialized(user.getPaymentCards())) {
+            user.getPaymentCards().stream()
+                    .filter(card -> !card.getCardId().equals(keepCardId))
+                    .forEach(card -> card.setIsDefault(false));
+        }
     }
 
     private String buildDeletionMessage(Long cardId) {
@@ -1,9 +1,15 @@
 package com.ecommerce.project.service;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -15,33 +21,57 @@ import org.springframework.web.multipart.MultipartFile;
 import com.ecommerce.project.DAO.CartDAO;
 import com.ecommerce.project.DAO.CategoryDAO;
 import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DTO.CacheStatsResponse;
 import com.ecommerce.project.DTO.ProductDTO;
 import com.ecommerce.project.DTO.ProductResponse;
+import com.ecommerce.project.analytics.BestSellerTracker;
+import com.ecommerce.project.analytics.BestSellerTracker.BestSeller;
+import com.ecommerce.project.analytics.BestSellerTracker.Window;
+import com.ecommerce.project.analytics.StoreCounters;
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.cache.ProductCatalogCache.CatalogQuery;
+import com.ecommerce.project.cache.ProductCatalogCache.ProductSnapshot;
 import com.ecommerce.project.errorHandler.APIErrorHandler;
 import com.ecommerce.project.errorHandler.ResourceNotFoundException;
 import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.helper.KeysetPagination;
+import com.ecommerce.project.helper.KeysetPagination.KeysetPage;
+import com.ecommerce.project.mapper.ProductMapper;
 import com.ecommerce.project.model.Cart;
 import com.ecommerce.project.model.Category;
 import com.ecommerce.project.model.Product;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.search.ProductSearchIndex.IndexedProduct;
+import com.ecommerce.project.search.ProductSearchIndex.SearchHit;
 import com.ecommerce.project.service.Interface.ICartService;
 import com.ecommerce.project.service.Interface.FileService;
 import com.ecommerce.project.service.Interface.IProductService;
 
+import jakarta.transaction.Transactional;
+
 /**
  * Service implementation for product operations
  * Business logic: Manages products with category association, image uploads,
- * advanced search/filtering, and automatic cart updates when products change
+ * advanced search/filtering, and automatic cart updates when products change.
+ * Storefront listings are served through ProductCatalogCache; every write invalidates the affected entries.
+ * Keyword and model search go through ProductSearchIndex instead of LIKE queries; every write updates the index.
  */
 @Service
 public class IProductServiceImpl implements IProductService {
 
+    // Units sold over the last 24 hours, most first
+    private static final String BESTSELLING = "bestselling";
+
     private final CartDAO cartDAO;
     private final CategoryDAO categoryDAO;
     private final ProductDAO productDAO;
-    private final ModelMapper objectMapper;
     private final FileService fileStorageService;
     private final AuthHelper userAuthHelper;
     private final ICartService shoppingCartService;
+    private final ProductCatalogCache catalogCache;
+    private final ProductSearchIndex searchIndex;
+    private final StoreCounters storeCounters;
+    private final BestSellerTracker bestSellerTracker;
 
     @Value("${project.image}")
     private String imageStoragePath;
@@ -50,14 +80,19 @@ public class IProductServiceImpl implements IProductService {
     private String imageResourcePath;
 
     public IProductServiceImpl(CartDAO cartDAO, CategoryDAO categoryDAO, ProductDAO productDAO,
-                               ModelMapper objectMapper, FileService fileStorageService, AuthHelper userAuthHelper, ICartService shoppingCartService) {
+                               FileService fileStorageService, AuthHelper userAuthHelper, ICartService shoppingCartService,
+                               ProductCatalogCache catalogCache, ProductSearchIndex searchIndex, StoreCounters storeCounters,
+                               BestSellerTracker bestSellerTracker) {
         this.cartDAO = cartDAO;
         this.categoryDAO = categoryDAO;
         this.productDAO = productDAO;
-        this.objectMapper = objectMapper;
         this.fileStorageService = fileStorageService;
         this.userAuthHelper = userAuthHelper;
         this.shoppingCartService = shoppingCartService;
+        this.catalogCache = catalogCache;
+        this.searchIndex = searchIndex;
+        this.storeCounters = storeCounters;
+        this.bestSellerTracker = bestSellerTracker;
     }
 
     // Add new product to category (validates unique product name per category)
@@ -68,21 +103,51 @@ public class IProductServiceImpl implements IProductService {
 
         Product newProductEntity = createNewProductEntity(productDTO, targetCategory);
         Product persistedProduct = productDAO.save(newProductEntity);
+        searchIndex.index(persistedProduct);
+        catalogCache.productChanged(null, ProductSnapshot.of(persistedProduct));
+        storeCounters.productsChanged(1);
 
         return convertEntityToDTO(persistedProduct);
     }
 
     // Get all products with dynamic filters (keyword, category, model)
     @Override
-    public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, String model) {
+    public ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, String model, String cursor) {
+        CatalogQuery cacheKey = CatalogQuery.forListing(keyword, category, model, pageNumber, pageSize, sortBy, sortOrder, cursor);
+        return catalogCache.getOrLoad(cacheKey,
+                () -> loadAllProducts(pageNumber, pageSize, sortBy, sortOrder, keyword, category, model, cursor));
+    }
+
+    private ProductResponse loadAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, String model, String cursor) {
+        boolean hasTextFilter = (keyword != null && !keyword.isEmpty()) || (model != null && !model.isEmpty());
+        // Sales ranks live in memory, not in a column, so best-seller listings are sorted the same way as search results
+        if (hasTextFilter || sortBy.equals(BESTSELLING)) {
+            // Search results are ranked and paged in memory, so deep pages don't hit the database anyway
+            if (cursor != null) {
+                throw new APIErrorHandler("Cursor pagination cannot be combined with keyword or model filters or best-seller sorting");
+            }
+            String categoryFilter = (category != null && !category.isEmpty()) ? category : null;
+            if (!hasTextFilter && categoryFilter == null) {
+                return buildBestSellerResponse(pageNumber, pageSize);
+            }
+            List<SearchHit> searchHits = searchIndex.search(keyword, model, categoryFilter);
+            return buildSearchResponse(searchHits, pageNumber, pageSize, sortBy, sortOrder);
+        }
+
+        boolean hasCategoryFilter = category != null && !category.isEmpty();
+        if (cursor != null) {
+            Specification<Product> filterSpecification = buildProductFilterSpecification(category);
+            KeysetPage<Product> productPage = KeysetPagination.fetchPage(productDAO, filterSpecification, "productId", cursor, pageSize, sortBy, sortOrder);
+            return buildCursorProductResponse(productPage, pageSize);
+        }
+
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationConfig = PageRequest.of(pageNumber, pageSize, sortingCriteria);
+        Page<ProductDTO> paginatedProducts = hasCategoryFilter
+                ? productDAO.findProductDtosByCategoryName(category, paginationConfig)
+                : productDAO.findProductDtos(paginationConfig);
 
-        Specification<Product> filterSpecification = buildProductFilterSpecification(keyword, category, model);
-        Page<Product> paginatedProducts = productDAO.findAll(filterSpecification, paginationConfig);
-
-        List<ProductDTO> productDataList = transformProductsToDTO(paginatedProducts.getContent());
-        return buildProductResponse(paginatedProducts, productDataList);
+        return buildProductResponse(paginatedProducts, withImageUrls(paginatedProducts.getContent()));
     }
 
     // Get all products for admin (no filters, just pagination)
@@ -90,48 +155,56 @@ public class IProductServiceImpl implements IProductService {
     public ProductResponse getAllProductsForAdmin(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationConfig = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Product> paginatedProducts = productDAO.findAll(paginationConfig);
+        Page<ProductDTO> paginatedProducts = productDAO.findProductDtos(paginationConfig);
 
-        List<ProductDTO> productDataList = transformProductsToDTO(paginatedProducts.getContent());
-        return buildProductResponse(paginatedProducts, productDataList);
+        return buildProductResponse(paginatedProducts, withImageUrls(paginatedProducts.getContent()));
     }
 
     // Search products within a specific category
     @Override
     public ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        CatalogQuery cacheKey = CatalogQuery.forCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder);
+        return catalogCache.getOrLoad(cacheKey,
+                () -> loadProductsByCategory(categoryId, pageNumber, pageSize, sortBy, sortOrder));
+    }
+
+    private ProductResponse loadProductsByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
         Category targetCategory = fetchCategoryOrThrowException(categoryId);
 
         Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
         Pageable paginationConfig = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Product> paginatedProducts = productDAO.findByCategoryOrderByPriceAsc(targetCategory, paginationConfig);
+        Page<ProductDTO> paginatedProducts = productDAO.findProductDtosByCategoryId(targetCategory.getCategoryId(), paginationConfig);
 
-        List<Product> productList = paginatedProducts.getContent();
+        List<ProductDTO> productList = paginatedProducts.getContent();
         validateProductsExist(productList, targetCategory.getCategoryName());
 
-        List<ProductDTO> productDataList = transformProductsToDTO(productList);
-        return buildProductResponse(paginatedProducts, productDataList);
+        return buildProductResponse(paginatedProducts, withImageUrls(productList));
     }
 
-    // Search products by keyword in product name
+    // Search products by keyword in product name, model and description
     @Override
     public ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
-        Sort sortingCriteria = buildSortCriteria(sortBy, sortOrder);
-        Pageable paginationConfig = PageRequest.of(pageNumber, pageSize, sortingCriteria);
-        Page<Product> paginatedProducts = productDAO.findByProductNameLikeIgnoreCase('%' + keyword + '%', paginationConfig);
-
-        List<Product> productList = paginatedProducts.getContent();
-        validateProductsExistForKeyword(productList, keyword);
+        CatalogQuery cacheKey = CatalogQuery.forKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder);
+        return catalogCache.getOrLoad(cacheKey,
+                () -> loadProductsByKeyword(keyword, pageNumber, pageSize, sortBy, sortOrder));
+    }
 
-        List<ProductDTO> productDataList = transformProductsToDTO(productList);
-        return buildProductResponse(paginatedProducts, productDataList);
+    private ProductResponse loadProductsByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder) {
+        List<SearchHit> searchHits = searchIndex.search(keyword, null, null);
+        ProductResponse searchResponse = buildSearchResponse(searchHits, pageNumber, pageSize, sortBy, sortOrder);
+        validateProductsExistForKeyword(searchResponse.getContent(), keyword);
+        return searchResponse;
     }
 
     // Update product details and notify all affected carts
     @Override
     public ProductDTO updateProduct(Long productId, ProductDTO productDTO) {
         Product existingProductEntity = fetchProductOrThrowException(productId);
+        ProductSnapshot snapshotBeforeUpdate = ProductSnapshot.of(existingProductEntity);
         updateProductDetails(existingProductEntity, productDTO);
         Product persistedProduct = productDAO.save(existingProductEntity);
+        searchIndex.index(persistedProduct);
+        catalogCache.productChanged(snapshotBeforeUpdate, ProductSnapshot.of(persistedProduct));
 
         List<Cart> affectedCarts = cartDAO.retrieveCartsByProduct(productId);
         notifyCartsOfProductUpdate(affectedCarts, productId);
@@ -139,15 +212,18 @@ public class IProductServiceImpl implements IProductService {
         return convertEntityToDTO(persistedProduct);
     }
 
-    // Delete product and remove from all carts
+    // Delete product and remove from all carts, in one transaction so no cart can write the line back in between
     @Override
+    @Transactional
     public ProductDTO deleteProduct(Long productId) {
         Product productToDelete = fetchProductOrThrowException(productId);
 
-        List<Cart> affectedCarts = cartDAO.retrieveCartsByProduct(productId);
-        removeProductFromAllCarts(affectedCarts, productId);
+        shoppingCartService.removeProductFromAllCarts(productId);
 
         productDAO.delete(productToDelete);
+        searchIndex.remove(productId);
+        catalogCache.productChanged(ProductSnapshot.of(productToDelete), null);
+        storeCounters.productsChanged(-1);
         return convertEntityToDTO(productToDelete);
     }
 
@@ -160,9 +236,18 @@ public class IProductServiceImpl implements IProductService {
         existingProductEntity.setImage(uploadedFileName);
 
         Product persistedProduct = productDAO.save(existingProductEntity);
+        searchIndex.index(persistedProduct);
+        ProductSnapshot imageOwner = ProductSnapshot.of(persistedProduct);
+        catalogCache.productChanged(imageOwner, imageOwner);
         return convertEntityToDTO(persistedProduct);
     }
 
+    // Hit/miss/eviction counters of the storefront listing cache
+    @Override
+    public CacheStatsResponse getCatalogCacheStats() {
+        return catalogCache.stats();
+    }
+
     private Category fetchCategoryOrThrowException(Long categoryId) {
         return categoryDAO.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("Category", "categoryId", categoryId));
@@ -174,28 +259,25 @@ public class IProductServiceImpl implements IProductService {
     }
 
     private void validateProductNameNotExists(Category targetCategory, String productName) {
-        boolean productExists = targetCategory.getProducts().stream()
-                .anyMatch(product -> product.getProductName().equals(productName));
-
-        if (productExists) {
+        if (productDAO.existsByCategoryAndProductName(targetCategory, productName)) {
             throw new APIErrorHandler("This product already exists");
         }
     }
 
-    private void validateProductsExist(List<Product> productList, String categoryName) {
+    private void validateProductsExist(List<ProductDTO> productList, String categoryName) {
         if (productList.isEmpty()) {
             throw new APIErrorHandler("No products found in the " + categoryName + " category");
         }
     }
 
-    private void validateProductsExistForKeyword(List<Product> productList, String keyword) {
+    private void validateProductsExistForKeyword(List<ProductDTO> productList, String keyword) {
         if (productList.isEmpty()) {
             throw new APIErrorHandler("No products match your search: " + keyword);
         }
     }
 
     private Product createNewProductEntity(ProductDTO productDTO, Category targetCategory) {
-        Product newProductEntity = objectMapper.map(productDTO, Product.class);
+        Product newProductEntity = ProductMapper.toEntity(productDTO);
         newProductEntity.setImage("default.png");
         newProductEntity.setCategory(targetCategory);
         newProductEntity.setUser(userAuthHelper.loggedInUser());
@@ -209,40 +291,37 @@ public class IProductServiceImpl implements IProductService {
                 : Sort.by(sortBy).descending();
     }
 
-    private Specification<Product> buildProductFilterSpecification(String keyword, String category, String model) {
+    // Keyword and model filters are answered by the search index, so only the category filter remains here
+    private Specification<Product> buildProductFilterSpecification(String category) {
         Specification<Product> filterSpecification = Specification.where(
                 (root, query, criteriaBuilder) -> criteriaBuilder.conjunction());
 
-        if (keyword != null && !keyword.isEmpty()) {
-            filterSpecification = filterSpecification.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("productName")), "%" + keyword.toLowerCase() + "%"));
-        }
-
         if (category != null && !category.isEmpty()) {
             filterSpecification = filterSpecification.and((root, query, criteriaBuilder) ->
                     criteriaBuilder.like(root.get("category").get("categoryName"), category));
         }
 
-        if (model != null && !model.isEmpty()) {
-            filterSpecification = filterSpecification.and((root, query, criteriaBuilder) ->
-                    criteriaBuilder.like(criteriaBuilder.lower(root.get("model")), "%" + model.toLowerCase() + "%"));
-        }
-
         return filterSpecification;
     }
 
     private List<ProductDTO> transformProductsToDTO(List<Product> products) {
         return products.stream()
                 .map(productEntity -> {
-                    ProductDTO productData = objectMapper.map(productEntity, ProductDTO.class);
+                    ProductDTO productData = ProductMapper.toDto(productEntity);
                     productData.setImage(constructImageUrl(productEntity.getImage()));
                     return productData;
                 })
                 .toList();
     }
 
+    // Turns stored image names of projected DTOs into URLs
+    private List<ProductDTO> withImageUrls(List<ProductDTO> products) {
+        products.forEach(productData -> productData.setImage(constructImageUrl(productData.getImage())));
+        return products;
+    }
+
     private ProductDTO convertEntityToDTO(Product product) {
-        return objectMapper.map(product, ProductDTO.class);
+        return ProductMapper.toDto(product);
     }
 
     private String constructImageUrl(String imageName) {
@@ -254,7 +333,7 @@ public class IProductServiceImpl implements IProductService {
         return imageResourcePath.endsWith("/") ? imageResourcePath + imageName : imageResourcePath + "/" + imageName;
     }
 
-    private ProductResponse buildProductResponse(Page<Product> paginatedProducts, List<ProductDTO> productDataList) {
+    private ProductResponse buildProductResponse(Page<?> paginatedProducts, List<ProductDTO> productDataList) {
         ProductResponse responsePayload = new ProductResponse();
         responsePayload.setContent(productDataList);
         responsePayload.setPageNumber(paginatedProducts.getNumber());
@@ -265,19 +344,119 @@ public class IProductServiceImpl implements IProductService {
         return responsePayload;
     }
 
+    // Cursor mode: no page number or totals, just the next cursor
+    private ProductResponse buildCursorProductResponse(KeysetPage<Product> productPage, Integer pageSize) {
+        ProductResponse responsePayload = new ProductResponse();
+        responsePayload.setContent(transformProductsToDTO(productPage.content()));
+        responsePayload.setPageSize(pageSize);
+        responsePayload.setLastPage(productPage.nextCursor() == null);
+        responsePayload.setNextCursor(productPage.nextCursor());
+        return responsePayload;
+    }
+
+    /**
+     * Ranks and pages search hits in memory, then loads only the products on the requested page.
+     * Only the hits up to the end of the requested page are ranked; the rest are never sorted.
+     * Totals come from the hit list, so no count query is needed.
+     */
+    private ProductResponse buildSearchResponse(List<SearchHit> searchHits, Integer pageNumber, Integer pageSize,
+                                                String sortBy, String sortOrder) {
+        long offset = (long) pageNumber * pageSize;
+        List<Long> pageProductIds = rankFirst(searchHits, buildSearchHitComparator(sortBy, sortOrder), offset + pageSize).stream()
+                .skip(offset)
+                .map(searchHit -> searchHit.product().productId())
+                .toList();
+        return buildRankedPage(pageProductIds, searchHits.size(), pageNumber, pageSize);
+    }
+
+    // The first count hits in ranked order, kept in a bounded heap whose head is the worst hit kept so far
+    private static List<SearchHit> rankFirst(List<SearchHit> searchHits, Comparator<SearchHit> ranking, long count) {
+        if (count >= searchHits.size()) {
+            return searchHits.stream().sorted(ranking).toList();
+        }
+        PriorityQueue<SearchHit> bestHits = new PriorityQueue<>((int) count + 1, ranking.reversed());
+        for (SearchHit searchHit : searchHits) {
+            bestHits.add(searchHit);
+            if (bestHits.size() > count) {
+                bestHits.poll();
+            }
+        }
+        return bestHits.stream().sorted(ranking).toList();
+    }
+
+    /**
+     * Unfiltered best-seller listing, in the same order as the search comparator: tracked best sellers first,
+     * then every other product by id. Pages straight from the tracker's ranking and the index's id order,
+     * so the whole catalog is never sorted.
+     */
+    private ProductResponse buildBestSellerResponse(Integer pageNumber, Integer pageSize) {
+        List<Long> rankedProductIds = bestSellerTracker.ranking(Window.LAST_DAY).stream()
+                .map(BestSeller::productId)
+                .filter(searchIndex::contains)
+                .toList();
+        long offset = (long) pageNumber * pageSize;
+        List<Long> pageProductIds = new ArrayList<>(rankedProductIds.stream().skip(offset).limit(pageSize).toList());
+        if (pageProductIds.size() < pageSize) {
+            long unrankedOffset = Math.max(0, offset - rankedProductIds.size());
+            pageProductIds.addAll(searchIndex.productIds(new HashSet<>(rankedProductIds), unrankedOffset, pageSize - pageProductIds.size()));
+        }
+        return buildRankedPage(pageProductIds, searchIndex.size(), pageNumber, pageSize);
+    }
+
+    // Loads the products of an already ranked page and fills in the totals
+    private ProductResponse buildRankedPage(List<Long> pageProductIds, int totalElements, Integer pageNumber, Integer pageSize) {
+        // The DTO query returns rows in no particular order; put them back in ranked order
+        Map<Long, ProductDTO> productsById = productDAO.findProductDtosByIds(pageProductIds).stream()
+                .collect(Collectors.toMap(ProductDTO::getProductId, Function.identity()));
+        List<ProductDTO> pageProducts = pageProductIds.stream()
+                .map(productsById::get)
+                .filter(product -> product != null)
+                .toList();
+
+        int totalPages = (int) Math.ceil((double) totalElements / pageSize);
+        ProductResponse responsePayload = new ProductResponse();
+        responsePayload.setContent(withImageUrls(pageProducts));
+        responsePayload.setPageNumber(pageNumber);
+        responsePayload.setPageSize(pageSize);
+        responsePayload.setTotalElements((long) totalElements);
+        responsePayload.setTotalPages(totalPages);
+        responsePayload.setLastPage(pageNumber + 1 >= totalPages);
+        return responsePayload;
+    }
+
+    // "relevance" and "bestselling" always put the best match or seller first; the other fields follow sortOrder
+    private Comparator<SearchHit> buildSearchHitComparator(String sortBy, String sortOrder) {
+        Comparator<SearchHit> byProductId = Comparator.comparing(searchHit -> searchHit.product().productId());
+        if (sortBy.equals("relevance")) {
+            return Comparator.comparingDouble(SearchHit::score).reversed().thenComparing(byProductId);
+        }
+        if (sortBy.equals(BESTSELLING)) {
+            Map<Long, Long> unitsSold = bestSellerTracker.unitsSold(Window.LAST_DAY);
+            Comparator<SearchHit> byUnitsSold = Comparator.comparingLong(searchHit -> unitsSold.getOrDefault(searchHit.product().productId(), 0L));
+            return byUnitsSold.reversed().thenComparing(byProductId);
+        }
+
+        Comparator<IndexedProduct> fieldComparator = switch (sortBy) {
+            case "productId" -> Comparator.comparing(IndexedProduct::productId);
+            case "productName" -> Comparator.comparing(IndexedProduct::productName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER));
+            case "price" -> Comparator.comparingDouble(IndexedProduct::price);
+            case "quantity" -> Comparator.comparing(IndexedProduct::quantity, Comparator.nullsFirst(Comparator.naturalOrder()));
+            default -> throw new APIErrorHandler("Search results cannot be sorted by " + sortBy);
+        };
+        if (!sortOrder.equalsIgnoreCase("asc")) {
+            fieldComparator = fieldComparator.reversed();
+        }
+        return Comparator.comparing(SearchHit::product, fieldComparator).thenComparing(byProductId);
+    }
+
     private void updateProductDetails(Product existingProduct, ProductDTO productDTO) {
-        Product updatedProductData = objectMapper.map(productDTO, Product.class);
-        existingProduct.setProductName(updatedProductData.getProductName());
-        existingProduct.setDescription(updatedProductData.getDescription());
-        existingProduct.setQuantity(updatedProductData.getQuantity());
-        existingProduct.setPrice(updatedProductData.getPrice());
+        existingProduct.setProductName(productDTO.getProductName());
+        existingProduct.setDescription(productDTO.getDescription());
+        existingProduct.setQuantity(productDTO.getQuantity());
+        existingProduct.setPrice(productDTO.getPrice());
     }
 
     private void notifyCartsOfProductUpdate(List<Cart> affectedCarts, Long productId) {
         affectedCarts.forEach(shoppingCart -> shoppingCartService.updateProductInCarts(shoppingCart.getCartId(), productId));
     }
-
-    private void removeProductFromAllCarts(List<Cart> affectedCarts, Long productId) {
-        affectedCarts.forEach(shoppingCart -> shoppingCartService.deleteProductFromCart(shoppingCart.getCartId(), productId));
-    }
 }
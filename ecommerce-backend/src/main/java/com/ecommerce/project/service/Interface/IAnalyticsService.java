@@ -1,6 +1,11 @@
 package com.ecommerce.project.service.Interface;
 
+import java.time.LocalDate;
+
+import com.ecommerce.project.DTO.APIResponse;
 import com.ecommerce.project.DTO.AnalyticsResponse;
+import com.ecommerce.project.DTO.BestSellerResponse;
+import com.ecommerce.project.DTO.SalesRollupResponse;
 
 /**
  * Service interface for analytics operations
@@ -9,4 +14,13 @@ import com.ecommerce.project.DTO.AnalyticsResponse;
 public interface IAnalyticsService {
     // Get analytics data (product count, total orders, total revenue)
     AnalyticsResponse getAnalytics();
+
+    // Get orders, revenue and units per category for each hour or day between from and to (inclusive)
+    SalesRollupResponse getSalesRollups(String granularity, LocalDate from, LocalDate to, Long categoryId);
+
+    // Rebuild the hourly and daily rollups of complete past days from the raw order tables
+    APIResponse backfillSalesRollups(LocalDate from, LocalDate to);
+
+    // Get the best-selling products (by units) over the last 1h, 24h or 7d
+    BestSellerResponse getBestSellers(String window, int limit);
 }
@@ -0,0 +1,15 @@
+package com.ecommerce.project.service.Interface;
+
+import com.ecommerce.project.DTO.OrderPlacementStatusDto;
+
+/**
+ * Service interface for asynchronous order placement
+ * Accepts orders immediately and places them in the background; clients poll for the outcome
+ */
+public interface IAsyncOrderService {
+    // Validate the cart and queue the order for placement; returns its reference with status QUEUED
+    OrderPlacementStatusDto submitOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage);
+
+    // Current status of a queued order (only visible to the user who submitted it)
+    OrderPlacementStatusDto getPlacementStatus(String emailId, String orderReference);
+}
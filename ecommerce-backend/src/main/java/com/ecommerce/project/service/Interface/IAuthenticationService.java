@@ -1,12 +1,14 @@
 package com.ecommerce.project.service.Interface;
 
 import com.ecommerce.project.DTO.AuthenticationResult;
+import com.ecommerce.project.DTO.PasswordHashingStatsResponse;
 import com.ecommerce.project.DTO.UserResponse;
 import com.ecommerce.project.JwtAuth.request.LoginRequest;
 import com.ecommerce.project.JwtAuth.request.SignupRequest;
 import com.ecommerce.project.JwtAuth.request.UpdateUsernameRequest;
 import com.ecommerce.project.JwtAuth.response.MessageResponse;
 import com.ecommerce.project.JwtAuth.response.UserInfoResponse;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
@@ -27,12 +29,18 @@ public interface IAuthenticationService {
     // Get current logged-in user's profile details
     UserInfoResponse getCurrentUserDetails(Authentication authentication);
 
-    // Logout user and clear JWT cookie
-    ResponseCookie logoutUser();
+    // Logout user: revoke the request's JWT and clear the JWT cookie
+    ResponseCookie logoutUser(HttpServletRequest request);
+
+    // Sign a user out everywhere by revoking all tokens issued to them so far
+    MessageResponse revokeUserTokens(Long userId);
 
     // Get all customers (users with ROLE_USER) with pagination
     UserResponse getAllCustomers(Pageable pageable);
 
+    // Get password hashing pool counters (queue depth, rejections, hash latency)
+    PasswordHashingStatsResponse getPasswordHashingStats();
+
     // Update current user's username
     ResponseEntity<MessageResponse> updateUsername(UpdateUsernameRequest request, Authentication authentication);
 }
@@ -2,13 +2,14 @@ package com.ecommerce.project.service.Interface;
 
 import com.ecommerce.project.DTO.CartDto;
 import com.ecommerce.project.DTO.CartItemDto;
-import jakarta.transaction.Transactional;
 
 import java.util.List;
 
 /**
  * Service interface for shopping cart operations
  * Handles cart management, adding/updating/removing items
+ * Callers get RetryingCartService, which retries writes that hit an optimistic-lock conflict,
+ * or WriteBehindCartService when cart.store=write-behind
  */
 public interface ICartService {
     // Add a product to the current user's cart
@@ -20,16 +21,27 @@ public interface ICartService {
     // Get a specific cart by email and cart ID
     CartDto getCart(String emailId, Long cartId);
 
+    // Get a user's cart with all its items, loaded by one query
+    CartDto getUserCart(Long userId);
+
     // Update product quantity in cart (increase or decrease)
-    @Transactional
     CartDto updateProductQuantityInCart(Long productId, Integer quantity);
 
     // Remove a product from cart
     String deleteProductFromCart(Long cartId, Long productId);
 
+    // Remove a product from every cart (called before the product itself is deleted)
+    void removeProductFromAllCarts(Long productId);
+
+    // Remove every item from a cart and reset its total (used after checkout)
+    void clearCart(Long cartId);
+
     // Update cart when product price changes
     void updateProductInCarts(Long cartId, Long productId);
 
     // Create or update cart with items (used for guest cart sync)
     String createOrUpdateCartWithItems(List<CartItemDto> cartItems);
+
+    // Write any cart changes still held in memory for this user to the database (called before checkout reads the cart)
+    void flushCart(String emailId);
 }
@@ -4,6 +4,8 @@ import com.ecommerce.project.DTO.OrderDto;
 import com.ecommerce.project.DTO.OrderResponse;
 import jakarta.transaction.Transactional;
 
+import java.util.Map;
+
 /**
  * Service interface for order operations
  * Handles order placement, tracking, and status management
@@ -13,8 +15,17 @@ public interface IOrderService {
     @Transactional
     OrderDto placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage);
 
-    // Get all orders in system with pagination
-    OrderResponse getAllOrders(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
+    // Place an order only if the cart still holds the given quantity per product ID (as returned by validateOrderRequest)
+    @Transactional
+    OrderDto placeOrder(String emailId, Long addressId, String paymentMethod, String pgName, String pgPaymentId, String pgStatus, String pgResponseMessage,
+                        Map<Long, Integer> expectedQuantities);
+
+    // Check that an order could be placed right now (cart exists and isn't empty, address exists) without placing it;
+    // returns the cart's quantity per product ID
+    Map<Long, Integer> validateOrderRequest(String emailId, Long addressId);
+
+    // Get all orders in system with pagination (cursor != null switches to cursor pagination)
+    OrderResponse getAllOrders(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String cursor);
 
     // Update order status (e.g., Processing, Shipped, Delivered)
     OrderDto orderUpdate(Long orderId, String status);
@@ -1,5 +1,6 @@
 package com.ecommerce.project.service.Interface;
 
+import com.ecommerce.project.DTO.CacheStatsResponse;
 import com.ecommerce.project.DTO.ProductDTO;
 import com.ecommerce.project.DTO.ProductResponse;
 import org.springframework.web.multipart.MultipartFile;
@@ -14,13 +15,13 @@ public interface IProductService {
     // Add a new product to a category
     ProductDTO addProduct(Long categoryId, ProductDTO product);
 
-    // Get all products with optional filters (keyword, category, model) and pagination
-    ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, String model);
+    // Get all products with optional filters (keyword, category, model) and pagination (cursor != null switches to cursor pagination)
+    ProductResponse getAllProducts(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder, String keyword, String category, String model, String cursor);
 
     // Search products by category ID with pagination
     ProductResponse searchByCategory(Long categoryId, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
-    // Search products by keyword in product name
+    // Search products by keyword in product name, model and description
     ProductResponse searchProductByKeyword(String keyword, Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
     // Update existing product details
@@ -35,4 +36,7 @@ public interface IProductService {
     // Get all products for admin dashboard (no filters)
     ProductResponse getAllProductsForAdmin(Integer pageNumber, Integer pageSize, String sortBy, String sortOrder);
 
+    // Get hit/miss/eviction counters of the product listing cache
+    CacheStatsResponse getCatalogCacheStats();
+
 }
@@ -0,0 +1,163 @@
+package com.ecommerce.project.service;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.ecommerce.project.DTO.CartDto;
+import com.ecommerce.project.DTO.CartItemDto;
+import com.ecommerce.project.service.Interface.ICartService;
+
+/**
+ * Cart service front that retries writes which lost an optimistic-lock race.
+ * Cart and CartItem are versioned, so when two requests change the same cart at once only one commits;
+ * the other is run again in a fresh transaction (which re-reads the cart) after a short randomized backoff.
+ * New lines are not versioned yet, so two requests adding the same product collide on the unique
+ * (cart, product) constraint instead; the loser is retried the same way and then finds the line in place.
+ * Calls made inside a caller's transaction (e.g. checkout clearing the cart) are not retried here,
+ * since the conflict has to roll back the caller's whole transaction.
+ * This is the default cart store (cart.store=database).
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "cart.store", havingValue = "database", matchIfMissing = true)
+public class RetryingCartService implements ICartService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryingCartService.class);
+    // The backoff stops growing after this many doublings (10 ms base -> at most 320 ms)
+    private static final int MAX_BACKOFF_DOUBLINGS = 5;
+    // SQLSTATE for a unique constraint violation (PostgreSQL and H2)
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private final ICartServiceImpl cartService;
+    private final int maxAttempts;
+    private final long backoffMs;
+
+    public RetryingCartService(ICartServiceImpl cartService,
+                               @Value("${cart.retry.max-attempts:5}") int maxAttempts,
+                               @Value("${cart.retry.backoff-ms:10}") long backoffMs) {
+        this.cartService = cartService;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMs = Math.max(1, backoffMs);
+    }
+
+    @Override
+    public CartDto addProductToCart(Long productId, Integer quantity) {
+        return withRetry(() -> cartService.addProductToCart(productId, quantity));
+    }
+
+    @Override
+    public List<CartDto> getAllCarts() {
+        return cartService.getAllCarts();
+    }
+
+    @Override
+    public CartDto getCart(String emailId, Long cartId) {
+        return cartService.getCart(emailId, cartId);
+    }
+
+    @Override
+    public CartDto getUserCart(Long userId) {
+        return cartService.getUserCart(userId);
+    }
+
+    @Override
+    public CartDto updateProductQuantityInCart(Long productId, Integer quantity) {
+        return withRetry(() -> cartService.updateProductQuantityInCart(productId, quantity));
+    }
+
+    @Override
+    public String deleteProductFromCart(Long cartId, Long productId) {
+        return withRetry(() -> cartService.deleteProductFromCart(cartId, productId));
+    }
+
+    @Override
+    public void removeProductFromAllCarts(Long productId) {
+        withRetry(() -> {
+            cartService.removeProductFromAllCarts(productId);
+            return null;
+        });
+    }
+
+    @Override
+    public void clearCart(Long cartId) {
+        withRetry(() -> {
+            cartService.clearCart(cartId);
+            return null;
+        });
+    }
+
+    @Override
+    public void updateProductInCarts(Long cartId, Long productId) {
+        withRetry(() -> {
+            cartService.updateProductInCarts(cartId, productId);
+            return null;
+        });
+    }
+
+    @Override
+    public String createOrUpdateCartWithItems(List<CartItemDto> cartItems) {
+        return withRetry(() -> cartService.createOrUpdateCartWithItems(cartItems));
+    }
+
+    @Override
+    public void flushCart(String emailId) {
+        cartService.flushCart(emailId);
+    }
+
+    // Runs a cart write, re-running it on an optimistic-lock or duplicate-line conflict up to maxAttempts times
+    private <T> T withRetry(Supplier<T> cartOperation) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return cartOperation.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return cartOperation.get();
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException conflict) {
+                if (conflict instanceof DataIntegrityViolationException && !isUniqueViolation(conflict)) {
+                    throw conflict;
+                }
+                if (attempt >= maxAttempts) {
+                    logger.warn("Cart update still conflicting after {} attempts", attempt);
+                    throw conflict;
+                }
+                backOff(attempt, conflict);
+            }
+        }
+    }
+
+    // Only a lost race on a unique constraint is worth retrying; other integrity errors fail the same way again
+    private static boolean isUniqueViolation(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Exponential backoff with jitter so retrying requests don't collide again in lockstep
+    private void backOff(int attempt, DataAccessException conflict) {
+        long maxDelayMs = backoffMs << Math.min(attempt - 1, MAX_BACKOFF_DOUBLINGS);
+        long delayMs = ThreadLocalRandom.current().nextLong(maxDelayMs / 2, maxDelayMs + 1);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException interrupted) {
+            Thread.currentThread().interrupt();
+            throw conflict;
+        }
+    }
+}
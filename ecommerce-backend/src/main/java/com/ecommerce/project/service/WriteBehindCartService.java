@@ -0,0 +1,214 @@
+package com.ecommerce.project.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DTO.CartDto;
+import com.ecommerce.project.DTO.CartItemDto;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.cache.WriteBehindCartStore;
+import com.ecommerce.project.cache.WriteBehindCartStore.CartLine;
+import com.ecommerce.project.cache.WriteBehindCartStore.CartState;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.errorHandler.ResourceNotFoundException;
+import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.mapper.CartMapper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.service.Interface.ICartService;
+
+/**
+ * Cart service that keeps shoppers' carts in memory (see WriteBehindCartStore) and writes them back in batches.
+ * Adding, changing and removing items and reading your own cart never wait on a cart row lock;
+ * only the product is read for stock checks. Admin reads, checkout and clearing go to the database,
+ * after pending changes have been written. Enabled with cart.store=write-behind.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "cart.store", havingValue = "write-behind")
+public class WriteBehindCartService implements ICartService {
+
+    private final WriteBehindCartStore cartStore;
+    private final ICartServiceImpl databaseCartService;
+    private final ProductDAO productDAO;
+    private final AuthHelper userAuthHelper;
+    private final String imageResourcePath;
+
+    public WriteBehindCartService(WriteBehindCartStore cartStore, ICartServiceImpl databaseCartService, ProductDAO productDAO,
+                                  AuthHelper userAuthHelper, @Value("${image.base.url}") String imageResourcePath) {
+        this.cartStore = cartStore;
+        this.databaseCartService = databaseCartService;
+        this.productDAO = productDAO;
+        this.userAuthHelper = userAuthHelper;
+        this.imageResourcePath = imageResourcePath;
+    }
+
+    @Override
+    public CartDto addProductToCart(Long productId, Integer quantity) {
+        Product selectedProduct = fetchProductOrThrowException(productId);
+        return cartStore.update(userAuthHelper.loggedInUserId(), userAuthHelper.loggedInEmail(), userAuthHelper::loggedInUser, cart -> {
+            if (cart.lines().containsKey(productId)) {
+                throw new APIErrorHandler(selectedProduct.getProductName() + " is already in your cart");
+            }
+            ICartServiceImpl.validateProductAvailability(selectedProduct, quantity);
+
+            cart.lines().put(productId, new CartLine(ProductMapper.toDto(selectedProduct), quantity, selectedProduct.getPrice()));
+            return buildCartDto(cart);
+        });
+    }
+
+    @Override
+    public List<CartDto> getAllCarts() {
+        cartStore.flushAll();
+        return databaseCartService.getAllCarts();
+    }
+
+    @Override
+    public CartDto getCart(String emailId, Long cartId) {
+        cartStore.flushUser(emailId);
+        return databaseCartService.getCart(emailId, cartId);
+    }
+
+    // The current user's cart is served from memory; anyone else's from the database
+    @Override
+    public CartDto getUserCart(Long userId) {
+        if (!userId.equals(userAuthHelper.loggedInUserId())) {
+            return databaseCartService.getUserCart(userId);
+        }
+        CartDto cartDto = cartStore.read(userId, userAuthHelper.loggedInEmail(), this::buildCartDto);
+        if (cartDto == null) {
+            throw new ResourceNotFoundException("Cart", "userId", userId);
+        }
+        return cartDto;
+    }
+
+    @Override
+    public CartDto updateProductQuantityInCart(Long productId, Integer quantity) {
+        Long userId = userAuthHelper.loggedInUserId();
+        Product targetProduct = fetchProductOrThrowException(productId);
+        ICartServiceImpl.validateProductAvailability(targetProduct, quantity);
+
+        return cartStore.update(userId, userAuthHelper.loggedInEmail(), null, cart -> {
+            CartLine targetLine = cart.lines().get(productId);
+            if (targetLine == null) {
+                throw new APIErrorHandler("This product is not in your cart");
+            }
+            int updatedQuantity = targetLine.quantity() + quantity;
+            ICartServiceImpl.validateQuantityIsNotNegative(updatedQuantity);
+
+            // A quantity of 0 removes the line; otherwise it is repriced at the current price
+            if (updatedQuantity == 0) {
+                cart.lines().remove(productId);
+            } else {
+                cart.lines().put(productId, new CartLine(ProductMapper.toDto(targetProduct), updatedQuantity, targetProduct.getPrice()));
+            }
+            return buildCartDto(cart);
+        });
+    }
+
+    @Override
+    public String deleteProductFromCart(Long cartId, Long productId) {
+        return cartStore.updateIfLoaded(cartId, cart -> {
+                    CartLine removedLine = cart.lines().remove(productId);
+                    if (removedLine == null) {
+                        throw new APIErrorHandler("This product is not in your cart");
+                    }
+                    return removedLine.product().getProductName() + " has been removed from your cart";
+                })
+                .orElseGet(() -> databaseCartService.deleteProductFromCart(cartId, productId));
+    }
+
+    // Both copies go now: a line left in memory or in the database would make deleting the product fail
+    @Override
+    public void removeProductFromAllCarts(Long productId) {
+        cartStore.productDeleted(productId);
+        databaseCartService.removeProductFromAllCarts(productId);
+    }
+
+    // Cleared in the database inside checkout; the bought lines leave the in-memory cart once the order commits
+    @Override
+    public void clearCart(Long cartId) {
+        databaseCartService.clearCart(cartId);
+        cartStore.checkedOut(cartId);
+    }
+
+    @Override
+    public void updateProductInCarts(Long cartId, Long productId) {
+        Product updatedProduct = fetchProductOrThrowException(productId);
+        cartStore.updateIfLoaded(cartId, cart -> {
+                    CartLine affectedLine = cart.lines().get(productId);
+                    if (affectedLine == null) {
+                        throw new APIErrorHandler("This product is not in your cart");
+                    }
+                    cart.lines().put(productId,
+                            new CartLine(ProductMapper.toDto(updatedProduct), affectedLine.quantity(), updatedProduct.getPrice()));
+                    return Boolean.TRUE;
+                })
+                .orElseGet(() -> {
+                    databaseCartService.updateProductInCarts(cartId, productId);
+                    return Boolean.TRUE;
+                });
+    }
+
+    // The synced items replace the cart's lines
+    @Override
+    public String createOrUpdateCartWithItems(List<CartItemDto> cartItems) {
+        Map<Long, Integer> requestedQuantities = ICartServiceImpl.mergeRequestedQuantities(cartItems);
+        Map<Long, Product> catalogProducts = productDAO.findAllById(requestedQuantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        for (Long productId : requestedQuantities.keySet()) {
+            if (!catalogProducts.containsKey(productId)) {
+                throw new ResourceNotFoundException("Product", "productId", productId);
+            }
+        }
+        requestedQuantities.forEach((productId, quantity) ->
+                ICartServiceImpl.validateProductAvailability(catalogProducts.get(productId), quantity));
+
+        Map<Long, CartLine> syncedLines = new LinkedHashMap<>();
+        requestedQuantities.forEach((productId, quantity) -> {
+            Product product = catalogProducts.get(productId);
+            syncedLines.put(productId, new CartLine(ProductMapper.toDto(product), quantity, product.getPrice()));
+        });
+        cartStore.update(userAuthHelper.loggedInUserId(), userAuthHelper.loggedInEmail(), userAuthHelper::loggedInUser, cart -> {
+            cart.lines().clear();
+            cart.lines().putAll(syncedLines);
+            return null;
+        });
+
+        return "Your cart has been updated with the new items";
+    }
+
+    @Override
+    public void flushCart(String emailId) {
+        cartStore.flushForCheckout(emailId);
+    }
+
+    // Helper: Find product by ID or throw error
+    private Product fetchProductOrThrowException(Long productId) {
+        return productDAO.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "productId", productId));
+    }
+
+    // Helper: Cart DTO from the in-memory lines; each product carries the quantity in the cart
+    private CartDto buildCartDto(CartState cart) {
+        List<ProductDTO> products = new ArrayList<>(cart.lines().size());
+        double totalPrice = 0.0;
+        for (CartLine line : cart.lines().values()) {
+            ProductDTO productDTO = line.product();
+            productDTO.setQuantity(line.quantity());
+            products.add(productDTO);
+            totalPrice += line.quantity() * line.price();
+        }
+        return CartMapper.resolveImageUrls(new CartDto(cart.cartId(), totalPrice, products), imageResourcePath);
+    }
+}
@@ -0,0 +1,91 @@
+package com.ecommerce.project.JwtAuth.jwt;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ecommerce.project.DAO.RoleDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.cache.UserDetailsCache;
+import com.ecommerce.project.model.AppRole;
+import com.ecommerce.project.model.Role;
+import com.ecommerce.project.model.User;
+
+/**
+ * Checks that a still-unexpired token stops working once revoked, and that a role change
+ * applies to tokens issued before it.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AuthTokenFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JwtUtils jwtUtils;
+    @Autowired
+    private TokenDenyList tokenDenyList;
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private RoleDAO roleDAO;
+
+    @Test
+    void revokedTokenNoLongerAuthenticates() throws Exception {
+        String token = jwtUtils.generateToken(UserDetailsImpl.build(createUser(AppRole.ROLE_USER, AppRole.ROLE_ADMIN)));
+        mockMvc.perform(withToken(get("/api/auth/admin/rate-limit-stats"), token)).andExpect(status().isOk());
+
+        tokenDenyList.revokeToken(jwtUtils.parseValidClaims(token));
+
+        mockMvc.perform(withToken(get("/api/auth/admin/rate-limit-stats"), token)).andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void demotedAdminLosesAdminAccessWithTheSameToken() throws Exception {
+        User user = createUser(AppRole.ROLE_USER, AppRole.ROLE_ADMIN);
+        String token = jwtUtils.generateToken(UserDetailsImpl.build(user));
+        mockMvc.perform(withToken(get("/api/auth/admin/rate-limit-stats"), token)).andExpect(status().isOk());
+
+        // As a role change does: save the new roles and drop the cached user
+        user.setRoles(roles(AppRole.ROLE_USER));
+        userDAO.save(user);
+        userDetailsCache.evict(user.getUserName());
+
+        mockMvc.perform(withToken(get("/api/auth/admin/rate-limit-stats"), token)).andExpect(status().isForbidden());
+        mockMvc.perform(withToken(get("/api/auth/profile"), token)).andExpect(status().isOk());
+    }
+
+    private MockHttpServletRequestBuilder withToken(MockHttpServletRequestBuilder request, String token) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private User createUser(AppRole... roleNames) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = new User("user" + suffix, suffix + "@example.com", "password");
+        user.setRoles(roles(roleNames));
+        return userDAO.save(user);
+    }
+
+    private Set<Role> roles(AppRole... roleNames) {
+        Set<Role> roles = new HashSet<>();
+        for (AppRole roleName : roleNames) {
+            roles.add(roleDAO.findByRoleName(roleName).orElseThrow());
+        }
+        return roles;
+    }
+}
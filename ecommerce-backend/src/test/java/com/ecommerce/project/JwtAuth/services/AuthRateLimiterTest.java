@@ -0,0 +1,28 @@
+package com.ecommerce.project.JwtAuth.services;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+
+/**
+ * Checks that filling the bucket caches with other keys can't reset a drained account's limit.
+ */
+class AuthRateLimiterTest {
+
+    @Test
+    void sprayingOtherUsernamesDoesNotRefillADrainedAccount() {
+        // Three tracked keys, two attempts per account and hardly any refill during the test
+        AuthRateLimiter rateLimiter = new AuthRateLimiter(1000, 1, 2, 1, 3);
+        rateLimiter.checkAttempt("10.0.0.1", "victim");
+        rateLimiter.checkAttempt("10.0.0.1", "victim");
+
+        for (int sprayed = 0; sprayed < 50; sprayed++) {
+            rateLimiter.checkAttempt("10.0.0.1", "sprayed" + sprayed);
+        }
+
+        assertThatThrownBy(() -> rateLimiter.checkAttempt("10.0.0.1", "victim"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+}
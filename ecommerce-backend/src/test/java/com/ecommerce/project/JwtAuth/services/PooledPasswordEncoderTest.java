@@ -0,0 +1,96 @@
+package com.ecommerce.project.JwtAuth.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+
+/**
+ * Checks that a caller is turned away with 429 once the hashing pool and its queue are full,
+ * and that only hashes made with another cost factor are flagged for re-hashing.
+ */
+class PooledPasswordEncoderTest {
+
+    @Test
+    void fullQueueTurnsCallersAway() throws Exception {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(4, 1, 1);
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            // The only thread is stuck reading the first password, the second waits in the queue
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() ->
+                    encoder.encode(new BlockingPassword("first", hashing, release)));
+            assertThat(hashing.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("second"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (encoder.stats().getQueued() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> encoder.encode("third"))
+                    .isInstanceOf(TooManyRequestsException.class);
+
+            // Both accepted calls still finish once the thread is freed
+            release.countDown();
+            String firstHash = running.get(5, TimeUnit.SECONDS);
+            String secondHash = queued.get(5, TimeUnit.SECONDS);
+            assertThat(encoder.matches("first", firstHash)).isTrue();
+            assertThat(encoder.matches("second", secondHash)).isTrue();
+            assertThat(encoder.stats().getRejections()).isEqualTo(1);
+        } finally {
+            release.countDown();
+            encoder.shutdown();
+        }
+    }
+
+    @Test
+    void onlyHashesWithAnotherCostFactorAreUpgraded() {
+        PooledPasswordEncoder encoder = new PooledPasswordEncoder(5, 1, 10);
+        try {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password"))).isTrue();
+            assertThat(encoder.upgradeEncoding(encoder.encode("password"))).isFalse();
+            assertThat(encoder.upgradeEncoding("not a bcrypt hash")).isFalse();
+            assertThat(encoder.upgradeEncoding(null)).isFalse();
+        } finally {
+            encoder.shutdown();
+        }
+    }
+
+    // A password that holds the hashing thread until released (BCrypt reads it through toString)
+    private record BlockingPassword(String password, CountDownLatch hashing, CountDownLatch release) implements CharSequence {
+
+        @Override
+        public String toString() {
+            hashing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return password;
+        }
+
+        @Override
+        public int length() {
+            return password.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return password.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return password.subSequence(start, end);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.ecommerce.project.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.AddressDAO;
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.CategoryDAO;
+import com.ecommerce.project.DAO.DailySalesRollupDAO;
+import com.ecommerce.project.DAO.HourlySalesRollupDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.SalesRollupDto;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.HourlySalesRollup;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.IOrderService;
+
+/**
+ * Checks that the rollups add up to the orders placed, that a backfill rebuilds the same totals
+ * from the order tables, and that a bucket row created by another instance mid-flush is added to.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SalesRollupsTest {
+
+    @Autowired
+    private SalesRollups salesRollups;
+    @Autowired
+    private IOrderService orderService;
+    @MockitoSpyBean
+    private HourlySalesRollupDAO hourlyRollupDAO;
+    @Autowired
+    private DailySalesRollupDAO dailyRollupDAO;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CategoryDAO categoryDAO;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private AddressDAO addressDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void rollupsAddUpToThePlacedOrders() {
+        Category category = createCategory();
+        OrderDto first = placeOrder(category, 2, 12.5);
+        OrderDto second = placeOrder(category, 3, 4.0);
+
+        salesRollups.flush();
+
+        SalesRollupDto daily = dailyRollup(category);
+        assertThat(daily.getOrderCount()).isEqualTo(2);
+        assertThat(daily.getUnits()).isEqualTo(5);
+        assertThat(daily.getRevenue()).isEqualTo(first.getTotalAmount() + second.getTotalAmount());
+        // Both orders fall in one hour unless the test runs across the hour
+        assertThat(hourlyRollups(category).stream().mapToDouble(SalesRollupDto::getRevenue).sum())
+                .isEqualTo(first.getTotalAmount() + second.getTotalAmount());
+    }
+
+    @Test
+    void backfillRebuildsTheSameTotalsFromTheOrders() {
+        Category category = createCategory();
+        placeOrder(category, 1, 30.0);
+        placeOrder(category, 4, 2.5);
+        salesRollups.flush();
+        SalesRollupDto flushedDaily = dailyRollup(category);
+        List<SalesRollupDto> flushedHourly = hourlyRollups(category);
+
+        // Lose the rows, then rebuild them twice: a rebuild replaces the day rather than adding to it
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        transactionTemplate.executeWithoutResult(status -> {
+            dailyRollupDAO.deleteBuckets(today, today.plusDays(1));
+            hourlyRollupDAO.deleteBuckets(today, today.plusDays(1));
+        });
+        salesRollups.backfill(LocalDate.now(), LocalDate.now());
+        salesRollups.backfill(LocalDate.now(), LocalDate.now());
+
+        assertThat(dailyRollup(category)).usingRecursiveComparison().isEqualTo(flushedDaily);
+        assertThat(hourlyRollups(category)).usingRecursiveComparison().isEqualTo(flushedHourly);
+    }
+
+    @Test
+    void bucketRowInsertedByAnotherInstanceMidFlushIsAddedTo() {
+        Long categoryId = createCategory().getCategoryId();
+        LocalDateTime hourStart = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        // The first UPDATE finds no row; another instance then inserts it before this flush's INSERT
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status ->
+                            hourlyRollupDAO.save(new HourlySalesRollup(hourStart, categoryId, 1, 100.0, 1))))
+                    .get(5, TimeUnit.SECONDS);
+            reset(hourlyRollupDAO);
+            return 0;
+        }).when(hourlyRollupDAO).addToBucket(eq(hourStart), eq(categoryId), anyLong(), anyDouble(), anyLong());
+        try {
+            salesRollups.recordOrder(LocalDateTime.now(), List.of(orderItem(categoryId, 2, 5.0)));
+            salesRollups.flush();
+        } finally {
+            reset(hourlyRollupDAO);
+        }
+
+        List<SalesRollupDto> hourly = hourlyRollupDAO.findRollups(hourStart, hourStart.plusHours(1), categoryId);
+        assertThat(hourly).singleElement().satisfies(bucket -> {
+            assertThat(bucket.getOrderCount()).isEqualTo(2);
+            assertThat(bucket.getRevenue()).isEqualTo(110.0);
+            assertThat(bucket.getUnits()).isEqualTo(3);
+        });
+    }
+
+    private SalesRollupDto dailyRollup(Category category) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        List<SalesRollupDto> daily = dailyRollupDAO.findRollups(today, today.plusDays(1), category.getCategoryId());
+        assertThat(daily).hasSize(1);
+        return daily.get(0);
+    }
+
+    private List<SalesRollupDto> hourlyRollups(Category category) {
+        LocalDateTime today = LocalDate.now().atStartOfDay();
+        return hourlyRollupDAO.findRollups(today, today.plusDays(1), category.getCategoryId());
+    }
+
+    private OrderItem orderItem(Long categoryId, int quantity, double price) {
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        Product product = new Product();
+        product.setCategory(category);
+        return new OrderItem(null, product, null, quantity, price);
+    }
+
+    // A new shopper with one line of a new product of the category in their cart, ordered
+    private OrderDto placeOrder(Category category, int quantity, double price) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " rolled up");
+        product.setDescription("Description of rolled up product");
+        product.setQuantity(100);
+        product.setPrice(price);
+        product.setCategory(category);
+        product = productDAO.save(product);
+
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        Address address = new Address("Main Street", "Building", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        Long addressId = addressDAO.save(address).getAddressId();
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalPrice(price * quantity);
+        cart = cartDAO.save(cart);
+        cartItemDAO.save(new CartItem(null, cart, product, quantity, price));
+
+        return orderService.placeOrder(user.getEmail(), addressId, "Card", "Stripe", "pi_1", "succeeded", "ok");
+    }
+
+    private Category createCategory() {
+        Category category = new Category();
+        category.setCategoryName("Category " + UUID.randomUUID().toString().substring(0, 8));
+        return categoryDAO.save(category);
+    }
+}
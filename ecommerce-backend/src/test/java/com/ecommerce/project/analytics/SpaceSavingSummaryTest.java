@@ -0,0 +1,70 @@
+package com.ecommerce.project.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Feeds skewed weighted streams through the heap-based summary and checks the Space-Saving bounds
+ * against exact counts: estimates never undercount, the inherited error covers any overcount,
+ * and every item above total / capacity is tracked.
+ */
+class SpaceSavingSummaryTest {
+
+    @Test
+    void estimatesStayWithinTheSpaceSavingBounds() {
+        Random random = new Random(42);
+        for (int run = 0; run < 200; run++) {
+            int capacity = 1 + random.nextInt(10);
+            SpaceSavingSummary summary = new SpaceSavingSummary(capacity);
+            Map<Long, Double> exactCounts = new HashMap<>();
+            double total = 0;
+            for (int sale = 0; sale < 2000; sale++) {
+                long productId = (long) Math.min(40, Math.abs(random.nextGaussian() * 10));
+                double units = 1 + random.nextInt(5);
+                summary.add(productId, units);
+                exactCounts.merge(productId, units, Double::sum);
+                total += units;
+            }
+
+            Map<Long, double[]> estimates = new HashMap<>();
+            summary.forEach((productId, count, error) -> estimates.put(productId, new double[] {count, error}));
+            assertThat(estimates).hasSizeLessThanOrEqualTo(capacity);
+            double estimatedTotal = 0;
+            for (Map.Entry<Long, double[]> estimate : estimates.entrySet()) {
+                double exactCount = exactCounts.get(estimate.getKey());
+                double count = estimate.getValue()[0];
+                double error = estimate.getValue()[1];
+                assertThat(count).isGreaterThanOrEqualTo(exactCount - 1e-9);
+                assertThat(count - error).isLessThanOrEqualTo(exactCount + 1e-9);
+                estimatedTotal += count;
+            }
+            assertThat(estimatedTotal).isCloseTo(total, within(1e-6));
+            double threshold = total / capacity;
+            exactCounts.forEach((productId, exactCount) -> {
+                if (exactCount > threshold) {
+                    assertThat(estimates).containsKey(productId);
+                }
+            });
+        }
+    }
+
+    @Test
+    void scalingKeepsTheSmallestCounterFirstInLine() {
+        SpaceSavingSummary summary = new SpaceSavingSummary(2);
+        summary.add(1L, 5);
+        summary.add(2L, 3);
+        summary.scale(0.5);
+        summary.add(3L, 1);
+
+        Map<Long, double[]> estimates = new HashMap<>();
+        summary.forEach((productId, count, error) -> estimates.put(productId, new double[] {count, error}));
+        assertThat(estimates).containsOnlyKeys(1L, 3L);
+        assertThat(estimates.get(3L)).containsExactly(2.5, 1.5);
+    }
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.project.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.model.Product;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Checks that reconciliations running alongside reported writes count each write exactly once.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StoreCountersTest {
+
+    @Autowired
+    private StoreCounters storeCounters;
+    @MockitoSpyBean
+    private ProductDAO productDAO;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void reconcileDuringACommitCountsTheWriteOnce() throws Exception {
+        // Earlier tests save products behind the services' back
+        storeCounters.reconcile();
+        ExecutorService reconciler = Executors.newSingleThreadExecutor();
+        try {
+            Future<?>[] reconcile = new Future<?>[1];
+            transactionTemplate.executeWithoutResult(status -> {
+                // Registered first, so it runs after the commit but before the counter would be bumped
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        reconcile[0] = reconciler.submit(storeCounters::reconcile);
+                        try {
+                            reconcile[0].get(500, TimeUnit.MILLISECONDS);
+                        } catch (TimeoutException e) {
+                            // Expected: the recount waits until this write has been applied
+                        } catch (Exception e) {
+                            throw new IllegalStateException(e);
+                        }
+                    }
+                });
+                productDAO.save(createProduct());
+                storeCounters.productsChanged(1);
+            });
+            reconcile[0].get(5, TimeUnit.SECONDS);
+        } finally {
+            reconciler.shutdownNow();
+        }
+
+        assertThat(storeCounters.current().productCount()).isEqualTo(productDAO.count());
+    }
+
+    @Test
+    void writesCommittedWhileTheCountsRunAreKept() throws Exception {
+        storeCounters.reconcile();
+        ExecutorService writer = Executors.newSingleThreadExecutor();
+        try {
+            // Commit a reported write after the recount has opened its snapshot but before it finishes
+            doAnswer(invocation -> {
+                // Repository proxies can't call the real method, so count in the recount's own transaction
+                long count = entityManager.createQuery("SELECT COUNT(p) FROM Product p", Long.class).getSingleResult();
+                writer.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    productDAO.save(createProduct());
+                    storeCounters.productsChanged(1);
+                })).get(5, TimeUnit.SECONDS);
+                return count;
+            }).when(productDAO).count();
+            try {
+                storeCounters.reconcile();
+            } finally {
+                reset(productDAO);
+            }
+        } finally {
+            writer.shutdownNow();
+        }
+
+        assertThat(storeCounters.current().productCount()).isEqualTo(productDAO.count());
+    }
+
+    private Product createProduct() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " counted");
+        product.setDescription("Description of counted product");
+        product.setQuantity(100);
+        product.setPrice(10.0);
+        return product;
+    }
+}
@@ -0,0 +1,107 @@
+package com.ecommerce.project.benchmark;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.ecommerce.project.JwtAuth.jwt.AuthTokenFilter;
+import com.ecommerce.project.JwtAuth.jwt.JwtUtils;
+import com.ecommerce.project.JwtAuth.jwt.TokenDenyList;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Per-request cost of AuthTokenFilter for a bearer token that carries the user's claims,
+ * next to a request without a token and the old parse path (a fresh key and parser per call,
+ * validating and then parsing the same token a second time). The old path's database lookup of
+ * the user is not included, so the real saving per request is larger than shown here.
+ *
+ * Run with:
+ * mvn -B test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main AuthTokenFilterBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private static final String JWT_SECRET = "mySecretKey123912738aopsgjnspkmndfsopkvajoirjg94gf2opfng2moknm";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private AuthTokenFilter authTokenFilter;
+    private String bearerToken;
+
+    @Setup
+    public void createFilter() {
+        // Without Spring Boot's logging setup logback defaults to DEBUG, which would measure log output instead
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+        JwtUtils jwtUtils = new JwtUtils(new StaticMessageSource(), JWT_SECRET, 300_000_000, "springBootEcom", true);
+        TokenDenyList tokenDenyList = new TokenDenyList(null, null, 300_000_000);
+        // Claims-carrying tokens never reach the user details service
+        authTokenFilter = new AuthTokenFilter(jwtUtils, null, tokenDenyList);
+        bearerToken = jwtUtils.generateToken(new UserDetailsImpl(1L, "shopper", "shopper@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @Benchmark
+    public Object filterWithBearerToken() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/cart");
+        request.addHeader("Authorization", "Bearer " + bearerToken);
+        return runFilter(request);
+    }
+
+    @Benchmark
+    public Object filterWithoutToken() throws ServletException, IOException {
+        return runFilter(new MockHttpServletRequest("GET", "/api/public/products"));
+    }
+
+    @Benchmark
+    public Claims previousKeyAndParserPerCall() {
+        SecretKey validationKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET));
+        Jwts.parser().verifyWith(validationKey).build().parseSignedClaims(bearerToken);
+        SecretKey extractionKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(JWT_SECRET));
+        return Jwts.parser().verifyWith(extractionKey).build().parseSignedClaims(bearerToken).getPayload();
+    }
+
+    // A new request per call, as in production; OncePerRequestFilter skips requests it has already seen
+    private Object runFilter(MockHttpServletRequest request) throws ServletException, IOException {
+        try {
+            authTokenFilter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
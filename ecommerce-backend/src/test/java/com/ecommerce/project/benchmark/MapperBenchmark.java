@@ -0,0 +1,109 @@
+package com.ecommerce.project.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.mapper.OrderMapper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.OrderItem;
+import com.ecommerce.project.model.Payment;
+import com.ecommerce.project.model.Product;
+
+/**
+ * Hand-written mappers against the ModelMapper path they replaced, for a flat entity (Product)
+ * and a nested one (an Order with five items and a payment, as on the order history page).
+ * The ModelMapper instance is warmed up, so this measures steady-state cost, not first-use type-map building.
+ *
+ * Run with:
+ * mvn -B test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main MapperBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private final ModelMapper modelMapper = new ModelMapper();
+    private Product product;
+    private Order order;
+
+    @Setup
+    public void createEntities() {
+        // OrderItemDto.orderId matches both orderItemId and order.orderId; the old default configuration predates that field
+        modelMapper.getConfiguration().setAmbiguityIgnored(true);
+        product = createProduct(1L);
+
+        order = new Order();
+        order.setOrderId(10L);
+        order.setEmail("shopper@example.com");
+        order.setOrderDate(LocalDate.now());
+        order.setTotalAmount(250.0);
+        order.setOrderStatus("Accepted");
+        Address address = new Address();
+        address.setAddressId(3L);
+        order.setAddress(address);
+        order.setPayment(new Payment(20L, order, "card", "pg-123", "succeeded", "Payment successful", "stripe"));
+        List<OrderItem> orderItems = new ArrayList<>();
+        for (long productId = 1; productId <= 5; productId++) {
+            orderItems.add(new OrderItem(100 + productId, createProduct(productId), order, 2, 25.0));
+        }
+        order.setOrderItems(orderItems);
+
+        // Build ModelMapper's type maps outside the measurement
+        modelMapper.map(product, ProductDTO.class);
+        modelMapper.map(order, OrderDto.class);
+    }
+
+    @Benchmark
+    public ProductDTO productHandWritten() {
+        return ProductMapper.toDto(product);
+    }
+
+    @Benchmark
+    public ProductDTO productModelMapper() {
+        return modelMapper.map(product, ProductDTO.class);
+    }
+
+    @Benchmark
+    public OrderDto orderHandWritten() {
+        return OrderMapper.toDto(order);
+    }
+
+    @Benchmark
+    public OrderDto orderModelMapper() {
+        return modelMapper.map(order, OrderDto.class);
+    }
+
+    private static Product createProduct(Long productId) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName("Product " + productId);
+        product.setModel("Model " + productId);
+        product.setImage("product-" + productId + ".png");
+        product.setDescription("Description of product " + productId);
+        product.setQuantity(100);
+        product.setPrice(25.0);
+        return product;
+    }
+}
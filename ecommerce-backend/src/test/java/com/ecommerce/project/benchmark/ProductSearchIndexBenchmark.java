@@ -0,0 +1,113 @@
+package com.ecommerce.project.benchmark;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.search.ProductSearchIndex;
+import com.ecommerce.project.search.ProductSearchIndex.SearchHit;
+
+/**
+ * The in-memory search index over a 50,000-product catalog: a plain keyword search, a prefix that expands
+ * to several terms, a category-filtered search, a deep unfiltered id page (the BESTSELLING fallback),
+ * and searches running while another thread keeps re-indexing products.
+ *
+ * Run with:
+ * mvn -B test-compile exec:exec -Dexec.executable=java -Dexec.classpathScope=test \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main ProductSearchIndexBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductSearchIndexBenchmark {
+
+    private static final int CATALOG_SIZE = 50_000;
+    private static final String[] NOUNS = {"hoodie", "jacket", "sneaker", "backpack", "laptop", "headphones",
+            "monitor", "blender", "lamp", "tent"};
+    private static final String[] ADJECTIVES = {"classic", "wireless", "waterproof", "compact", "premium",
+            "vintage", "ergonomic", "lightweight"};
+    private static final String[] CATEGORIES = {"Sportswear", "Footwear", "Electronics", "Home Kitchen", "Outdoors"};
+
+    private final ProductSearchIndex index = new ProductSearchIndex(null);
+    private final Set<Long> rankedProductIds = Set.of(5L, 500L, 5_000L, 25_000L, 40_000L);
+    private long reindexedProductId;
+
+    @Setup
+    public void buildIndex() {
+        for (long productId = 1; productId <= CATALOG_SIZE; productId++) {
+            index.index(createProduct(productId));
+        }
+    }
+
+    @Benchmark
+    public List<SearchHit> keyword() {
+        return index.search("wireless headphones", null, null);
+    }
+
+    @Benchmark
+    public List<SearchHit> prefix() {
+        return index.search("he", null, null);
+    }
+
+    @Benchmark
+    public List<SearchHit> keywordInCategory() {
+        return index.search("jacket", null, "%wear");
+    }
+
+    @Benchmark
+    public List<Long> deepProductIdPage() {
+        return index.productIds(rankedProductIds, 45_000, 20);
+    }
+
+    @Benchmark
+    @Group("searchWhileIndexing")
+    @GroupThreads(3)
+    public List<SearchHit> searchAlongsideWrites() {
+        return index.search("wireless headphones", null, null);
+    }
+
+    @Benchmark
+    @Group("searchWhileIndexing")
+    @GroupThreads(1)
+    public void reindexProduct() {
+        // Only the writer thread touches the counter
+        reindexedProductId = reindexedProductId % CATALOG_SIZE + 1;
+        index.index(createProduct(reindexedProductId));
+    }
+
+    private static Product createProduct(long productId) {
+        Category category = new Category();
+        category.setCategoryId(productId % CATEGORIES.length);
+        category.setCategoryName(CATEGORIES[(int) (productId % CATEGORIES.length)]);
+
+        String noun = NOUNS[(int) (productId % NOUNS.length)];
+        String adjective = ADJECTIVES[(int) (productId / NOUNS.length % ADJECTIVES.length)];
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName(adjective + " " + noun + " " + productId);
+        product.setModel("M-" + productId % 997);
+        product.setDescription("A " + adjective + " " + noun + " for everyday use, batch " + productId % 113);
+        product.setQuantity(100);
+        product.setPrice(10.0 + productId % 250);
+        product.setCategory(category);
+        return product;
+    }
+}
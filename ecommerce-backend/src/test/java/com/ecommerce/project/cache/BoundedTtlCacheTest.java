@@ -0,0 +1,40 @@
+package com.ecommerce.project.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks LRU eviction around protected entries: a new entry that finds no room is reported as not stored,
+ * and is never stored by evicting itself.
+ */
+class BoundedTtlCacheTest {
+
+    @Test
+    void newEntryIsNotStoredWhenOnlyProtectedEntriesCouldMakeRoom() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 1, Duration.ofHours(1),
+                value -> !value.startsWith("pinned"));
+        cache.put("first", "pinned");
+
+        assertThat(cache.putIfRoom("second", "plain")).isNull();
+        assertThat(cache.get("second")).isNull();
+        assertThat(cache.get("first")).isEqualTo("pinned");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void leastRecentlyUsedUnprotectedEntryMakesRoom() {
+        BoundedTtlCache<String, String> cache = new BoundedTtlCache<>("test", 2, Duration.ofHours(1),
+                value -> !value.startsWith("pinned"));
+        cache.put("pinned", "pinned");
+        cache.put("old", "plain");
+        cache.get("pinned");
+
+        assertThat(cache.putIfRoom("new", "plain")).isEqualTo("plain");
+        assertThat(cache.get("old")).isNull();
+        assertThat(cache.get("pinned")).isEqualTo("pinned");
+        assertThat(cache.get("new")).isEqualTo("plain");
+    }
+}
@@ -0,0 +1,111 @@
+package com.ecommerce.project.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+import com.ecommerce.project.errorHandler.UnprocessableRequestException;
+
+/**
+ * Checks that an Idempotency-Key places its order once: retries get the first result, an order still being placed
+ * keeps its key under churn, and a key reused for a different request is refused.
+ */
+class OrderIdempotencyStoreTest {
+
+    private static final String SHOPPER = "shopper@example.com";
+    private static final List<Object> REQUEST = List.of(1L, "Card");
+
+    @Test
+    void retryReturnsTheFirstOrderWithoutPlacingAnother() {
+        OrderIdempotencyStore store = new OrderIdempotencyStore(10, 3600, 3600);
+        AtomicInteger placements = new AtomicInteger();
+
+        OrderDto first = store.placeOnce(SHOPPER, "key", REQUEST, () -> placeOrder(placements));
+        OrderDto retried = store.placeOnce(SHOPPER, "key", REQUEST, () -> placeOrder(placements));
+
+        assertThat(retried).isSameAs(first);
+        assertThat(placements).hasValue(1);
+    }
+
+    @Test
+    void orderBeingPlacedKeepsItsKeyWhileOtherKeysChurn() throws Exception {
+        OrderIdempotencyStore store = new OrderIdempotencyStore(2, 3600, 3600);
+        AtomicInteger placements = new AtomicInteger();
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDto> slowOrder = CompletableFuture.supplyAsync(() ->
+                store.placeOnce(SHOPPER, "slow", REQUEST, () -> {
+                    placing.countDown();
+                    awaitQuietly(release);
+                    return placeOrder(placements);
+                }));
+        assertThat(placing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        for (int order = 0; order < 10; order++) {
+            store.placeOnce(SHOPPER, "quick-" + order, REQUEST, () -> placeOrder(placements));
+        }
+        CompletableFuture<OrderDto> retry = CompletableFuture.supplyAsync(() ->
+                store.placeOnce(SHOPPER, "slow", REQUEST, () -> placeOrder(placements)));
+        release.countDown();
+
+        assertThat(retry.get(10, TimeUnit.SECONDS)).isSameAs(slowOrder.get(10, TimeUnit.SECONDS));
+        assertThat(placements).hasValue(11);
+    }
+
+    @Test
+    void storeFullOfOrdersBeingPlacedRejectsNewKeys() throws Exception {
+        OrderIdempotencyStore store = new OrderIdempotencyStore(1, 3600, 3600);
+        CountDownLatch placing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<OrderDto> slowOrder = CompletableFuture.supplyAsync(() ->
+                store.placeOnce(SHOPPER, "slow", REQUEST, () -> {
+                    placing.countDown();
+                    awaitQuietly(release);
+                    return new OrderDto();
+                }));
+        assertThat(placing.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThatThrownBy(() -> store.placeOnce(SHOPPER, "other", REQUEST, OrderDto::new))
+                    .isInstanceOf(TooManyRequestsException.class);
+        } finally {
+            release.countDown();
+        }
+        slowOrder.get(10, TimeUnit.SECONDS);
+        assertThat(store.placeOnce(SHOPPER, "other", REQUEST, OrderDto::new)).isNotNull();
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRefused() {
+        OrderIdempotencyStore store = new OrderIdempotencyStore(10, 3600, 3600);
+        store.placeOnce(SHOPPER, "key", REQUEST, OrderDto::new);
+        store.submitOnce(SHOPPER, "key", REQUEST, () -> "reference");
+
+        assertThatThrownBy(() -> store.placeOnce(SHOPPER, "key", List.of(2L, "Card"), OrderDto::new))
+                .isInstanceOf(UnprocessableRequestException.class);
+        assertThatThrownBy(() -> store.submitOnce(SHOPPER, "key", List.of(1L, "Cash"), () -> "other reference"))
+                .isInstanceOf(UnprocessableRequestException.class);
+    }
+
+    private OrderDto placeOrder(AtomicInteger placements) {
+        placements.incrementAndGet();
+        return new OrderDto();
+    }
+
+    private void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.project.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ecommerce.project.DAO.AddressDAO;
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.DTO.ProductResponse;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.IOrderService;
+import com.ecommerce.project.service.Interface.IProductService;
+
+/**
+ * Checks that cached storefront listings follow checkout's stock changes
+ * and can't be changed through the copies handed out to callers.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductCatalogCacheTest {
+
+    @Autowired
+    private IProductService productService;
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private AddressDAO addressDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Test
+    void checkoutRefreshesCachedStockLevels() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = createProduct(suffix);
+        assertThat(stockInNewestListing(product)).isEqualTo(100);
+
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        Address address = new Address("Main Street", "Building", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        Long addressId = addressDAO.save(address).getAddressId();
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalPrice(product.getPrice() * 2);
+        cart = cartDAO.save(cart);
+        cartItemDAO.save(new CartItem(null, cart, product, 2, product.getPrice()));
+
+        orderService.placeOrder(user.getEmail(), addressId, "Card", "Stripe", "pi_1", "succeeded", "ok");
+
+        assertThat(stockInNewestListing(product)).isEqualTo(98);
+    }
+
+    @Test
+    void changingAListingDoesNotChangeTheCachedOne() {
+        Product product = createProduct(UUID.randomUUID().toString().substring(0, 8));
+        ProductResponse firstListing = newestListing();
+        firstListing.getContent().get(0).setQuantity(-1);
+        firstListing.getContent().clear();
+
+        assertThat(stockInNewestListing(product)).isEqualTo(100);
+    }
+
+    private Integer stockInNewestListing(Product product) {
+        ProductDTO newest = newestListing().getContent().get(0);
+        assertThat(newest.getProductId()).isEqualTo(product.getProductId());
+        return newest.getQuantity();
+    }
+
+    private ProductResponse newestListing() {
+        return productService.getAllProducts(0, 5, "productId", "desc", null, null, null, null);
+    }
+
+    private Product createProduct(String suffix) {
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " cached");
+        product.setDescription("Description of cached product");
+        product.setQuantity(100);
+        product.setPrice(10.0);
+        product = productDAO.save(product);
+        // Saved behind the service's back, so drop listings cached by earlier tests
+        catalogCache.invalidateAll();
+        return product;
+    }
+}
@@ -0,0 +1,280 @@
+package com.ecommerce.project.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.ProductDTO;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.cache.WriteBehindCartStore.CartLine;
+import com.ecommerce.project.helper.AuthHelper;
+import com.ecommerce.project.mapper.ProductMapper;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.ICartServiceImpl;
+import com.ecommerce.project.service.Interface.ICartService;
+import com.ecommerce.project.service.Interface.IProductService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Races the write-behind cart store against checkout, its own flusher and failing writes,
+ * and checks that the database ends up with exactly the cart the shopper sees.
+ * The scheduled flush is pushed out of the way and carts count as idle at once, so the tests drive
+ * flushing and eviction themselves.
+ */
+@SpringBootTest(properties = {
+        "cart.store=write-behind",
+        "cart.write-behind.flush-interval-ms=3600000",
+        "cart.write-behind.idle-seconds=0"})
+@ActiveProfiles("test")
+class WriteBehindCartStoreTest {
+
+    @Autowired
+    private ICartService cartService;
+    @Autowired
+    private WriteBehindCartStore cartStore;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+    @Autowired
+    private AuthHelper authHelper;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private IProductService productService;
+
+    @Test
+    void itemsAddedDuringCheckoutSurviveAndBoughtItemsStayCleared() throws Exception {
+        User user = createUser();
+        Product bought = createProduct("bought", 10.0);
+        Product addedLater = createProduct("added later", 4.0);
+        Long cartId = runAs(user, () -> cartService.addProductToCart(bought.getProductId(), 2).getCartId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cartService.flushCart(user.getEmail());
+            // Another request changes the cart, and the flusher runs, while the order is being placed
+            runInOtherThread(user, () -> {
+                cartService.addProductToCart(addedLater.getProductId(), 1);
+                cartService.updateProductQuantityInCart(bought.getProductId(), 1);
+                cartStore.flushDirtyCarts();
+            });
+            assertThat(storedQuantities(cartId)).isEqualTo(Map.of(bought.getProductId(), 2));
+            cartService.clearCart(cartId);
+        });
+
+        Map<Long, Integer> expected = Map.of(bought.getProductId(), 1, addedLater.getProductId(), 1);
+        assertThat(cartQuantities(user)).isEqualTo(expected);
+        runInOtherThread(user, cartStore::flushAll);
+        assertThat(storedQuantities(cartId)).isEqualTo(expected);
+    }
+
+    @Test
+    void rolledBackCheckoutLeavesCartAndReleasesIt() throws Exception {
+        User user = createUser();
+        Product product = createProduct("kept", 10.0);
+        Long cartId = runAs(user, () -> cartService.addProductToCart(product.getProductId(), 2).getCartId());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cartService.flushCart(user.getEmail());
+            cartService.clearCart(cartId);
+            status.setRollbackOnly();
+        });
+
+        // The cart must be writable from another thread again, so the hold ended with the transaction
+        runInOtherThread(user, () -> {
+            cartService.updateProductQuantityInCart(product.getProductId(), 1);
+            cartStore.flushAll();
+        });
+        assertThat(storedQuantities(cartId)).isEqualTo(Map.of(product.getProductId(), 3));
+    }
+
+    @Test
+    void flushesAndIdleEvictionNeverLoseAChange() throws Exception {
+        User user = createUser();
+        Product product = createProduct("counted", 2.0);
+        Long cartId = runAs(user, () -> cartService.addProductToCart(product.getProductId(), 1).getCartId());
+        int increments = 200;
+
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CompletableFuture<Void> flusher = CompletableFuture.runAsync(() -> {
+            while (writing.get()) {
+                cartStore.flushDirtyCarts();
+            }
+        });
+        runInOtherThread(user, () -> {
+            try {
+                for (int increment = 0; increment < increments; increment++) {
+                    cartService.updateProductQuantityInCart(product.getProductId(), 1);
+                }
+            } finally {
+                writing.set(false);
+            }
+        });
+        flusher.get(60, TimeUnit.SECONDS);
+        cartStore.flushAll();
+
+        assertThat(storedQuantities(cartId)).isEqualTo(Map.of(product.getProductId(), 1 + increments));
+        assertThat(cartQuantities(user)).isEqualTo(Map.of(product.getProductId(), 1 + increments));
+    }
+
+    @Test
+    void immediateWriteFailureUndoesTheChange() {
+        AtomicBoolean databaseDown = new AtomicBoolean(false);
+        ICartServiceImpl failingDatabase = new ICartServiceImpl(cartDAO, cartItemDAO, productDAO, authHelper, entityManager) {
+            @Override
+            public void saveCartLines(Long cartId, Map<Long, Integer> quantities, Map<Long, Double> linePrices) {
+                if (databaseDown.get()) {
+                    throw new IllegalStateException("database down");
+                }
+                super.saveCartLines(cartId, quantities, linePrices);
+            }
+        };
+        WriteBehindCartStore immediateStore = new WriteBehindCartStore(cartDAO, productDAO, failingDatabase, transactionManager,
+                "immediate", 100, 1800);
+        User user = createUser();
+        Product saved = createProduct("saved", 5.0);
+        Product refused = createProduct("refused", 6.0);
+        Product savedLater = createProduct("saved later", 7.0);
+
+        Long cartId = immediateStore.update(user.getUserId(), user.getEmail(), () -> user, cart -> addLine(cart, saved, 1));
+        assertThat(storedQuantities(cartId)).isEqualTo(Map.of(saved.getProductId(), 1));
+
+        databaseDown.set(true);
+        assertThatThrownBy(() -> immediateStore.update(user.getUserId(), user.getEmail(), null, cart -> addLine(cart, refused, 1)))
+                .hasMessage("database down");
+        databaseDown.set(false);
+        List<Long> productsInMemory = immediateStore.read(user.getUserId(), user.getEmail(),
+                cart -> List.copyOf(cart.lines().keySet()));
+        assertThat(productsInMemory).containsExactly(saved.getProductId());
+
+        // The refused line must not reach the database with a later write either
+        immediateStore.update(user.getUserId(), user.getEmail(), null, cart -> addLine(cart, savedLater, 2));
+        immediateStore.flushAll();
+        assertThat(storedQuantities(cartId)).isEqualTo(Map.of(saved.getProductId(), 1, savedLater.getProductId(), 2));
+    }
+
+    @Test
+    void deletingAProductTakesItOutOfWrittenAndUnwrittenCarts() throws Exception {
+        User writtenOwner = createUser();
+        User unwrittenOwner = createUser();
+        Product deleted = createProduct("deleted", 3.0);
+        Product kept = createProduct("kept", 5.0);
+        Long writtenCartId = runAs(writtenOwner, () -> cartService.addProductToCart(deleted.getProductId(), 1).getCartId());
+        cartStore.flushAll();
+        Long unwrittenCartId = runAs(unwrittenOwner, () -> {
+            cartService.addProductToCart(deleted.getProductId(), 2);
+            return cartService.addProductToCart(kept.getProductId(), 1).getCartId();
+        });
+
+        productService.deleteProduct(deleted.getProductId());
+
+        assertThat(productDAO.existsById(deleted.getProductId())).isFalse();
+        assertThat(cartQuantities(writtenOwner)).isEmpty();
+        assertThat(cartQuantities(unwrittenOwner)).isEqualTo(Map.of(kept.getProductId(), 1));
+        cartStore.flushAll();
+        assertThat(storedQuantities(writtenCartId)).isEmpty();
+        assertThat(storedQuantities(unwrittenCartId)).isEqualTo(Map.of(kept.getProductId(), 1));
+    }
+
+    @Test
+    void failedFlushKeepsTheCartsOtherChanges() throws Exception {
+        User user = createUser();
+        Product deletedBehindTheStore = createProduct("deleted behind the store", 3.0);
+        Product kept = createProduct("kept", 5.0);
+        Long cartId = runAs(user, () -> {
+            cartService.addProductToCart(kept.getProductId(), 1);
+            return cartService.addProductToCart(deletedBehindTheStore.getProductId(), 1).getCartId();
+        });
+        // Deleted without going through product deletion, so the line is still in memory
+        productDAO.deleteById(deletedBehindTheStore.getProductId());
+
+        cartStore.flushAll();
+
+        assertThat(storedQuantities(cartId)).isEqualTo(Map.of(kept.getProductId(), 1));
+        assertThat(cartQuantities(user)).isEqualTo(Map.of(kept.getProductId(), 1));
+    }
+
+    private Long addLine(WriteBehindCartStore.CartState cart, Product product, int quantity) {
+        cart.lines().put(product.getProductId(), new CartLine(ProductMapper.toDto(product), quantity, product.getPrice()));
+        return cart.cartId();
+    }
+
+    private Map<Long, Integer> storedQuantities(Long cartId) {
+        return cartItemDAO.findItemsWithProductByCart(cartId).stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getProductId(), CartItem::getQty));
+    }
+
+    private Map<Long, Integer> cartQuantities(User user) throws Exception {
+        List<ProductDTO> products = runAs(user, () -> cartService.getUserCart(user.getUserId()).getProducts());
+        return products.stream().collect(Collectors.toMap(ProductDTO::getProductId, ProductDTO::getQuantity));
+    }
+
+    // Runs the work as the user on another thread and waits for it, rethrowing its failure
+    private void runInOtherThread(User user, Runnable work) {
+        CompletableFuture.runAsync(() -> {
+            try {
+                runAs(user, () -> {
+                    work.run();
+                    return null;
+                });
+            } catch (Exception failure) {
+                throw new IllegalStateException(failure);
+            }
+        }).orTimeout(60, TimeUnit.SECONDS).join();
+    }
+
+    private <T> T runAs(User user, Callable<T> work) throws Exception {
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+        try {
+            return work.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private User createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+    }
+
+    private Product createProduct(String name, double price) {
+        Product product = new Product();
+        product.setProductName("Product " + UUID.randomUUID().toString().substring(0, 8) + " " + name);
+        product.setDescription("Description of " + name);
+        product.setQuantity(1000);
+        product.setPrice(price);
+        return productDAO.save(product);
+    }
+}
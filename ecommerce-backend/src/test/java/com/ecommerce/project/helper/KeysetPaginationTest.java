@@ -0,0 +1,226 @@
+package com.ecommerce.project.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.ecommerce.project.DAO.OrderDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.OrderResponse;
+import com.ecommerce.project.DTO.ProductResponse;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.cache.ProductCatalogCache;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.helper.KeysetPagination.KeysetPage;
+import com.ecommerce.project.model.Order;
+import com.ecommerce.project.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Walks keyset pages across null, tied and fractional sort values, checks that foreign and tampered
+ * cursors are refused, and pages through the product and admin order listings end to end.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class KeysetPaginationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ProductDAO productDAO;
+    @Autowired
+    private OrderDAO orderDAO;
+    @Autowired
+    private ProductCatalogCache catalogCache;
+
+    @Test
+    void nullSortValuesComeLastInBothOrders() {
+        String email = UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        List<Order> orders = new ArrayList<>();
+        for (Double totalAmount : new Double[]{null, 20.0, 5.0, null, 12.5}) {
+            orders.add(orderDAO.save(new Order(null, email, new ArrayList<>(), LocalDate.now(), null, totalAmount, "Accepted", null)));
+        }
+        Specification<Order> ordersOfEmail = (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("email"), email);
+
+        // Pages of two, so one cursor points at a null value
+        assertThat(walkOrders(ordersOfEmail, "asc", 2)).containsExactly(
+                orders.get(2).getOrderId(), orders.get(4).getOrderId(), orders.get(1).getOrderId(),
+                orders.get(0).getOrderId(), orders.get(3).getOrderId());
+        assertThat(walkOrders(ordersOfEmail, "desc", 2)).containsExactly(
+                orders.get(1).getOrderId(), orders.get(4).getOrderId(), orders.get(2).getOrderId(),
+                orders.get(0).getOrderId(), orders.get(3).getOrderId());
+    }
+
+    @Test
+    void equalSortValuesArePagedInIdOrder() {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        List<Long> productIds = new ArrayList<>();
+        for (int product = 0; product < 5; product++) {
+            productIds.add(createProduct(marker, 10.0).getProductId());
+        }
+
+        assertThat(walkProducts(marker, "desc", 2)).containsExactlyElementsOf(productIds);
+    }
+
+    @Test
+    void fractionalSortValuesSurviveTheCursor() {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        // 0.1 + 0.2 only sorts apart from 0.3 if the cursor keeps every digit
+        Product sum = createProduct(marker, 0.1 + 0.2);
+        Product exact = createProduct(marker, 0.3);
+        Product tiny = createProduct(marker, 1.0E-7);
+        Product large = createProduct(marker, 1.0E10);
+        Product sumAgain = createProduct(marker, 0.1 + 0.2);
+
+        assertThat(walkProducts(marker, "asc", 1)).containsExactly(tiny.getProductId(), exact.getProductId(),
+                sum.getProductId(), sumAgain.getProductId(), large.getProductId());
+    }
+
+    @Test
+    void cursorIssuedForAnotherSortIsRefused() {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        createProduct(marker, 1.0);
+        createProduct(marker, 2.0);
+        String cursor = fetchProducts(marker, "", "price", "asc", 1).nextCursor();
+
+        assertThatThrownBy(() -> fetchProducts(marker, cursor, "price", "desc", 1))
+                .isInstanceOf(APIErrorHandler.class)
+                .hasMessageContaining("different sort order");
+        assertThatThrownBy(() -> fetchProducts(marker, cursor, "productName", "asc", 1))
+                .isInstanceOf(APIErrorHandler.class)
+                .hasMessageContaining("different sort order");
+    }
+
+    @Test
+    void tamperedCursorIsRefused() {
+        String marker = UUID.randomUUID().toString().substring(0, 8);
+        createProduct(marker, 1.0);
+
+        for (String tampered : List.of("not base64!", encode("price|asc"), encode("price|asc|one|v:1.0"),
+                encode("price|asc|1|v:cheap"), encode("price|asc|1|1.0"))) {
+            assertThatThrownBy(() -> fetchProducts(marker, tampered, "price", "asc", 1))
+                    .isInstanceOf(APIErrorHandler.class)
+                    .hasMessage("Invalid pagination cursor");
+        }
+    }
+
+    @Test
+    void productListingCursorVisitsEveryProductOnce() throws Exception {
+        createProduct(UUID.randomUUID().toString().substring(0, 8), 10.0);
+        createProduct(UUID.randomUUID().toString().substring(0, 8), 10.0);
+        // Products saved behind the service's back
+        catalogCache.invalidateAll();
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            ProductResponse page = getPage(get("/api/products").param("sortBy", "price"), cursor, ProductResponse.class);
+            page.getContent().forEach(product -> visited.add(product.getProductId()));
+            cursor = page.getNextCursor();
+        }
+
+        List<Product> expected = new ArrayList<>(productDAO.findAll());
+        expected.sort(Comparator.comparingDouble(Product::getPrice).thenComparing(Product::getProductId));
+        assertThat(visited).containsExactlyElementsOf(expected.stream().map(Product::getProductId).toList());
+    }
+
+    @Test
+    void adminOrderCursorVisitsEveryOrderOnce() throws Exception {
+        String email = UUID.randomUUID().toString().substring(0, 8) + "@example.com";
+        for (Double totalAmount : new Double[]{null, 30.0, 30.0, 0.1 + 0.2}) {
+            orderDAO.save(new Order(null, email, new ArrayList<>(), LocalDate.now(), null, totalAmount, "Accepted", null));
+        }
+
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            OrderResponse page = getPage(get("/api/admin/orders").param("sortBy", "totalAmount").param("sortOrder", "desc")
+                    .with(authentication(admin())), cursor, OrderResponse.class);
+            page.getContent().stream().map(OrderDto::getOrderId).forEach(visited::add);
+            cursor = page.getNextCursor();
+        }
+
+        List<Order> expected = new ArrayList<>(orderDAO.findAll());
+        expected.sort(Comparator.comparing(Order::getTotalAmount, Comparator.nullsLast(Comparator.<Double>reverseOrder()))
+                .thenComparing(Order::getOrderId));
+        assertThat(visited).containsExactlyElementsOf(expected.stream().map(Order::getOrderId).toList());
+    }
+
+    private <T> T getPage(MockHttpServletRequestBuilder request, String cursor, Class<T> responseType) throws Exception {
+        String response = mockMvc.perform(request.param("pageSize", "3").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, responseType);
+    }
+
+    private List<Long> walkOrders(Specification<Order> filter, String sortOrder, int pageSize) {
+        return walk(cursor -> KeysetPagination.fetchPage(orderDAO, filter, "orderId", cursor, pageSize, "totalAmount", sortOrder),
+                Order::getOrderId);
+    }
+
+    private List<Long> walkProducts(String marker, String sortOrder, int pageSize) {
+        return walk(cursor -> fetchProducts(marker, cursor, "price", sortOrder, pageSize), Product::getProductId);
+    }
+
+    private <T> List<Long> walk(Function<String, KeysetPage<T>> fetchPage, Function<T, Long> idOf) {
+        List<Long> visited = new ArrayList<>();
+        String cursor = "";
+        while (cursor != null) {
+            KeysetPage<T> page = fetchPage.apply(cursor);
+            page.content().stream().map(idOf).forEach(visited::add);
+            cursor = page.nextCursor();
+        }
+        return visited;
+    }
+
+    private KeysetPage<Product> fetchProducts(String marker, String cursor, String sortBy, String sortOrder, int pageSize) {
+        Specification<Product> namedWithMarker = (root, query, criteriaBuilder) ->
+                criteriaBuilder.like(root.get("productName"), "%" + marker + "%");
+        return KeysetPagination.fetchPage(productDAO, namedWithMarker, "productId", cursor, pageSize, sortBy, sortOrder);
+    }
+
+    private Product createProduct(String marker, double price) {
+        Product product = new Product();
+        product.setProductName("Product " + marker + " paged");
+        product.setDescription("Description of paged product");
+        product.setQuantity(100);
+        product.setPrice(price);
+        return productDAO.save(product);
+    }
+
+    private String encode(String rawCursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(rawCursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UsernamePasswordAuthenticationToken admin() {
+        UserDetailsImpl principal = new UserDetailsImpl(1L, "admin", "admin@example.com", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
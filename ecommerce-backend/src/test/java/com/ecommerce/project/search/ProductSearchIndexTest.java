@@ -0,0 +1,153 @@
+package com.ecommerce.project.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ecommerce.project.DAO.AddressDAO;
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Category;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.search.ProductSearchIndex.SearchHit;
+import com.ecommerce.project.service.Interface.IOrderService;
+
+/**
+ * Checks prefix matching, LIKE-style category filters and id paging on a standalone index,
+ * then that checkout's stock change reaches the application's index.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ProductSearchIndexTest {
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private AddressDAO addressDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void queryTermMatchesLongerTermsStartingWithIt() {
+        ProductSearchIndex index = new ProductSearchIndex(null);
+        index.index(product(1L, "Hood", "Cotton hood", null));
+        index.index(product(2L, "Zip hoodie", "Warm hoodie", null));
+        index.index(product(3L, "Rain jacket", "Jacket with a hood", null));
+
+        List<SearchHit> hits = index.search("hood", null, null);
+
+        assertThat(productIds(hits)).containsExactlyInAnyOrder(1L, 2L, 3L);
+        // An exact term outscores a longer one it is only a prefix of
+        assertThat(scoreOf(hits, 1L)).isGreaterThan(scoreOf(hits, 2L));
+        assertThat(productIds(index.search("hoodi", null, null))).containsExactly(2L);
+        assertThat(index.search("hoodies", null, null)).isEmpty();
+    }
+
+    @Test
+    void categoryFilterFollowsLikeWildcards() {
+        ProductSearchIndex index = new ProductSearchIndex(null);
+        index.index(product(1L, "Running shoe", null, category(10L, "Sportswear")));
+        index.index(product(2L, "Trail shoe", null, category(11L, "Footwear")));
+        index.index(product(3L, "Shoe rack", null, category(12L, "100% Home")));
+        index.index(product(4L, "Shoe polish", null, null));
+
+        assertThat(productIds(index.search("shoe", null, "%wear"))).containsExactlyInAnyOrder(1L, 2L);
+        // Case-sensitive, as LIKE is in Postgres
+        assertThat(index.search("shoe", null, "%Wear")).isEmpty();
+        assertThat(productIds(index.search("shoe", null, "F_otwear"))).containsExactly(2L);
+        assertThat(index.search("shoe", null, "F_twear")).isEmpty();
+        assertThat(productIds(index.search("shoe", null, "100\\% %"))).containsExactly(3L);
+        assertThat(index.search("shoe", null, "100\\%")).isEmpty();
+        assertThat(index.search("shoe", null, null)).hasSize(4);
+    }
+
+    @Test
+    void productIdsPageInIdOrderAroundExcludedIds() {
+        ProductSearchIndex index = new ProductSearchIndex(null);
+        LongStream.rangeClosed(1, 20).forEach(productId -> index.index(product(productId, "Product", null, null)));
+        index.remove(7L);
+        Set<Long> excluded = Set.of(2L, 3L, 9L, 15L, 99L);
+
+        assertThat(index.productIds(excluded, 0, 4)).containsExactly(1L, 4L, 5L, 6L);
+        assertThat(index.productIds(excluded, 4, 4)).containsExactly(8L, 10L, 11L, 12L);
+        assertThat(index.productIds(excluded, 12, 4)).containsExactly(18L, 19L, 20L);
+        assertThat(index.productIds(excluded, 15, 4)).isEmpty();
+        assertThat(index.productIds(Set.of(), 0, 100)).hasSize(19).isSorted();
+    }
+
+    @Test
+    void checkoutUpdatesIndexedStock() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " indexed");
+        product.setDescription("Description of indexed product");
+        product.setQuantity(100);
+        product.setPrice(10.0);
+        product = productDAO.save(product);
+        // Saved behind the service's back
+        searchIndex.index(product);
+
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        Address address = new Address("Main Street", "Building", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        Long addressId = addressDAO.save(address).getAddressId();
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart.setTotalPrice(product.getPrice() * 3);
+        cart = cartDAO.save(cart);
+        cartItemDAO.save(new CartItem(null, cart, product, 3, product.getPrice()));
+
+        orderService.placeOrder(user.getEmail(), addressId, "Card", "Stripe", "pi_1", "succeeded", "ok");
+
+        List<SearchHit> hits = searchIndex.search(suffix, null, null);
+        assertThat(hits).singleElement().satisfies(hit -> assertThat(hit.product().quantity()).isEqualTo(97));
+    }
+
+    private Product product(Long productId, String productName, String description, Category category) {
+        Product product = new Product();
+        product.setProductId(productId);
+        product.setProductName(productName);
+        product.setDescription(description);
+        product.setQuantity(10);
+        product.setPrice(10.0);
+        product.setCategory(category);
+        return product;
+    }
+
+    private Category category(Long categoryId, String categoryName) {
+        Category category = new Category();
+        category.setCategoryId(categoryId);
+        category.setCategoryName(categoryName);
+        return category;
+    }
+
+    private List<Long> productIds(List<SearchHit> hits) {
+        return hits.stream().map(hit -> hit.product().productId()).toList();
+    }
+
+    private double scoreOf(List<SearchHit> hits, Long productId) {
+        return hits.stream().filter(hit -> hit.product().productId().equals(productId)).findFirst().orElseThrow().score();
+    }
+}
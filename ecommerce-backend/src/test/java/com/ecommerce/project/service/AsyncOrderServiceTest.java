@@ -0,0 +1,253 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ecommerce.project.DAO.AddressDAO;
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.OrderDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.OrderDto;
+import com.ecommerce.project.DTO.OrderPlacementStatusDto;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.errorHandler.TooManyRequestsException;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.IAsyncOrderService;
+import com.ecommerce.project.service.Interface.IOrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Drives asynchronous checkout through its queue limits and status changes against a stubbed order service,
+ * then end to end for Idempotency-Key resubmits and carts changed after submission.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncOrderServiceTest {
+
+    private static final String SHOPPER = "shopper@example.com";
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private IAsyncOrderService asyncOrderService;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private AddressDAO addressDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private OrderDAO orderDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void fullQueueRejectsNewOrders() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IAsyncOrderServiceImpl queue = new IAsyncOrderServiceImpl(blockingOrderService(release), 1, 2, 3600);
+        try {
+            String first = submit(queue).getOrderReference();
+            String second = submit(queue).getOrderReference();
+            assertThatThrownBy(() -> submit(queue)).isInstanceOf(TooManyRequestsException.class);
+
+            release.countDown();
+            awaitStatus(queue, first, "COMPLETED");
+            awaitStatus(queue, second, "COMPLETED");
+            // Room again once the queue has drained
+            awaitStatus(queue, submit(queue).getOrderReference(), "COMPLETED");
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void statusesMoveFromQueuedThroughProcessingToFinished() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IOrderService stub = blockingOrderService(release);
+        when(stub.placeOrder(eq("failing@example.com"), any(), any(), any(), any(), any(), any(), any()))
+                .thenThrow(new APIErrorHandler("Your cart is empty"));
+        IAsyncOrderServiceImpl queue = new IAsyncOrderServiceImpl(stub, 1, 10, 3600);
+        try {
+            OrderPlacementStatusDto running = submit(queue);
+            assertThat(running.getStatus()).isEqualTo("QUEUED");
+            awaitStatus(queue, running.getOrderReference(), "PROCESSING");
+            OrderPlacementStatusDto waiting = submit(queue);
+            OrderPlacementStatusDto failing = queue.submitOrder("failing@example.com", 1L, "Card", "Stripe", "pi", "ok", "ok");
+            assertThat(queue.getPlacementStatus(SHOPPER, waiting.getOrderReference()).getStatus()).isEqualTo("QUEUED");
+
+            release.countDown();
+            assertThat(awaitStatus(queue, running.getOrderReference(), "COMPLETED").getOrder()).isNotNull();
+            awaitStatus(queue, waiting.getOrderReference(), "COMPLETED");
+            OrderPlacementStatusDto failed = awaitStatus(queue, "failing@example.com", failing.getOrderReference(), "FAILED");
+            assertThat(failed.getMessage()).isEqualTo("Your cart is empty");
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void pendingStatusesOutliveFinishedOnes() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IOrderService stub = blockingOrderService(release);
+        when(stub.placeOrder(eq("quick@example.com"), any(), any(), any(), any(), any(), any(), any())).thenReturn(new OrderDto());
+        // Room for 20 statuses; one stays pending while 30 others finish
+        IAsyncOrderServiceImpl queue = new IAsyncOrderServiceImpl(stub, 2, 2, 3600);
+        try {
+            String pending = submit(queue).getOrderReference();
+            awaitStatus(queue, pending, "PROCESSING");
+            for (int order = 0; order < 30; order++) {
+                String quick = queue.submitOrder("quick@example.com", 1L, "Card", "Stripe", "pi", "ok", "ok").getOrderReference();
+                awaitStatus(queue, "quick@example.com", quick, "COMPLETED");
+            }
+
+            assertThat(queue.getPlacementStatus(SHOPPER, pending).getStatus()).isEqualTo("PROCESSING");
+        } finally {
+            release.countDown();
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void resubmitWithTheSameIdempotencyKeyQueuesOneOrder() throws Exception {
+        Checkout checkout = createCheckout();
+        String body = objectMapper.writeValueAsString(Map.of("addressId", checkout.addressId()));
+
+        String firstReference = submitOverHttp(checkout.user(), body, "checkout-1");
+        String retriedReference = submitOverHttp(checkout.user(), body, "checkout-1");
+
+        assertThat(retriedReference).isEqualTo(firstReference);
+        awaitStatus(asyncOrderService, checkout.user().getEmail(), firstReference, "COMPLETED");
+        assertThat(orderDAO.findOrderDtosByUserEmail(checkout.user().getEmail(), PageRequest.of(0, 10)).getTotalElements())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cartChangedAfterSubmissionIsNotOrdered() {
+        Checkout checkout = createCheckout();
+        String email = checkout.user().getEmail();
+        Map<Long, Integer> validated = orderService.validateOrderRequest(email, checkout.addressId());
+        cartItemDAO.save(new CartItem(null, cartDAO.findById(checkout.cartId()).orElseThrow(), createProduct(), 1, 10.0));
+
+        assertThatThrownBy(() -> orderService.placeOrder(email, checkout.addressId(), "Card", "Stripe", "pi", "ok", "ok", validated))
+                .isInstanceOf(APIErrorHandler.class)
+                .hasMessageContaining("cart changed");
+        assertThat(orderDAO.findOrderDtosByUserEmail(email, PageRequest.of(0, 10)).getTotalElements()).isZero();
+    }
+
+    // Validation passes; placing blocks until released
+    private IOrderService blockingOrderService(CountDownLatch release) {
+        IOrderService stub = mock(IOrderService.class);
+        when(stub.validateOrderRequest(anyString(), any())).thenReturn(Map.of(1L, 1));
+        when(stub.placeOrder(eq(SHOPPER), any(), any(), any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new OrderDto();
+        });
+        return stub;
+    }
+
+    private OrderPlacementStatusDto submit(IAsyncOrderService queue) {
+        return queue.submitOrder(SHOPPER, 1L, "Card", "Stripe", "pi", "ok", "ok");
+    }
+
+    private OrderPlacementStatusDto awaitStatus(IAsyncOrderService queue, String orderReference, String expectedStatus)
+            throws InterruptedException {
+        return awaitStatus(queue, SHOPPER, orderReference, expectedStatus);
+    }
+
+    private OrderPlacementStatusDto awaitStatus(IAsyncOrderService queue, String email, String orderReference,
+                                                String expectedStatus) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        OrderPlacementStatusDto current = queue.getPlacementStatus(email, orderReference);
+        while (!expectedStatus.equals(current.getStatus()) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            current = queue.getPlacementStatus(email, orderReference);
+        }
+        assertThat(current.getStatus()).isEqualTo(expectedStatus);
+        return current;
+    }
+
+    private String submitOverHttp(User user, String body, String idempotencyKey) throws Exception {
+        String response = mockMvc.perform(post("/api/orders").param("async", "true")
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)
+                        .with(authentication(loggedIn(user))))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(response, OrderPlacementStatusDto.class).getOrderReference();
+    }
+
+    private UsernamePasswordAuthenticationToken loggedIn(User user) {
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    // A user with an address and a cart holding one product
+    private Checkout createCheckout() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        Address address = new Address("Main Street", "Building", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        Long addressId = addressDAO.save(address).getAddressId();
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartDAO.save(cart);
+        cartItemDAO.save(new CartItem(null, cart, createProduct(), 2, 10.0));
+        return new Checkout(user, addressId, cart.getCartId());
+    }
+
+    private Product createProduct() {
+        Product product = new Product();
+        product.setProductName("Product " + UUID.randomUUID().toString().substring(0, 8) + " queued");
+        product.setDescription("Description of queued product");
+        product.setQuantity(100);
+        product.setPrice(10.0);
+        return productDAO.save(product);
+    }
+
+    private record Checkout(User user, Long addressId, Long cartId) {
+    }
+}
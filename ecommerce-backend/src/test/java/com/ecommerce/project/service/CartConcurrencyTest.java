@@ -0,0 +1,166 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.errorHandler.APIErrorHandler;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.ICartService;
+
+/**
+ * Hammers one cart from many threads and checks that no update is lost:
+ * the stored total must match the lines, and every quantity change must be applied.
+ * Also races adds of one product, which must leave a single line.
+ * Eight writers on one cart is far beyond a double click, so the retry limit is raised here.
+ */
+@SpringBootTest(properties = "cart.retry.max-attempts=25")
+@ActiveProfiles("test")
+class CartConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 5;
+
+    @Autowired
+    private ICartService cartService;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void concurrentCartUpdatesKeepTotalConsistent() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null, List.of());
+
+        // Every thread bumps the shared line and adds its own product
+        Product sharedProduct = createProduct(suffix, "shared", 10.0);
+        List<Product> ownProducts = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            ownProducts.add(createProduct(suffix, "own " + thread, 3.0 + thread));
+        }
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartDAO.save(cart);
+        cartItemDAO.save(new CartItem(null, cart, sharedProduct, 1, sharedProduct.getPrice()));
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (Product ownProduct : ownProducts) {
+            executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                try {
+                    start.await();
+                    cartService.addProductToCart(ownProduct.getProductId(), 2);
+                    for (int increment = 0; increment < INCREMENTS_PER_THREAD; increment++) {
+                        cartService.updateProductQuantityInCart(sharedProduct.getProductId(), 1);
+                    }
+                } catch (Throwable failure) {
+                    failures.add(failure);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(failures).isEmpty();
+        Long cartId = cart.getCartId();
+        List<CartItem> lines = cartItemDAO.findItemsWithProductByCart(cartId);
+        double linesTotal = lines.stream().mapToDouble(line -> line.getProductPrice() * line.getQty()).sum();
+
+        assertThat(lines).hasSize(THREADS + 1);
+        assertThat(lines).filteredOn(line -> line.getProduct().getProductId().equals(sharedProduct.getProductId()))
+                .singleElement()
+                .extracting(CartItem::getQty)
+                .isEqualTo(1 + THREADS * INCREMENTS_PER_THREAD);
+        assertThat(cartDAO.findById(cartId).orElseThrow().getTotalPrice()).isCloseTo(linesTotal, within(0.001));
+    }
+
+    @Test
+    void concurrentAddsOfOneProductLeaveOneLine() throws Exception {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null, List.of());
+        Product product = createProduct(suffix, "double clicked", 10.0);
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartDAO.save(cart);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger added = new AtomicInteger();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            executor.submit(() -> {
+                SecurityContextHolder.getContext().setAuthentication(
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+                try {
+                    start.await();
+                    cartService.addProductToCart(product.getProductId(), 1);
+                    added.incrementAndGet();
+                } catch (Throwable failure) {
+                    failures.add(failure);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+
+        // One add wins; every other one is told the product is already in the cart
+        assertThat(added).hasValue(1);
+        assertThat(failures).hasSize(THREADS - 1)
+                .allSatisfy(failure -> assertThat(failure)
+                        .isInstanceOf(APIErrorHandler.class)
+                        .hasMessageContaining("is already in your cart"));
+        assertThat(cartItemDAO.findItemsWithProductByCart(cart.getCartId())).singleElement()
+                .extracting(CartItem::getQty)
+                .isEqualTo(1);
+    }
+
+    private Product createProduct(String suffix, String name, double price) {
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " " + name);
+        product.setDescription("Description of " + name);
+        product.setQuantity(1000);
+        product.setPrice(price);
+        return productDAO.save(product);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.support.SqlStatementCounter;
+
+/**
+ * Checks that GET /api/cart loads the cart, its lines and their products with a single query,
+ * however many lines the cart has.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CartQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void getCartRunsOneQuery() throws Exception {
+        User singleItem = createUserWithCart(1);
+        User tenItems = createUserWithCart(10);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/cart").with(authentication(loggedIn(singleItem))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(1));
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/cart").with(authentication(loggedIn(tenItems))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.products.length()").value(10));
+        assertThat(SqlStatementCounter.count()).isEqualTo(1);
+    }
+
+    private UsernamePasswordAuthenticationToken loggedIn(User user) {
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    // A user whose cart holds the given number of distinct products
+    private User createUserWithCart(int cartLines) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartDAO.save(cart);
+
+        for (int line = 0; line < cartLines; line++) {
+            Product product = new Product();
+            product.setProductName("Product " + suffix + " " + line);
+            product.setDescription("Description of product " + line);
+            product.setQuantity(100);
+            product.setPrice(10.0);
+            product = productDAO.save(product);
+            cartItemDAO.save(new CartItem(null, cart, product, 2, product.getPrice()));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.CartItemDto;
+import com.ecommerce.project.JwtAuth.services.UserDetailsImpl;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.support.SqlStatementCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Checks that POST /api/cart/sync adds, updates and removes exactly the lines that differ with one
+ * product query, and that a cart already loaded in the same transaction sees the synced lines.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CartSyncTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private ICartServiceImpl cartService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void syncWritesOnlyTheDifferingLinesAfterOneProductQuery() throws Exception {
+        User user = createUser();
+        Product kept = createProduct();
+        Product changed = createProduct();
+        Product dropped = createProduct();
+        Product added = createProduct();
+        Cart cart = createCart(user, Map.of(kept, 1, changed, 2, dropped, 3));
+        Long keptLineId = lineIds(cart).get(kept.getProductId());
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(post("/api/cart/sync").with(authentication(loggedIn(user)))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(new CartItemDto(kept.getProductId(), 1),
+                                new CartItemDto(changed.getProductId(), 5), new CartItemDto(added.getProductId(), 1)))))
+                .andExpect(status().isCreated());
+
+        assertThat(SqlStatementCounter.countSelectingFrom("products")).isEqualTo(1);
+        assertThat(SqlStatementCounter.countStartingWith("delete from cart_items")).isEqualTo(1);
+        assertThat(quantities(cart)).containsOnly(entry(kept.getProductId(), 1), entry(changed.getProductId(), 5),
+                entry(added.getProductId(), 1));
+        // The unchanged line is left in place rather than rewritten
+        assertThat(lineIds(cart).get(kept.getProductId())).isEqualTo(keptLineId);
+    }
+
+    @Test
+    void cartLoadedBeforeTheSyncSeesTheSyncedLines() {
+        User user = createUser();
+        Product kept = createProduct();
+        Product dropped = createProduct();
+        Product added = createProduct();
+        Cart cart = createCart(user, Map.of(kept, 1, dropped, 2));
+
+        SecurityContextHolder.getContext().setAuthentication(loggedIn(user));
+        try {
+            Map<Long, Integer> loadedQuantities = transactionTemplate.execute(status -> {
+                Cart loadedCart = cartDAO.findById(cart.getCartId()).orElseThrow();
+                assertThat(loadedCart.getCartItems()).hasSize(2);
+                cartService.createOrUpdateCartWithItems(List.of(new CartItemDto(kept.getProductId(), 4),
+                        new CartItemDto(added.getProductId(), 2)));
+                return loadedCart.getCartItems().stream()
+                        .collect(Collectors.toMap(item -> item.getProduct().getProductId(), CartItem::getQty));
+            });
+
+            assertThat(loadedQuantities).containsOnly(entry(kept.getProductId(), 4), entry(added.getProductId(), 2));
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private Map<Long, Integer> quantities(Cart cart) {
+        return cartItemDAO.findItemsWithProductByCart(cart.getCartId()).stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getProductId(), CartItem::getQty));
+    }
+
+    private Map<Long, Long> lineIds(Cart cart) {
+        return cartItemDAO.findItemsWithProductByCart(cart.getCartId()).stream()
+                .collect(Collectors.toMap(item -> item.getProduct().getProductId(), CartItem::getCartItemId));
+    }
+
+    private UsernamePasswordAuthenticationToken loggedIn(User user) {
+        UserDetailsImpl principal = new UserDetailsImpl(user.getUserId(), user.getUserName(), user.getEmail(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    private Cart createCart(User user, Map<Product, Integer> quantities) {
+        Cart cart = new Cart();
+        cart.setUser(user);
+        Cart savedCart = cartDAO.save(cart);
+        quantities.forEach((product, quantity) ->
+                cartItemDAO.save(new CartItem(null, savedCart, product, quantity, product.getPrice())));
+        return savedCart;
+    }
+
+    private User createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+    }
+
+    private Product createProduct() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        Product product = new Product();
+        product.setProductName("Product " + suffix + " synced");
+        product.setDescription("Description of synced product");
+        product.setQuantity(100);
+        product.setPrice(10.0);
+        return productDAO.save(product);
+    }
+}
@@ -0,0 +1,115 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.ecommerce.project.DAO.AddressDAO;
+import com.ecommerce.project.DAO.CartDAO;
+import com.ecommerce.project.DAO.CartItemDAO;
+import com.ecommerce.project.DAO.ProductDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.model.Address;
+import com.ecommerce.project.model.Cart;
+import com.ecommerce.project.model.CartItem;
+import com.ecommerce.project.model.Product;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.IOrderService;
+import com.ecommerce.project.support.SqlStatementCounter;
+
+/**
+ * Checks that checkout clears the cart with set-based statements,
+ * so the number of cart queries doesn't grow with the number of cart lines.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CheckoutQueryCountTest {
+
+    @Autowired
+    private IOrderService orderService;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private AddressDAO addressDAO;
+    @Autowired
+    private CartDAO cartDAO;
+    @Autowired
+    private CartItemDAO cartItemDAO;
+    @Autowired
+    private ProductDAO productDAO;
+
+    @Test
+    void checkoutClearsCartWithOneDelete() {
+        Checkout checkout = createCheckout(10);
+
+        SqlStatementCounter.reset();
+        orderService.placeOrder(checkout.email(), checkout.addressId(), "Card", "Stripe", "pi_1", "succeeded", "ok");
+
+        assertThat(SqlStatementCounter.countStartingWith("delete from cart_items")).isEqualTo(1);
+        // The cart total is derived from its lines, so clearing them leaves the cart row untouched
+        assertThat(SqlStatementCounter.countStartingWith("update carts")).isZero();
+
+        Cart clearedCart = cartDAO.findById(checkout.cartId()).orElseThrow();
+        assertThat(cartItemDAO.findAll()).noneMatch(item -> item.getCart().getCartId().equals(checkout.cartId()));
+        assertThat(clearedCart.getTotalPrice()).isZero();
+    }
+
+    @Test
+    void cartStatementsDoNotGrowWithCartSize() {
+        Checkout singleItem = createCheckout(1);
+        Checkout tenItems = createCheckout(10);
+
+        SqlStatementCounter.reset();
+        orderService.placeOrder(singleItem.email(), singleItem.addressId(), "Card", "Stripe", "pi_1", "succeeded", "ok");
+        int singleItemCartStatements = countCartStatements();
+
+        SqlStatementCounter.reset();
+        orderService.placeOrder(tenItems.email(), tenItems.addressId(), "Card", "Stripe", "pi_2", "succeeded", "ok");
+        int tenItemCartStatements = countCartStatements();
+
+        assertThat(tenItemCartStatements).isEqualTo(singleItemCartStatements);
+    }
+
+    private int countCartStatements() {
+        return SqlStatementCounter.countTouching("carts") + SqlStatementCounter.countTouching("cart_items");
+    }
+
+    // A user with an address and a cart holding the given number of distinct products
+    private Checkout createCheckout(int cartLines) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+
+        Address address = new Address("Main Street", "Building", "Springfield", "State", "Country", "12345");
+        address.setUser(user);
+        Long addressId = addressDAO.save(address).getAddressId();
+
+        Cart cart = new Cart();
+        cart.setUser(user);
+        cart = cartDAO.save(cart);
+
+        double totalPrice = 0;
+        for (int line = 0; line < cartLines; line++) {
+            Product product = new Product();
+            product.setProductName("Product " + suffix + " " + line);
+            product.setDescription("Description of product " + line);
+            product.setQuantity(100);
+            product.setPrice(10.0);
+            product = productDAO.save(product);
+
+            cartItemDAO.save(new CartItem(null, cart, product, 2, product.getPrice()));
+            totalPrice += product.getPrice() * 2;
+        }
+        cart.setTotalPrice(totalPrice);
+        cartDAO.save(cart);
+
+        return new Checkout(user.getEmail(), addressId, cart.getCartId());
+    }
+
+    private record Checkout(String email, Long addressId, Long cartId) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.project.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.ecommerce.project.DAO.PaymentCardDAO;
+import com.ecommerce.project.DAO.UserDAO;
+import com.ecommerce.project.DTO.PaymentCardDTO;
+import com.ecommerce.project.model.PaymentCard;
+import com.ecommerce.project.model.User;
+import com.ecommerce.project.service.Interface.IPaymentCardService;
+
+/**
+ * Checks that every way of picking a default card leaves the user with exactly one,
+ * both in the database and in a card list loaded before the switch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class PaymentCardDefaultTest {
+
+    @Autowired
+    private IPaymentCardService paymentCardService;
+    @Autowired
+    private PaymentCardDAO paymentCardDAO;
+    @Autowired
+    private UserDAO userDAO;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void eachDefaultSwitchLeavesExactlyOneDefaultCard() {
+        User user = createUser();
+        Long first = paymentCardService.createPaymentCard(card(true), user).getCardId();
+        assertThat(defaultCardIds(user)).containsExactly(first);
+
+        Long second = paymentCardService.createPaymentCard(card(true), user).getCardId();
+        assertThat(defaultCardIds(user)).containsExactly(second);
+
+        Long third = paymentCardService.createPaymentCard(card(false), user).getCardId();
+        assertThat(defaultCardIds(user)).containsExactly(second);
+
+        paymentCardService.updatePaymentCard(third, card(true));
+        assertThat(defaultCardIds(user)).containsExactly(third);
+
+        paymentCardService.setDefaultCard(first, user);
+        assertThat(defaultCardIds(user)).containsExactly(first);
+        assertThat(paymentCardService.getUserDefaultCard(user).getCardId()).isEqualTo(first);
+    }
+
+    @Test
+    void cardListLoadedBeforeTheSwitchShowsOneDefault() {
+        User user = createUser();
+        Long first = paymentCardService.createPaymentCard(card(true), user).getCardId();
+        Long second = paymentCardService.createPaymentCard(card(false), user).getCardId();
+
+        List<PaymentCardDTO> cards = transactionTemplate.execute(status -> {
+            User loadedUser = userDAO.findById(user.getUserId()).orElseThrow();
+            assertThat(loadedUser.getPaymentCards()).hasSize(2);
+            paymentCardService.setDefaultCard(second, loadedUser);
+            return paymentCardService.getUserPaymentCards(loadedUser);
+        });
+
+        assertThat(cards).filteredOn(PaymentCardDTO::getIsDefault).extracting(PaymentCardDTO::getCardId)
+                .containsExactly(second);
+        assertThat(defaultCardIds(user)).containsExactly(second).doesNotContain(first);
+    }
+
+    private List<Long> defaultCardIds(User user) {
+        return paymentCardDAO.findAll().stream()
+                .filter(card -> card.getUser().getUserId().equals(user.getUserId()))
+                .filter(PaymentCard::getIsDefault)
+                .map(PaymentCard::getCardId)
+                .toList();
+    }
+
+    private PaymentCardDTO card(boolean isDefault) {
+        return new PaymentCardDTO(null, "4242424242424242", "Card Holder", 12, 2030, "123", isDefault);
+    }
+
+    private User createUser() {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        return userDAO.save(new User("user" + suffix, suffix + "@example.com", "password"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ecommerce.project.support;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records every SQL statement Hibernate prepares (registered in application-test.properties).
+ * Tests call reset() before the operation under test and then count what it ran.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        statements.add(sql.toLowerCase(Locale.ROOT));
+        return sql;
+    }
+
+    public static void reset() {
+        statements.clear();
+    }
+
+    public static int count() {
+        return statements.size();
+    }
+
+    // Statements that start with the given SQL, e.g. "delete from cart_items"
+    public static int countStartingWith(String sqlPrefix) {
+        String prefix = sqlPrefix.toLowerCase(Locale.ROOT);
+        return (int) statements.stream().filter(sql -> sql.startsWith(prefix)).count();
+    }
+
+    // Queries whose FROM clause starts with the given table (joins to it from other tables don't count)
+    public static int countSelectingFrom(String tableName) {
+        String from = " from " + tableName.toLowerCase(Locale.ROOT) + " ";
+        return (int) statements.stream().filter(sql -> sql.startsWith("select") && sql.contains(from)).count();
+    }
+
+    // Statements that mention the given table anywhere
+    public static int countTouching(String tableName) {
+        String table = " " + tableName.toLowerCase(Locale.ROOT) + " ";
+        return (int) statements.stream().filter(sql -> (sql + " ").contains(table)).count();
+    }
+}